@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Sobe a aplicação com e sem threads virtuais, roda o mesmo cenário k6 nos dois modos e compara.
+# Pré-requisitos: MySQL configurado como em application.properties, k6 e JDK 21 no PATH.
+# Executar a partir de backend/: ./loadtest/run.sh
+set -euo pipefail
+
+PORTA=${PORTA:-8080}
+BASE_URL="http://localhost:${PORTA}"
+mkdir -p loadtest/resultados
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v original | head -n 1)
+
+rodar() {
+    local modo=$1 perfis=$2
+    echo "== modo ${modo} (perfis: ${perfis:-nenhum})"
+    java -jar "$JAR" --server.port="$PORTA" --spring.profiles.active="$perfis" > "loadtest/resultados/${modo}.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+    until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do sleep 1; done
+    k6 run -q -e BASE_URL="$BASE_URL" -e MODO="$modo" loadtest/tarefas-login.js
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+rodar plataforma ""
+rodar virtual virtual
+
+echo "== comparação (vazão em req/s, latências em ms)"
+for modo in plataforma virtual; do
+    f="loadtest/resultados/${modo}.json"
+    for rota in tarefas login; do
+        printf '%-11s %-8s vazão=%8.1f  p50=%8.1f  p95=%8.1f  p99=%8.1f  falhas=%.2f%%\n' "$modo" "$rota" \
+            "$(jq ".${rota}.vazao" "$f")" "$(jq ".${rota}.p50" "$f")" "$(jq ".${rota}.p95" "$f")" \
+            "$(jq ".${rota}.p99" "$f")" "$(jq ".${rota}.falhas * 100" "$f")"
+    done
+done
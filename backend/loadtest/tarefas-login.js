@@ -0,0 +1,93 @@
+// Carga mista: listagem de tarefas (JDBC) e login (BCrypt) ao mesmo tempo, como no início do turno.
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e MODO=plataforma loadtest/tarefas-login.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODO = __ENV.MODO || 'plataforma';
+const SECRET_KEY = __ENV.REGISTRATION_SECRET || 'chave-registro-secreta';
+const TAXA_TAREFAS = Number(__ENV.TAXA_TAREFAS || 400);
+const TAXA_LOGIN = Number(__ENV.TAXA_LOGIN || 40);
+const DURACAO = __ENV.DURACAO || '1m';
+
+export const options = {
+    scenarios: {
+        tarefas: {
+            executor: 'constant-arrival-rate',
+            exec: 'listarTarefas',
+            rate: TAXA_TAREFAS,
+            timeUnit: '1s',
+            duration: DURACAO,
+            preAllocatedVUs: 200,
+            maxVUs: 1000,
+        },
+        login: {
+            executor: 'constant-arrival-rate',
+            exec: 'login',
+            rate: TAXA_LOGIN,
+            timeUnit: '1s',
+            duration: DURACAO,
+            preAllocatedVUs: 50,
+            maxVUs: 500,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{scenario:tarefas}': ['p(99)>=0'],
+        'http_req_duration{scenario:login}': ['p(99)>=0'],
+        'http_reqs{scenario:tarefas}': ['count>=0'],
+        'http_reqs{scenario:login}': ['count>=0'],
+        'http_req_failed{scenario:tarefas}': ['rate<0.01'],
+        'http_req_failed{scenario:login}': ['rate<0.01'],
+    },
+};
+
+export function setup() {
+    const email = `carga-${Date.now()}@cse.com`;
+    const senha = 'senha-de-carga';
+    const registro = http.post(`${BASE_URL}/auth/register`, JSON.stringify({
+        name: 'Carga', email, password: senha, secretKey: SECRET_KEY,
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(registro, { 'registro 200': (r) => r.status === 200 });
+    return { email, senha, token: registro.json('token') };
+}
+
+export function listarTarefas(dados) {
+    const r = http.get(`${BASE_URL}/api/tarefas?limite=50`, {
+        headers: { Authorization: `Bearer ${dados.token}` },
+    });
+    check(r, { 'tarefas 200': (res) => res.status === 200 });
+}
+
+export function login(dados) {
+    const r = http.post(`${BASE_URL}/auth/login`, JSON.stringify({
+        email: dados.email, password: dados.senha,
+    }), { headers: { 'Content-Type': 'application/json' } });
+    check(r, { 'login 200': (res) => res.status === 200 });
+}
+
+function cenario(data, nome) {
+    const dur = data.metrics[`http_req_duration{scenario:${nome}}`].values;
+    const reqs = data.metrics[`http_reqs{scenario:${nome}}`].values;
+    const falhas = data.metrics[`http_req_failed{scenario:${nome}}`].values;
+    return {
+        vazao: reqs.rate,
+        p50: dur['p(50)'],
+        p95: dur['p(95)'],
+        p99: dur['p(99)'],
+        falhas: falhas.rate,
+    };
+}
+
+// Resumo enxuto por modo em loadtest/resultados/<modo>.json, comparado pelo run.sh
+export function handleSummary(data) {
+    const resumo = {
+        modo: MODO,
+        tarefas: cenario(data, 'tarefas'),
+        login: cenario(data, 'login'),
+    };
+    return {
+        stdout: JSON.stringify(resumo, null, 2) + '\n',
+        [`loadtest/resultados/${MODO}.json`]: JSON.stringify(resumo, null, 2),
+    };
+}
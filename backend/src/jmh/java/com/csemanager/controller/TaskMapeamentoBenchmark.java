@@ -0,0 +1,61 @@
+package com.csemanager.controller;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// Entidade -> DTO do TaskController, incluindo a formatação de LocalDate
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMapeamentoBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private TaskController controller;
+    private Task task;
+
+    @Setup
+    public void preparar() {
+        controller = new TaskController();
+        Cliente cliente = new Cliente();
+        cliente.setId(7L);
+        cliente.setNome("Maria Souza");
+        cliente.setTelefone("11988887777");
+        cliente.setEndereco("Rua das Flores, 123");
+        task = new Task();
+        task.setId(42L);
+        task.setTitulo("Manutenção preventiva");
+        task.setDescricao("Limpeza de filtros e verificação de gás");
+        task.setStatus("EM_ABERTO");
+        task.setPrioridade(2);
+        task.setCliente(cliente);
+        task.setDataServico(LocalDate.of(2025, 3, 10));
+    }
+
+    @Benchmark
+    public TaskDTO toDTO() {
+        return controller.toDTO(task);
+    }
+
+    @Benchmark
+    public String formatarData() {
+        return task.getDataServico().format(DATE_FORMATTER);
+    }
+
+    @Benchmark
+    public LocalDate lerData() {
+        return LocalDate.parse("2025-03-10", DATE_FORMATTER);
+    }
+}
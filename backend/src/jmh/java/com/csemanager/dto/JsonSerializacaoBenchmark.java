@@ -0,0 +1,53 @@
+package com.csemanager.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização das listas devolvidas pela API, com o ObjectMapper configurado como o do Spring
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializacaoBenchmark {
+
+    @Param({"50", "200"})
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tarefas;
+    private List<ClienteDTO> clientes;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tarefas = new ArrayList<>(tamanho);
+        clientes = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            tarefas.add(new TaskDTO((long) i, "Manutenção " + i, "Limpeza de filtros e verificação de gás",
+                    "EM_ABERTO", 1 + i % 3, (long) i, "Cliente " + i, "Rua " + i + ", 100", "2025-03-10"));
+            clientes.add(new ClienteDTO((long) i, "Cliente " + i, "1198888" + i, "Rua " + i + ", 100",
+                    "cliente" + i + "@email.com", "Prefere atendimento pela manhã"));
+        }
+    }
+
+    @Benchmark
+    public byte[] tarefas() throws Exception {
+        return objectMapper.writeValueAsBytes(tarefas);
+    }
+
+    @Benchmark
+    public byte[] clientes() throws Exception {
+        return objectMapper.writeValueAsBytes(clientes);
+    }
+}
@@ -0,0 +1,92 @@
+package com.csemanager.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Página de tarefas no formato atual x ?fields= x colunar (ProjecaoCampos), com e sem gzip.
+// Tempo por serialização no resultado do JMH; bytes de cada formato impressos no setup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListaCompactaBenchmark {
+
+    private static final String[] STATUS = {"EM_ABERTO", "EM_ANDAMENTO", "FINALIZADO"};
+    private static final int CLIENTES = 20;
+
+    @Param({"50", "200"})
+    private int tamanho;
+
+    private ObjectMapper objectMapper;
+    private TaskPageDTO pagina;
+    private Set<String> camposAgenda;
+    private Set<String> todos;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<TaskDTO> tarefas = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            long cliente = i % CLIENTES;
+            tarefas.add(new TaskDTO((long) i, "Manutenção " + i, "Limpeza de filtros e verificação de gás",
+                    STATUS[i % STATUS.length], 1 + i % 3, cliente, "Cliente " + cliente,
+                    "Rua das Palmeiras, " + cliente + " - Centro", "2025-03-" + (10 + i % 5)));
+        }
+        pagina = new TaskPageDTO(tarefas, "dDoyMDA");
+        // O que o quadro da Agenda mostra
+        camposAgenda = ProjecaoCampos.TAREFAS.selecionar("id,titulo,status,prioridade,clienteNome,dataServico");
+        todos = ProjecaoCampos.TAREFAS.selecionar(null);
+
+        System.out.printf("%n%d tarefas: json=%d (gzip %d), fields=%d (gzip %d), colunar=%d (gzip %d) bytes%n", tamanho,
+                json().length, gzip(json()).length, campos().length, gzip(campos()).length,
+                colunar().length, gzip(colunar()).length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] campos() throws IOException {
+        return objectMapper.writeValueAsBytes(ProjecaoCampos.TAREFAS.linhas(pagina.itens(), camposAgenda));
+    }
+
+    @Benchmark
+    public byte[] colunar() throws IOException {
+        return objectMapper.writeValueAsBytes(ProjecaoCampos.TAREFAS.colunas(pagina.itens(), todos));
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(json());
+    }
+
+    @Benchmark
+    public byte[] colunarGzip() throws IOException {
+        return gzip(colunar());
+    }
+
+    private static byte[] gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(dados.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,80 @@
+package com.csemanager.security;
+
+import com.csemanager.CseManagerApplication;
+import com.csemanager.model.User;
+import com.csemanager.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// SecurityFilter completo (header -> JWT -> usuário -> SecurityContext) com a aplicação real sobre H2
+// em memória: "cacheQuente" é o caminho comum; "cacheFrio" força a consulta do usuário no banco
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecurityFilterBenchmark {
+
+    private static final String EMAIL = "tecnico@cse.com";
+
+    private ConfigurableApplicationContext contexto;
+    private SecurityFilter filtro;
+    private PrincipalCache principalCache;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(CseManagerApplication.class)
+                .properties("server.port=0", "spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        filtro = contexto.getBean(SecurityFilter.class);
+        principalCache = contexto.getBean(PrincipalCache.class);
+        UserRepository users = contexto.getBean(UserRepository.class);
+        User user = users.findByEmail(EMAIL).orElseGet(() -> {
+            User novo = new User();
+            novo.setName("Técnico");
+            novo.setEmail(EMAIL);
+            novo.setPassword("$2a$10$abcdefghijklmnopqrstuuN9zLQmTqYH5Qd6x1v5hRS6aY0Qe9Zk2");
+            return users.save(novo);
+        });
+        authorization = "Bearer " + contexto.getBean(TokenService.class).generateToken(user);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Object cacheQuente() throws Exception {
+        return filtrar();
+    }
+
+    @Benchmark
+    public Object cacheFrio() throws Exception {
+        principalCache.evict(EMAIL);
+        return filtrar();
+    }
+
+    private Object filtrar() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tarefas");
+        request.addHeader("Authorization", authorization);
+        filtro.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,47 @@
+package com.csemanager.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.csemanager.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenService = new TokenService("chave-de-benchmark", new SimpleMeterRegistry());
+        user = new User();
+        user.setEmail("tecnico@cse.com");
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateToken() {
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public DecodedJWT decodeToken() {
+        return tokenService.decodeToken(token);
+    }
+}
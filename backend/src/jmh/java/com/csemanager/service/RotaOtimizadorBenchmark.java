@@ -0,0 +1,48 @@
+package com.csemanager.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Rota de um dia com paradas espalhadas numa área de ~40 km (uma cidade grande), orçamento folgado
+// para medir o tempo até o 2-opt convergir. Ganho sobre a ordem de prioridade impresso no setup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RotaOtimizadorBenchmark {
+
+    private static final long ORCAMENTO = TimeUnit.SECONDS.toNanos(1);
+
+    @Param({"20", "50", "200"})
+    private int paradas;
+
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(7);
+        latitudes = new double[paradas];
+        longitudes = new double[paradas];
+        for (int i = 0; i < paradas; i++) {
+            latitudes[i] = -23.75 + random.nextDouble() * 0.35;
+            longitudes[i] = -46.85 + random.nextDouble() * 0.4;
+        }
+        RotaOtimizador.Resultado resultado = otimizar();
+        System.out.printf("%n%d paradas: %.1f km na ordem de prioridade, %.1f km otimizado%n", paradas,
+                resultado.distanciaInicialKm(), resultado.distanciaKm());
+    }
+
+    @Benchmark
+    public RotaOtimizador.Resultado otimizar() {
+        return RotaOtimizador.otimizar(latitudes, longitudes, ORCAMENTO);
+    }
+}
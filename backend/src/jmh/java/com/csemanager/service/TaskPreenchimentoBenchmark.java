@@ -0,0 +1,47 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// DTO -> entidade (o antigo toEntity do TaskController), incluindo o parse de LocalDate
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskPreenchimentoBenchmark {
+
+    private TaskDTO dto;
+    private Map<Long, Cliente> clientes;
+
+    @Setup
+    public void preparar() {
+        Cliente cliente = new Cliente();
+        cliente.setId(7L);
+        cliente.setNome("Maria Souza");
+        clientes = Map.of(7L, cliente);
+        dto = new TaskDTO();
+        dto.setTitulo("Manutenção preventiva");
+        dto.setDescricao("Limpeza de filtros e verificação de gás");
+        dto.setStatus("EM_ABERTO");
+        dto.setPrioridade(2);
+        dto.setClienteId(7L);
+        dto.setDataServico("2025-03-10");
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        Task task = new Task();
+        TaskService.preencher(task, dto, clientes);
+        return task;
+    }
+}
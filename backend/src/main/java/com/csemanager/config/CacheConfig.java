@@ -0,0 +1,38 @@
+package com.csemanager.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASK_STATS = "taskStats";
+
+    // Regiões do cache de segundo nível do Hibernate como métricas cache.* (acertos, faltas, puts, despejos),
+    // só com a tag cache, como o cache "principals" (o Prometheus exige as mesmas tags em todo cache.*).
+    // Acertos por região também saem em hibernate.second.level.cache.requests (estatísticas do Hibernate)
+    @Bean
+    public MeterBinder segundoNivelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache().getRegionFactory();
+            if (regionFactory instanceof JCacheRegionFactory jcache) {
+                CacheManager cacheManager = jcache.getCacheManager();
+                for (String regiao : cacheManager.getCacheNames()) {
+                    JCacheMetrics.monitor(registry, cacheManager.getCache(regiao), Tags.empty());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.csemanager.config;
+
+import com.csemanager.model.ClienteResumo;
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+// cliente_resumo só recebe diferenças (ClienteHistoricoService): clientes com tarefas de antes da tabela
+// existir ganham a linha calculada do zero, uma vez, antes de aceitar requisições. Quem já tem linha não
+// é tocado, então pode rodar a cada inicialização. Uma vez na raiz de cada destino (EmpresaDestinos)
+@Component
+public class ClienteResumoBackfillConfig implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteResumoBackfillConfig.class);
+    private static final String PREENCHER = """
+            INSERT INTO cliente_resumo (cliente_id, empresa, em_aberto, em_andamento, finalizadas,
+                                        ultima_visita, proxima_visita, atualizado_em)
+            SELECT c.id, COALESCE(NULLIF(MAX(c.empresa), ''), :padrao),
+                   SUM(CASE WHEN h.status = 'EM_ABERTO' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN h.status = 'EM_ANDAMENTO' THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN h.status = 'FINALIZADO' THEN 1 ELSE 0 END),
+                   MAX(CASE WHEN h.status = 'FINALIZADO' THEN h.data_servico END),
+                   MIN(CASE WHEN h.status IN ('EM_ABERTO', 'EM_ANDAMENTO') THEN h.data_servico END),
+                   :agora
+            FROM (SELECT cliente_id, status, data_servico FROM tarefas
+                  WHERE cliente_id IS NOT NULL AND excluido_em IS NULL
+                  UNION ALL
+                  SELECT cliente_id, status, data_servico FROM tarefas_arquivo
+                  WHERE cliente_id IS NOT NULL AND excluido_em IS NULL) h
+            JOIN clientes c ON c.id = h.cliente_id
+            WHERE NOT EXISTS (SELECT 1 FROM cliente_resumo r WHERE r.cliente_id = c.id)
+            GROUP BY c.id
+            """;
+
+    private final EntityManager entityManager;
+    private final EmpresaDestinos destinos;
+    private final TransactionTemplate transactionTemplate;
+
+    public ClienteResumoBackfillConfig(EntityManager entityManager, EmpresaDestinos destinos,
+                                       PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.destinos = destinos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Instant agora = Instant.now();
+        for (String raiz : destinos.raizes()) {
+            Integer criadas = EmpresaAtual.executar(raiz, () -> transactionTemplate.execute(
+                    status -> entityManager.createNativeQuery(PREENCHER)
+                            .unwrap(NativeQuery.class)
+                            .addSynchronizedEntityClass(ClienteResumo.class)
+                            .setParameter("padrao", EmpresaAtual.PADRAO)
+                            .setParameter("agora", agora)
+                            .executeUpdate()));
+            if (criadas != null && criadas > 0) {
+                log.info("Resumo calculado para {} clientes ({})", criadas, raiz);
+            }
+        }
+    }
+}
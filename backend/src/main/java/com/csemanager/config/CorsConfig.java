@@ -15,8 +15,10 @@ public class CorsConfig {
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**") // Aplica para todas as rotas
                         .allowedOrigins("http://localhost:3000") // Permite o frontend acessar
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                        .allowedHeaders("*");
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                        .allowedHeaders("*")
+                        .exposedHeaders("Content-Disposition", "Location", "ETag", "Last-Modified", "Retry-After",
+                                "Idempotent-Replayed");
             }
         };
     }
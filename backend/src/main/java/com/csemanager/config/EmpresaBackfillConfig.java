@@ -0,0 +1,37 @@
+package com.csemanager.config;
+
+import com.csemanager.security.EmpresaAtual;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Linhas de antes da coluna empresa: o ddl-auto a adiciona vazia (NULL ou '' no MySQL). Tudo o que já
+// existia era de uma filial só, então vai para a empresa padrão antes de aceitar requisições
+@Component
+public class EmpresaBackfillConfig implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(EmpresaBackfillConfig.class);
+    private static final List<String> TABELAS = List.of(
+            "users", "clientes", "tarefas", "tarefas_arquivo", "exclusoes", "orcamentos");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmpresaBackfillConfig(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String tabela : TABELAS) {
+            int preenchidas = jdbcTemplate.update(
+                    "UPDATE " + tabela + " SET empresa = ? WHERE empresa IS NULL OR empresa = ''", EmpresaAtual.PADRAO);
+            if (preenchidas > 0) {
+                log.info("{} linhas de {} atribuídas à empresa '{}'", preenchidas, tabela, EmpresaAtual.PADRAO);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.csemanager.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// Empresas grandes fora das tabelas compartilhadas:
+//   tenancy.schemas.<empresa>=<schema>                 outro schema no mesmo servidor
+//   tenancy.datasources.<empresa>.url|username|password outro banco
+// Sem nenhuma das duas o Hibernate usa o DataSource principal direto, como antes. As tabelas dos destinos
+// próprios são criadas à parte (o ddl-auto só alcança o principal)
+@Configuration
+public class EmpresaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EmpresaConfig.class);
+
+    public record Destino(String url, String username, String password) {}
+
+    @Bean
+    public EmpresaDestinos empresaDestinos(Environment environment) {
+        return new EmpresaDestinos(esquemas(environment), destinos(environment).keySet());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer empresaConnectionCustomizer(DataSource dataSource, Environment environment) {
+        Map<String, String> esquemas = esquemas(environment);
+        Map<String, Destino> destinos = destinos(environment);
+        return properties -> {
+            if (esquemas.isEmpty() && destinos.isEmpty()) {
+                return;
+            }
+            Map<String, DataSource> dedicados = new HashMap<>();
+            destinos.forEach((empresa, destino) -> dedicados.put(empresa, DataSourceBuilder.create()
+                    .url(destino.url())
+                    .username(destino.username())
+                    .password(destino.password())
+                    .build()));
+            log.info("Empresas com schema próprio: {}; com banco próprio: {}", esquemas.keySet(), dedicados.keySet());
+            properties.put(AvailableSettings.MULTI_TENANT_CONNECTION_PROVIDER,
+                    new EmpresaConnectionProvider(dataSource, dedicados, esquemas));
+        };
+    }
+
+    private static Map<String, String> esquemas(Environment environment) {
+        return Binder.get(environment).bind("tenancy.schemas", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+    }
+
+    private static Map<String, Destino> destinos(Environment environment) {
+        return Binder.get(environment).bind("tenancy.datasources", Bindable.mapOf(String.class, Destino.class))
+                .orElse(Map.of());
+    }
+}
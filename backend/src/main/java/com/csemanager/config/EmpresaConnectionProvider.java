@@ -0,0 +1,118 @@
+package com.csemanager.config;
+
+import com.csemanager.security.EmpresaAtual;
+import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Stoppable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+// Conexões por empresa: as grandes podem ter banco próprio (outro DataSource) ou outro schema no mesmo
+// servidor; as demais usam o DataSource principal. No MySQL schema = catalog, então a troca é um
+// setCatalog na conexão, desfeito antes de ela voltar ao pool. A coluna empresa continua filtrando
+// nos dois casos: mover uma empresa para outro banco não muda nenhuma consulta. A raiz de um destino
+// ("*:<empresa>", ver EmpresaDestinos) usa a conexão daquela empresa
+public class EmpresaConnectionProvider implements MultiTenantConnectionProvider<String>, Stoppable {
+
+    private final DataSource principal;
+    private final Map<String, DataSource> dedicados;
+    private final Map<String, String> esquemas;
+    private volatile String catalogoPadrao;
+
+    public EmpresaConnectionProvider(DataSource principal, Map<String, DataSource> dedicados,
+                                     Map<String, String> esquemas) {
+        this.principal = principal;
+        this.dedicados = Map.copyOf(dedicados);
+        this.esquemas = Map.copyOf(esquemas);
+    }
+
+    // Metadados e geração do schema: só no principal, as tabelas dos destinos próprios são criadas à parte
+    @Override
+    public Connection getAnyConnection() throws SQLException {
+        return principal.getConnection();
+    }
+
+    @Override
+    public void releaseAnyConnection(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public Connection getConnection(String tenant) throws SQLException {
+        String empresa = destino(tenant);
+        DataSource dedicado = dedicados.get(empresa);
+        if (dedicado != null) {
+            return dedicado.getConnection();
+        }
+        Connection connection = principal.getConnection();
+        String esquema = esquemas.get(empresa);
+        if (esquema != null) {
+            try {
+                if (catalogoPadrao == null) {
+                    catalogoPadrao = connection.getCatalog();
+                }
+                connection.setCatalog(esquema);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+        return connection;
+    }
+
+    @Override
+    public void releaseConnection(String tenant, Connection connection) throws SQLException {
+        String empresa = destino(tenant);
+        try {
+            if (!dedicados.containsKey(empresa) && esquemas.containsKey(empresa) && catalogoPadrao != null) {
+                connection.setCatalog(catalogoPadrao);
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static String destino(String tenant) {
+        String prefixo = EmpresaAtual.raizEm("");
+        return tenant.startsWith(prefixo) ? tenant.substring(prefixo.length()) : tenant;
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (!isUnwrappableAs(unwrapType)) {
+            throw new UnknownUnwrapTypeException(unwrapType);
+        }
+        return unwrapType.cast(this);
+    }
+
+    // Os pools dos bancos dedicados fecham junto com o Hibernate; o principal é do Spring
+    @Override
+    public void stop() {
+        for (DataSource dataSource : dedicados.values()) {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
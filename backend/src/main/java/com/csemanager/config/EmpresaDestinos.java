@@ -0,0 +1,39 @@
+package com.csemanager.config;
+
+import com.csemanager.security.EmpresaAtual;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Bancos onde há dados de empresas: o principal e cada destino de tenancy.schemas/tenancy.datasources.
+// A raiz pura só enxerga o principal, então as rotinas que atravessam empresas (arquivamento, outbox,
+// expurgos, cargas e reconstruções) rodam uma vez na raiz de cada destino. Usuários ficam sempre no
+// principal: login e cadastro rodam na raiz pura
+public class EmpresaDestinos {
+
+    private final List<String> raizes;
+
+    public EmpresaDestinos(Map<String, String> esquemas, Set<String> dedicados) {
+        List<String> todas = new ArrayList<>();
+        todas.add(EmpresaAtual.RAIZ);
+        new TreeSet<>(dedicados).forEach(empresa -> todas.add(EmpresaAtual.raizEm(empresa)));
+        // Empresas no mesmo schema são um destino só; banco próprio tem precedência sobre o schema
+        Set<String> vistos = new HashSet<>();
+        new TreeMap<>(esquemas).forEach((empresa, esquema) -> {
+            if (!dedicados.contains(empresa) && vistos.add(esquema)) {
+                todas.add(EmpresaAtual.raizEm(empresa));
+            }
+        });
+        this.raizes = List.copyOf(todas);
+    }
+
+    // A primeira é sempre a raiz do principal
+    public List<String> raizes() {
+        return raizes;
+    }
+}
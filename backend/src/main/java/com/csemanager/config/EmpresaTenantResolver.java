@@ -0,0 +1,26 @@
+package com.csemanager.config;
+
+import com.csemanager.security.EmpresaAtual;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+// Tenant de cada sessão do Hibernate = empresa da requisição (hibernate.tenant_identifier_resolver).
+// Registrado por propriedade, não como bean, para valer também nos testes de fatia (@DataJpaTest)
+public class EmpresaTenantResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return EmpresaAtual.obter();
+    }
+
+    // O Spring abre e fecha as sessões; não há sessão "corrente" de outra empresa para validar
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    // Na raiz o Hibernate não filtra por empresa e aceita a empresa já atribuída na entidade
+    @Override
+    public boolean isRoot(String empresa) {
+        return EmpresaAtual.ehRaiz(empresa);
+    }
+}
@@ -0,0 +1,72 @@
+package com.csemanager.config;
+
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+// Bases que já tinham ids gerados por IDENTITY: antes de aceitar requisições, garante que a
+// tabela id_sequencias comece acima do maior id existente, para os novos blocos não colidirem.
+// Cada destino (EmpresaDestinos) tem a sua id_sequencias, usada pelas sessões das empresas dele
+@Component
+public class IdSequenciaConfig implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenciaConfig.class);
+    // Deve ser o mesmo allocationSize dos @TableGenerator
+    private static final int TAMANHO_BLOCO = 50;
+    // nome da sequência -> tabela cujos ids ela gera
+    private static final Map<String, String> SEQUENCIAS = Map.of(
+            "tarefas", "tarefas",
+            "clientes", "clientes",
+            "outbox_tarefas", "outbox_tarefas");
+
+    private final EntityManager entityManager;
+    private final EmpresaDestinos destinos;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdSequenciaConfig(EntityManager entityManager, EmpresaDestinos destinos,
+                             PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.destinos = destinos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String raiz : destinos.raizes()) {
+            EmpresaAtual.executar(raiz, () -> transactionTemplate.executeWithoutResult(
+                    status -> SEQUENCIAS.forEach(this::alinhar)));
+        }
+    }
+
+    private void alinhar(String sequencia, String tabela) {
+        long maiorId = ((Number) entityManager.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabela)
+                .getSingleResult()).longValue();
+        long minimo = maiorId + TAMANHO_BLOCO + 1;
+        int alteradas = entityManager.createNativeQuery(
+                        "UPDATE id_sequencias SET proximo_valor = :minimo WHERE nome = :nome AND proximo_valor < :minimo")
+                .setParameter("minimo", minimo)
+                .setParameter("nome", sequencia)
+                .executeUpdate();
+        long existe = ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM id_sequencias WHERE nome = :nome")
+                .setParameter("nome", sequencia)
+                .getSingleResult()).longValue();
+        if (existe == 0) {
+            entityManager.createNativeQuery("INSERT INTO id_sequencias (nome, proximo_valor) VALUES (:nome, :minimo)")
+                    .setParameter("nome", sequencia)
+                    .setParameter("minimo", minimo)
+                    .executeUpdate();
+            alteradas = 1;
+        }
+        if (alteradas > 0) {
+            log.info("Sequência '{}' ajustada para {} em {} (maior id em {}: {})", sequencia, minimo,
+                    EmpresaAtual.obter(), tabela, maiorId);
+        }
+    }
+}
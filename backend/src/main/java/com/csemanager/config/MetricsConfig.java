@@ -0,0 +1,69 @@
+package com.csemanager.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Comandos SQL por requisição: sempre como métrica (http.server.requests.sql) e,
+// no perfil dev, também no cabeçalho X-SQL-Count da resposta
+@Configuration
+public class MetricsConfig {
+
+    public static final String SQL_COUNT_HEADER = "X-SQL-Count";
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlContadorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlContador());
+    }
+
+    @Bean
+    public SqlPorRequisicaoFilter sqlPorRequisicaoFilter(MeterRegistry meterRegistry, Environment environment) {
+        return new SqlPorRequisicaoFilter(meterRegistry, environment.acceptsProfiles(Profiles.of("dev")));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public static class SqlPorRequisicaoFilter extends OncePerRequestFilter {
+
+        private final DistributionSummary comandos;
+        private final boolean cabecalho;
+
+        SqlPorRequisicaoFilter(MeterRegistry meterRegistry, boolean cabecalho) {
+            this.comandos = DistributionSummary.builder("http.server.requests.sql")
+                    .description("Comandos SQL executados por requisição")
+                    .baseUnit("statements")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+            this.cabecalho = cabecalho;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            SqlContador.zerar();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                int total = SqlContador.total();
+                comandos.record(total);
+                // Respostas com corpo já receberam o cabeçalho no SqlContagemAdvice, antes do commit
+                if (cabecalho && !response.isCommitted()) {
+                    response.setHeader(SQL_COUNT_HEADER, Integer.toString(total));
+                }
+            }
+        }
+    }
+}
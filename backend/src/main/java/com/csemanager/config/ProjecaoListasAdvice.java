@@ -0,0 +1,87 @@
+package com.csemanager.config;
+
+import com.csemanager.dto.ClienteDTO;
+import com.csemanager.dto.ProjecaoCampos;
+import com.csemanager.dto.TaskPageDTO;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Listagens de tarefas (página) e de clientes em formato compacto, escolhido pelo cliente:
+// ?fields=id,titulo,... devolve só esses campos; Accept: application/vnd.csemanager.colunar+json
+// devolve as colunas (ProjecaoCampos). Sem nenhum dos dois o corpo segue intacto
+@ControllerAdvice
+public class ProjecaoListasAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String COLUNAR_VALUE = "application/vnd.csemanager.colunar+json";
+    public static final MediaType COLUNAR = MediaType.parseMediaType(COLUNAR_VALUE);
+    private static final String PARAMETRO_CAMPOS = "fields";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        boolean colunar = COLUNAR.equalsTypeAndSubtype(selectedContentType);
+        String fields = request instanceof ServletServerHttpRequest servlet
+                ? servlet.getServletRequest().getParameter(PARAMETRO_CAMPOS) : null;
+        if (!colunar && fields == null) {
+            return body;
+        }
+        if (body instanceof TaskPageDTO pagina) {
+            Map<String, Object> resposta = projetar(ProjecaoCampos.TAREFAS, pagina.itens(), fields, colunar);
+            resposta.put("proximoCursor", pagina.proximoCursor());
+            return resposta;
+        }
+        if (body instanceof List<?> lista && listaDe(returnType, ClienteDTO.class)) {
+            @SuppressWarnings("unchecked")
+            List<ClienteDTO> clientes = (List<ClienteDTO>) lista;
+            return colunar
+                    ? projetar(ProjecaoCampos.CLIENTES, clientes, fields, true)
+                    : ProjecaoCampos.CLIENTES.linhas(clientes, selecionar(ProjecaoCampos.CLIENTES, fields));
+        }
+        return body;
+    }
+
+    private static <T> Map<String, Object> projetar(ProjecaoCampos<T> projecao, List<T> itens, String fields,
+                                                    boolean colunar) {
+        Set<String> campos = selecionar(projecao, fields);
+        if (colunar) {
+            return projecao.colunas(itens, campos);
+        }
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("itens", projecao.linhas(itens, campos));
+        return resposta;
+    }
+
+    private static Set<String> selecionar(ProjecaoCampos<?> projecao, String fields) {
+        try {
+            return projecao.selecionar(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static boolean listaDe(MethodParameter returnType, Class<?> elemento) {
+        ResolvableType tipo = ResolvableType.forMethodParameter(returnType);
+        return List.class.isAssignableFrom(tipo.toClass()) && elemento.equals(tipo.getGeneric(0).toClass());
+    }
+}
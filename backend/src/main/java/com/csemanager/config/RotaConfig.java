@@ -0,0 +1,21 @@
+package com.csemanager.config;
+
+import com.csemanager.service.Geocodificador;
+import com.csemanager.service.GeocodificadorArquivo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class RotaConfig {
+
+    // Geocodificador local por padrão; um bean Geocodificador da aplicação (ex.: servidor próprio) o substitui
+    @Bean
+    @ConditionalOnMissingBean(Geocodificador.class)
+    public Geocodificador geocodificador(@Value("${rota.geocoder.arquivo:}") String arquivo) {
+        return new GeocodificadorArquivo(arquivo.isBlank() ? null : Path.of(arquivo));
+    }
+}
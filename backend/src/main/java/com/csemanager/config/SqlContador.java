@@ -0,0 +1,23 @@
+package com.csemanager.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta os comandos SQL preparados pelo Hibernate na thread atual (uma requisição = uma thread)
+public class SqlContador implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        CONTADOR.get()[0]++;
+        return sql;
+    }
+
+    public static void zerar() {
+        CONTADOR.get()[0] = 0;
+    }
+
+    public static int total() {
+        return CONTADOR.get()[0];
+    }
+}
@@ -0,0 +1,54 @@
+package com.csemanager.config;
+
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+// Linhas criadas antes das colunas versao/atualizado_em ficam com NULL (o ddl-auto só adiciona a coluna).
+// O @Version não incrementa NULL e o delta/ETag ignorariam essas linhas, então preenche antes de aceitar requisições
+@Component
+public class VersaoBackfillConfig implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(VersaoBackfillConfig.class);
+    private static final List<String> ENTIDADES = List.of("Task", "Cliente");
+
+    private final EntityManager entityManager;
+    private final EmpresaDestinos destinos;
+    private final TransactionTemplate transactionTemplate;
+
+    public VersaoBackfillConfig(EntityManager entityManager, EmpresaDestinos destinos,
+                                PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.destinos = destinos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Instant agora = Instant.now();
+        for (String raiz : destinos.raizes()) {
+            for (String entidade : ENTIDADES) {
+                // Na raiz de cada destino: sem isso o UPDATE só alcançaria as linhas da empresa padrão
+                Integer preenchidas = EmpresaAtual.executar(raiz, () -> transactionTemplate.execute(
+                        status -> entityManager.createQuery(
+                                        "UPDATE " + entidade + " e SET e.versao = COALESCE(e.versao, 0), "
+                                                + "e.atualizadoEm = COALESCE(e.atualizadoEm, :agora) "
+                                                + "WHERE e.versao IS NULL OR e.atualizadoEm IS NULL")
+                                .setParameter("agora", agora)
+                                .executeUpdate()));
+                if (preenchidas != null && preenchidas > 0) {
+                    log.info("{} linhas de {} receberam versao/atualizado_em iniciais ({})", preenchidas, entidade,
+                            raiz);
+                }
+            }
+        }
+    }
+}
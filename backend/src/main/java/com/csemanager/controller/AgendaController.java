@@ -0,0 +1,44 @@
+package com.csemanager.controller;
+
+import com.csemanager.dto.AgendaDTO;
+import com.csemanager.dto.RotaDiaDTO;
+import com.csemanager.service.AgendaService;
+import com.csemanager.service.RotaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/agenda")
+public class AgendaController {
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private RotaService rotaService;
+
+    // Calendário (semana/mês): tarefas de from a to (inclusive) agrupadas por dia, mais as atrasadas
+    @GetMapping
+    public AgendaDTO buscar(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
+        return agendaService.buscar(from, to);
+    }
+
+    // Ordem de visita das tarefas pendentes de "data" (e dos "dias" seguintes, um item por dia).
+    // origem=latitude,longitude opcional: de onde o técnico sai
+    @GetMapping("/rota")
+    public List<RotaDiaDTO> rota(
+            @RequestParam(required = false) String data,
+            @RequestParam(required = false) Integer dias,
+            @RequestParam(required = false) String origem
+    ) {
+        return rotaService.calcular(data, dias, origem);
+    }
+}
@@ -5,12 +5,18 @@ import com.csemanager.dto.RegisterRequestDTO;
 import com.csemanager.dto.ResponseDTO;
 import com.csemanager.model.User;
 import com.csemanager.repository.UserRepository;
+import com.csemanager.security.EmpresaAtual;
+import com.csemanager.security.LimitadorAutenticacao;
 import com.csemanager.security.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.Optional;
 
 @RestController
@@ -19,6 +25,10 @@ public class AuthController {
     private final UserRepository repository;
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
+    private final LimitadorAutenticacao limitador;
+    // Hash de uma senha qualquer: e-mail desconhecido também paga um BCrypt, então o tempo de resposta
+    // não revela quais e-mails existem
+    private final String hashFicticio;
 
     @Value("${registration.secret.key}")
     private String registrationSecretKey;
@@ -26,21 +36,33 @@ public class AuthController {
     public AuthController(
             UserRepository repository,
             PasswordEncoder passwordEncoder,
-            TokenService tokenService
+            TokenService tokenService,
+            LimitadorAutenticacao limitador
     ) {
         this.repository = repository;
         this.passwordEncoder = passwordEncoder;
         this.tokenService = tokenService;
+        this.limitador = limitador;
+        this.hashFicticio = passwordEncoder.encode("senha-ficticia");
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequestDTO body) {
-        User user = repository.findByEmail(body.email())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        if (passwordEncoder.matches(body.password(), user.getPassword())) {
-            String token = tokenService.generateToken(user);
-            return ResponseEntity.ok(new ResponseDTO(user.getId(), token));
+    public ResponseEntity<?> login(@RequestBody LoginRequestDTO body, HttpServletRequest request) {
+        // Por conta e IP, além do limite por IP do filtro: só as senhas erradas contam
+        String ip = request.getRemoteAddr();
+        Duration espera = limitador.esperaConta(body.email(), ip);
+        if (!espera.isZero()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(LimitadorAutenticacao.segundos(espera)))
+                    .build();
         }
+        Optional<User> user = repository.findByEmail(body.email());
+        String hash = user.map(User::getPassword).orElse(hashFicticio);
+        if (passwordEncoder.matches(body.password(), hash) && user.isPresent()) {
+            String token = tokenService.generateToken(user.get());
+            return ResponseEntity.ok(new ResponseDTO(user.get().getId(), token));
+        }
+        limitador.falhaConta(body.email(), ip);
         return ResponseEntity.badRequest().build();
     }
 
@@ -50,6 +72,12 @@ public class AuthController {
             return ResponseEntity.status(403).body("Chave secreta inválida.");
         }
 
+        // Sem empresa, a padrão (instalações de uma filial só)
+        String empresa = dto.empresa() == null || dto.empresa().isBlank() ? EmpresaAtual.PADRAO : dto.empresa();
+        if (!EmpresaAtual.valida(empresa)) {
+            return ResponseEntity.badRequest().body("Empresa inválida.");
+        }
+
         Optional<User> userOpt = repository.findByEmail(dto.email());
         if (userOpt.isPresent()) {
             return ResponseEntity.badRequest().body("Já existe usuário com este e-mail.");
@@ -59,6 +87,7 @@ public class AuthController {
         newUser.setName(dto.name());
         newUser.setEmail(dto.email());
         newUser.setPassword(passwordEncoder.encode(dto.password()));
+        newUser.setEmpresa(empresa);
         repository.save(newUser);
 
         String token = tokenService.generateToken(newUser);
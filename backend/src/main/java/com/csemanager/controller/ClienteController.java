@@ -1,13 +1,29 @@
 package com.csemanager.controller;
 
 import com.csemanager.dto.ClienteDTO;
+import com.csemanager.dto.ClienteHistoricoDTO;
+import com.csemanager.dto.ClienteImportDTO;
+import com.csemanager.dto.DeltaDTO;
 import com.csemanager.model.Cliente;
 import com.csemanager.repository.ClienteRepository;
+import com.csemanager.service.ClienteHistoricoService;
+import com.csemanager.service.ClienteImportService;
+import com.csemanager.service.ClienteSearchIndex;
+import com.csemanager.service.ClienteService;
+import com.csemanager.service.ClienteValidador;
+import com.csemanager.service.ExportService;
+import com.csemanager.service.IdempotenciaService;
+import com.csemanager.service.SincronizacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,6 +36,30 @@ public class ClienteController {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private ClienteSearchIndex searchIndex;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ClienteImportService importService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private SincronizacaoService sincronizacao;
+
+    @Autowired
+    private IdempotenciaService idempotencia;
+
+    @Autowired
+    private ClienteHistoricoService historico;
+
+    private static final int LIMITE_BUSCA_PADRAO = 10;
+    private static final int LIMITE_BUSCA_MAXIMO = 50;
+
     private ClienteDTO toDTO(Cliente c) {
         return new ClienteDTO(
                 c.getId(), c.getNome(), c.getTelefone(),
@@ -37,13 +77,42 @@ public class ClienteController {
         return c;
     }
 
+    // GET condicional: se nada mudou desde o ETag do cliente, 304 sem ler a tabela
     @GetMapping
-    public List<ClienteDTO> listarTodos() {
+    public List<ClienteDTO> listarTodos(ServletWebRequest request) {
+        if (sincronizacao.naoModificado(request, sincronizacao.versaoClientes())) {
+            return null;
+        }
         return clienteRepository.findAll().stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    // Só o que mudou (e os ids removidos) desde o "since" da chamada anterior; sem "since", tudo
+    @GetMapping("/delta")
+    public DeltaDTO<ClienteDTO> delta(@RequestParam(required = false) String since) {
+        return sincronizacao.deltaClientes(since);
+    }
+
+    // Busca por prefixo, sem acento, em nome/telefone/endereço/e-mail (índice em memória)
+    @GetMapping("/search")
+    public List<ClienteDTO> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limite
+    ) {
+        int tamanho = limite == null ? LIMITE_BUSCA_PADRAO : Math.max(1, Math.min(limite, LIMITE_BUSCA_MAXIMO));
+        return searchIndex.buscar(q, tamanho);
+    }
+
+    // Exportação completa em CSV ou NDJSON (opcionalmente gzip), escrita em fluxo
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        return exportService.exportarClientes(ExportService.formato(formato), gzip);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ClienteDTO> buscarPorId(@PathVariable Long id) {
         return clienteRepository.findById(id)
@@ -51,24 +120,38 @@ public class ClienteController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Página do cliente: indicadores (uma leitura por chave em cliente_resumo) e tarefas, da visita mais
+    // recente para a mais antiga, incluindo as arquivadas. "proximoCursor" busca a página seguinte
+    @GetMapping("/{id}/historico")
+    public ClienteHistoricoDTO historico(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite
+    ) {
+        return historico.buscar(id, cursor, limite);
+    }
+
+    // Com Idempotency-Key, o reenvio devolve o cliente já criado em vez de duplicar
     @PostMapping
-    public ResponseEntity<?> criar(@RequestBody ClienteDTO dto) {
-        Map<String, String> errors = new HashMap<>();
-        if (dto.getNome() == null || dto.getNome().isBlank()) {
-            errors.put("nome", "O nome é obrigatório");
-        }
-        if (dto.getTelefone() == null || dto.getTelefone().isBlank()) {
-            errors.put("telefone", "O telefone é obrigatório");
-        }
-        if (dto.getEndereco() == null || dto.getEndereco().isBlank()) {
-            errors.put("endereco", "O endereço é obrigatório");
-        }
+    public ResponseEntity<?> criar(
+            @RequestBody ClienteDTO dto,
+            @RequestHeader(value = IdempotenciaService.CABECALHO, required = false) String chave
+    ) {
+        Map<String, String> errors = ClienteValidador.validar(dto);
         if (!errors.isEmpty()) {
             return ResponseEntity.badRequest().body(errors);
         }
 
-        Cliente salvo = clienteRepository.save(toEntity(dto));
-        return ResponseEntity.ok(toDTO(salvo));
+        return idempotencia.executar(chave, "POST /api/clientes", dto,
+                () -> ResponseEntity.ok(toDTO(clienteRepository.save(toEntity(dto)))));
+    }
+
+    // Importação em lote a partir de CSV (colunas nome, telefone, endereco, email, notas)
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ClienteImportDTO importar(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        try (InputStream in = arquivo.getInputStream()) {
+            return importService.importar(in);
+        }
     }
 
     @PutMapping("/{id}")
@@ -76,16 +159,7 @@ public class ClienteController {
             @PathVariable Long id,
             @RequestBody ClienteDTO dto
     ) {
-        Map<String, String> errors = new HashMap<>();
-        if (dto.getNome() == null || dto.getNome().isBlank()) {
-            errors.put("nome", "O nome é obrigatório");
-        }
-        if (dto.getTelefone() == null || dto.getTelefone().isBlank()) {
-            errors.put("telefone", "O telefone é obrigatório");
-        }
-        if (dto.getEndereco() == null || dto.getEndereco().isBlank()) {
-            errors.put("endereco", "O endereço é obrigatório");
-        }
+        Map<String, String> errors = ClienteValidador.validar(dto);
         if (!errors.isEmpty()) {
             return ResponseEntity.badRequest().body(errors);
         }
@@ -105,11 +179,8 @@ public class ClienteController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
-        return clienteRepository.findById(id)
-                .map(c -> {
-                    clienteRepository.deleteById(id);
-                    return ResponseEntity.noContent().<Void>build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        return clienteService.deletar(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
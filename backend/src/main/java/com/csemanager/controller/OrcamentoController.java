@@ -0,0 +1,55 @@
+package com.csemanager.controller;
+
+import com.csemanager.dto.OrcamentoArquivoDTO;
+import com.csemanager.dto.OrcamentoRequestDTO;
+import com.csemanager.repository.OrcamentoRepository;
+import com.csemanager.service.OrcamentoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/orcamentos")
+@CrossOrigin(origins = "*")
+public class OrcamentoController {
+
+    @Autowired
+    private OrcamentoService orcamentoService;
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    // Gera, guarda e devolve o PDF; o Location aponta para o download do mesmo arquivo
+    @PostMapping
+    public ResponseEntity<byte[]> criar(@RequestBody OrcamentoRequestDTO dto) {
+        OrcamentoArquivoDTO arquivo = orcamentoService.criar(dto);
+        return pdf(ResponseEntity.created(URI.create("/api/orcamentos/" + arquivo.id() + "/pdf")), arquivo);
+    }
+
+    // Novo download do orçamento já gerado: devolve os bytes guardados, sem renderizar de novo
+    @GetMapping("/{id}/pdf")
+    public ResponseEntity<byte[]> baixar(@PathVariable Long id) {
+        return orcamentoRepository.buscarArquivo(id)
+                .map(arquivo -> pdf(ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(30)).cachePrivate()), arquivo))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<byte[]> pdf(ResponseEntity.BodyBuilder builder, OrcamentoArquivoDTO arquivo) {
+        ContentDisposition disposicao = ContentDisposition.attachment()
+                .filename("Orçamento " + arquivo.numero() + " " + arquivo.clienteNome() + ".pdf", StandardCharsets.UTF_8)
+                .build();
+        return builder
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposicao.toString())
+                .body(arquivo.pdf());
+    }
+}
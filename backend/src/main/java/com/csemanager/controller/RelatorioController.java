@@ -0,0 +1,31 @@
+package com.csemanager.controller;
+
+import com.csemanager.dto.RelatorioPeriodoDTO;
+import com.csemanager.service.RelatorioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/relatorios")
+public class RelatorioController {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    // Um item por mês (ou trimestre) de "de" a "ate" (yyyy-MM), pela data de serviço das tarefas:
+    // totais por status, prioridade e os "clientes" com mais tarefas, e o tempo médio até finalizar
+    @GetMapping
+    public List<RelatorioPeriodoDTO> gerar(
+            @RequestParam(required = false) String de,
+            @RequestParam(required = false) String ate,
+            @RequestParam(required = false) String periodo,
+            @RequestParam(required = false) Integer clientes
+    ) {
+        return relatorioService.gerar(de, ate, periodo, clientes);
+    }
+}
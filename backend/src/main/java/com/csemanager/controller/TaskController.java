@@ -1,19 +1,35 @@
 package com.csemanager.controller;
 
+import com.csemanager.dto.DeltaDTO;
 import com.csemanager.dto.TaskDTO;
+import com.csemanager.dto.TaskPageDTO;
+import com.csemanager.dto.TaskStatsDTO;
+import com.csemanager.dto.TaskStatusLoteDTO;
 import com.csemanager.model.Task;
 import com.csemanager.model.Cliente;
 import com.csemanager.repository.TaskRepository;
-import com.csemanager.repository.ClienteRepository;
+import com.csemanager.service.ExportService;
+import com.csemanager.service.IdempotenciaService;
+import com.csemanager.service.SincronizacaoService;
+import com.csemanager.service.TaskService;
+import com.csemanager.service.TaskStatsService;
+import com.csemanager.service.TaskStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tarefas")
@@ -23,12 +39,29 @@ public class TaskController {
     private TaskRepository repository;
 
     @Autowired
-    private ClienteRepository clienteRepository;
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService statsService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private SincronizacaoService sincronizacao;
+
+    @Autowired
+    private TaskStreamService streamService;
+
+    @Autowired
+    private IdempotenciaService idempotencia;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int LIMITE_PADRAO = 50;
+    private static final int LIMITE_MAXIMO = 200;
 
-    // Converter entidade para DTO
-    private TaskDTO toDTO(Task t) {
+    // Converter entidade para DTO (visível no pacote para os benchmarks JMH)
+    TaskDTO toDTO(Task t) {
         Cliente c = t.getCliente();
         return new TaskDTO(
                 t.getId(),
@@ -43,81 +76,170 @@ public class TaskController {
         );
     }
 
-    // Converter DTO para entidade
-    private Task toEntity(TaskDTO dto) {
-        Task task = new Task();
-        task.setTitulo(dto.getTitulo());
-        task.setDescricao(dto.getDescricao());
-        task.setStatus(dto.getStatus());
-        task.setPrioridade(dto.getPrioridade());
-        if (dto.getClienteId() != null) {
-            Optional<Cliente> cliente = clienteRepository.findById(dto.getClienteId());
-            cliente.ifPresent(task::setCliente);
+    // Listar paginado por cursor, com filtros opcionais. ETag por página (versão da coleção + URL)
+    @GetMapping
+    public ResponseEntity<?> listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer prioridade,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) String dataInicio,
+            @RequestParam(required = false) String dataFim,
+            ServletWebRequest request
+    ) {
+        Long aposId;
+        LocalDate inicio;
+        LocalDate fim;
+        try {
+            aposId = decodeCursor(cursor);
+            inicio = parseData(dataInicio);
+            fim = parseData(dataFim);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Parâmetros de paginação inválidos.");
         }
-        if (dto.getDataServico() != null && !dto.getDataServico().isEmpty()) {
-            task.setDataServico(LocalDate.parse(dto.getDataServico(), DATE_FORMATTER));
+        if (sincronizacao.naoModificado(request, sincronizacao.versaoTarefas())) {
+            return null;
         }
-        return task;
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+
+        // Busca um registro a mais só para saber se existe próxima página
+        List<TaskDTO> pagina = repository.buscarPagina(
+                aposId, status, prioridade, clienteId, inicio, fim, Limit.of(tamanho + 1));
+        boolean temMais = pagina.size() > tamanho;
+        List<TaskDTO> itens = temMais ? pagina.subList(0, tamanho) : pagina;
+        String proximoCursor = temMais ? encodeCursor(itens.get(itens.size() - 1).getId()) : null;
+        return ResponseEntity.ok(new TaskPageDTO(itens, proximoCursor));
     }
 
-    // Listar todas
-    @GetMapping
-    public List<TaskDTO> listar() {
-        return repository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    // Histórico: mesma paginação e filtros da listagem, incluindo as tarefas já arquivadas
+    @GetMapping("/historico")
+    public ResponseEntity<?> historico(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) String dataInicio,
+            @RequestParam(required = false) String dataFim
+    ) {
+        Long aposId;
+        LocalDate inicio;
+        LocalDate fim;
+        try {
+            aposId = decodeCursor(cursor);
+            inicio = parseData(dataInicio);
+            fim = parseData(dataFim);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Parâmetros de paginação inválidos.");
+        }
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+
+        List<TaskDTO> pagina = repository.buscarHistorico(aposId, status, clienteId, inicio, fim, tamanho + 1);
+        boolean temMais = pagina.size() > tamanho;
+        List<TaskDTO> itens = temMais ? pagina.subList(0, tamanho) : pagina;
+        String proximoCursor = temMais ? encodeCursor(itens.get(itens.size() - 1).getId()) : null;
+        return ResponseEntity.ok(new TaskPageDTO(itens, proximoCursor));
+    }
+
+    // Indicadores do painel, calculados no banco
+    @GetMapping("/stats")
+    public TaskStatsDTO stats() {
+        return statsService.calcular();
+    }
+
+    // Só o que mudou (e os ids removidos) desde o "since" da chamada anterior; sem "since", tudo
+    @GetMapping("/delta")
+    public DeltaDTO<TaskDTO> delta(@RequestParam(required = false) String since) {
+        return sincronizacao.deltaTarefas(since);
+    }
+
+    // Eventos de criação/alteração/remoção em tempo real (Server-Sent Events). O EventSource do
+    // navegador não envia cabeçalhos, então aqui o token também é aceito em ?token=
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return streamService.assinar();
+    }
+
+    // Exportação completa em CSV ou NDJSON (opcionalmente gzip), escrita em fluxo
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        return exportService.exportarTarefas(ExportService.formato(formato), gzip);
     }
 
     // Buscar por ID
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> buscar(@PathVariable Long id) {
-        Optional<Task> t = repository.findById(id);
-        return t.map(task -> ResponseEntity.ok(toDTO(task)))
+        return repository.buscarDTO(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // Criar nova tarefa
+    // Criar nova tarefa. Com Idempotency-Key, o reenvio (ex.: rede móvel instável) devolve a mesma
+    // tarefa em vez de criar outra
     @PostMapping
-    public TaskDTO criar(@RequestBody TaskDTO dto) {
-        Task entidade = toEntity(dto);
-        Task salvo = repository.save(entidade);
-        return toDTO(salvo);
+    public ResponseEntity<?> criar(
+            @RequestBody TaskDTO dto,
+            @RequestHeader(value = IdempotenciaService.CABECALHO, required = false) String chave
+    ) {
+        return idempotencia.executar(chave, "POST /api/tarefas", dto,
+                () -> ResponseEntity.ok(toDTO(taskService.criar(dto))));
+    }
+
+    // Criar/atualizar várias tarefas de uma vez (itens com id são atualizados)
+    @PostMapping("/batch")
+    public List<TaskDTO> salvarLote(@RequestBody List<TaskDTO> lote) {
+        return taskService.salvarLote(lote).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    // Mudar o status de várias tarefas
+    @PatchMapping("/status")
+    public ResponseEntity<?> alterarStatus(@RequestBody TaskStatusLoteDTO dto) {
+        if (dto.ids() == null || dto.ids().isEmpty() || dto.status() == null || dto.status().isBlank()) {
+            return ResponseEntity.badRequest().body("Informe os ids e o novo status.");
+        }
+        int alteradas = taskService.alterarStatus(dto.ids(), dto.status());
+        return ResponseEntity.ok(Map.of("alteradas", alteradas));
     }
 
     // Atualizar
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> atualizar(@PathVariable Long id, @RequestBody TaskDTO dados) {
-        return repository.findById(id)
-                .map(task -> {
-                    task.setTitulo(dados.getTitulo());
-                    task.setDescricao(dados.getDescricao());
-                    task.setStatus(dados.getStatus());
-                    task.setPrioridade(dados.getPrioridade());
-                    if (dados.getClienteId() != null) {
-                        Optional<Cliente> cliente = clienteRepository.findById(dados.getClienteId());
-                        cliente.ifPresent(task::setCliente);
-                    } else {
-                        task.setCliente(null);
-                    }
-                    if (dados.getDataServico() != null && !dados.getDataServico().isEmpty()) {
-                        task.setDataServico(LocalDate.parse(dados.getDataServico(), DATE_FORMATTER));
-                    } else {
-                        task.setDataServico(null);
-                    }
-                    Task atualizado = repository.save(task);
-                    return ResponseEntity.ok(toDTO(atualizado));
-                })
+        return taskService.atualizar(id, dados)
+                .map(task -> ResponseEntity.ok(toDTO(task)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // Deletar
+    // Deletar (remoção lógica; a tarefa some das leituras)
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
-        return repository.findById(id)
-                .map(task -> {
-                    repository.delete(task);
-                    return ResponseEntity.noContent().<Void>build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        return taskService.deletar(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // Cursor opaco: o cliente só devolve o valor recebido, sem depender do formato interno
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("t:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!valor.startsWith("t:")) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        return Long.parseLong(valor.substring(2));
+    }
+
+    private static LocalDate parseData(String data) {
+        return data == null || data.isEmpty() ? null : LocalDate.parse(data, DATE_FORMATTER);
     }
 }
\ No newline at end of file
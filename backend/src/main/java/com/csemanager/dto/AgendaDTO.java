@@ -0,0 +1,15 @@
+package com.csemanager.dto;
+
+import java.util.List;
+
+// Só os dias com tarefas aparecem em "dias". "atrasadas" traz as pendentes com data anterior a hoje,
+// também por dia (limitadas; o total vem em totalAtrasadas)
+public record AgendaDTO (
+        String from,
+        String to,
+        List<AgendaDiaDTO> dias,
+        boolean truncado,
+        List<AgendaDiaDTO> atrasadas,
+        long totalAtrasadas
+) {
+}
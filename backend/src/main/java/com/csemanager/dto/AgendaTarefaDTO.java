@@ -0,0 +1,17 @@
+package com.csemanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+
+// Tarefa resumida para o calendário; a data não vai no JSON porque já é a chave do dia
+public record AgendaTarefaDTO (
+        @JsonIgnore LocalDate dataServico,
+        Long id,
+        String titulo,
+        String status,
+        Integer prioridade,
+        Long clienteId,
+        String clienteNome
+) {
+}
@@ -0,0 +1,11 @@
+package com.csemanager.dto;
+
+import java.util.List;
+
+// Página do histórico do cliente, da visita mais recente para a mais antiga (tarefas sem data no fim)
+public record ClienteHistoricoDTO (
+        ClienteResumoDTO resumo,
+        List<TaskDTO> itens,
+        String proximoCursor
+) {
+}
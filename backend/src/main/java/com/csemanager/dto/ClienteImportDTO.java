@@ -0,0 +1,15 @@
+package com.csemanager.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Resultado de POST /api/clientes/import: totais e erros por linha do arquivo (limitados)
+public record ClienteImportDTO(
+        long linhasLidas,
+        long importados,
+        long rejeitados,
+        List<ErroLinha> erros,
+        boolean errosTruncados
+) {
+    public record ErroLinha(long linha, Map<String, String> erros) {}
+}
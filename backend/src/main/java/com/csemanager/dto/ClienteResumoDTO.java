@@ -0,0 +1,12 @@
+package com.csemanager.dto;
+
+// Indicadores do cliente (tarefas ativas e arquivadas). proximaVisita é a pendente mais antiga, então
+// pode estar no passado (visita atrasada)
+public record ClienteResumoDTO (
+        long emAberto,
+        long emAndamento,
+        long finalizadas,
+        String ultimaVisita,
+        String proximaVisita
+) {
+}
@@ -0,0 +1,7 @@
+package com.csemanager.dto;
+
+import java.util.List;
+
+// Alterações desde o "since" informado; o cliente guarda o novo "since" para a próxima chamada
+public record DeltaDTO<T> (List<T> alterados, List<Long> removidos, String since) {
+}
@@ -0,0 +1,3 @@
+package com.csemanager.dto;
+
+public record OrcamentoArquivoDTO(Long id, String numero, String clienteNome, byte[] pdf) {}
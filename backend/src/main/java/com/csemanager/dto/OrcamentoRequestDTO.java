@@ -0,0 +1,13 @@
+package com.csemanager.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Corpo de POST /api/orcamentos: serviços vêm de tarefas (tarefaId) ou avulsos (descricao, ex.: "Outros")
+public record OrcamentoRequestDTO(
+        Long clienteId,
+        List<ItemDTO> servicos,
+        List<ItemDTO> equipamentos
+) {
+    public record ItemDTO(Long tarefaId, String descricao, BigDecimal valor) {}
+}
@@ -0,0 +1,154 @@
+package com.csemanager.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Representações compactas das listagens (ver ProjecaoListasAdvice): só os campos pedidos em ?fields=
+// e o formato colunar, em que cada campo vira um array, valores repetidos (status) viram índices num
+// dicionário e nome/endereço do cliente saem uma vez por cliente em vez de uma vez por tarefa
+public final class ProjecaoCampos<T> {
+
+    public static final ProjecaoCampos<TaskDTO> TAREFAS = new ProjecaoCampos<TaskDTO>(TaskDTO::getClienteId)
+            .valor("id", TaskDTO::getId)
+            .valor("titulo", TaskDTO::getTitulo)
+            .valor("descricao", TaskDTO::getDescricao)
+            .dicionario("status", TaskDTO::getStatus)
+            .valor("prioridade", TaskDTO::getPrioridade)
+            .valor("clienteId", TaskDTO::getClienteId)
+            .doCliente("clienteNome", TaskDTO::getClienteNome)
+            .doCliente("clienteEndereco", TaskDTO::getClienteEndereco)
+            .valor("dataServico", TaskDTO::getDataServico);
+
+    public static final ProjecaoCampos<ClienteDTO> CLIENTES = new ProjecaoCampos<ClienteDTO>(null)
+            .valor("id", ClienteDTO::getId)
+            .valor("nome", ClienteDTO::getNome)
+            .valor("telefone", ClienteDTO::getTelefone)
+            .valor("endereco", ClienteDTO::getEndereco)
+            .valor("email", ClienteDTO::getEmail)
+            .valor("notas", ClienteDTO::getNotas);
+
+    private enum Tipo { VALOR, DICIONARIO, CLIENTE }
+
+    private record Campo<T>(Function<T, Object> valor, Tipo tipo) {}
+
+    private final Map<String, Campo<T>> campos = new LinkedHashMap<>();
+    private final Function<T, Long> clienteId;
+
+    private ProjecaoCampos(Function<T, Long> clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    // Nomes separados por vírgula, na ordem da DTO; vazio ou null = todos
+    public Set<String> selecionar(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Collections.unmodifiableSet(campos.keySet());
+        }
+        Set<String> pedidos = new LinkedHashSet<>();
+        Arrays.stream(fields.split(",")).map(String::trim).filter(f -> !f.isEmpty()).forEach(pedidos::add);
+        for (String nome : pedidos) {
+            if (!campos.containsKey(nome)) {
+                throw new IllegalArgumentException("Campo desconhecido: " + nome);
+            }
+        }
+        Set<String> selecionados = new LinkedHashSet<>(campos.keySet());
+        selecionados.retainAll(pedidos);
+        return selecionados;
+    }
+
+    // Mesmo formato de sempre (um objeto por item), só com os campos selecionados
+    public List<Map<String, Object>> linhas(List<T> itens, Set<String> selecionados) {
+        List<Map<String, Object>> linhas = new ArrayList<>(itens.size());
+        for (T item : itens) {
+            Map<String, Object> linha = new LinkedHashMap<>();
+            for (String nome : selecionados) {
+                linha.put(nome, campos.get(nome).valor().apply(item));
+            }
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+
+    // {"total": n, "colunas": {campo: [...]}, "dicionarios": {campo: [...]}, "clientes": {id: {...}}}
+    public Map<String, Object> colunas(List<T> itens, Set<String> selecionados) {
+        Map<String, List<Object>> colunas = new LinkedHashMap<>();
+        Map<String, Map<Object, Integer>> dicionarios = new LinkedHashMap<>();
+        Map<Long, Map<String, Object>> clientes = new LinkedHashMap<>();
+        boolean comCliente = selecionados.stream().anyMatch(nome -> campos.get(nome).tipo() == Tipo.CLIENTE);
+        for (String nome : selecionados) {
+            Tipo tipo = campos.get(nome).tipo();
+            if (tipo != Tipo.CLIENTE) {
+                colunas.put(nome, new ArrayList<>(itens.size()));
+            }
+            if (tipo == Tipo.DICIONARIO) {
+                dicionarios.put(nome, new HashMap<>());
+            }
+        }
+        // Os dados do cliente só fazem sentido com a coluna que aponta para ele
+        if (comCliente) {
+            colunas.putIfAbsent("clienteId", new ArrayList<>(itens.size()));
+        }
+
+        for (T item : itens) {
+            for (Map.Entry<String, List<Object>> coluna : colunas.entrySet()) {
+                Campo<T> campo = campos.get(coluna.getKey());
+                Object valor = campo.valor().apply(item);
+                if (campo.tipo() == Tipo.DICIONARIO && valor != null) {
+                    Map<Object, Integer> dicionario = dicionarios.get(coluna.getKey());
+                    valor = dicionario.computeIfAbsent(valor, v -> dicionario.size());
+                }
+                coluna.getValue().add(valor);
+            }
+            Long id = comCliente ? clienteId.apply(item) : null;
+            if (id != null && !clientes.containsKey(id)) {
+                Map<String, Object> cliente = new LinkedHashMap<>();
+                for (String nome : selecionados) {
+                    Campo<T> campo = campos.get(nome);
+                    if (campo.tipo() == Tipo.CLIENTE) {
+                        cliente.put(nome, campo.valor().apply(item));
+                    }
+                }
+                clientes.put(id, cliente);
+            }
+        }
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("total", itens.size());
+        resposta.put("colunas", colunas);
+        if (!dicionarios.isEmpty()) {
+            Map<String, List<Object>> valores = new LinkedHashMap<>();
+            dicionarios.forEach((nome, indices) -> {
+                Object[] porIndice = new Object[indices.size()];
+                indices.forEach((valor, indice) -> porIndice[indice] = valor);
+                valores.put(nome, Arrays.asList(porIndice));
+            });
+            resposta.put("dicionarios", valores);
+        }
+        if (comCliente) {
+            resposta.put("clientes", clientes);
+        }
+        return resposta;
+    }
+
+    private ProjecaoCampos<T> valor(String nome, Function<T, Object> valor) {
+        campos.put(nome, new Campo<>(valor, Tipo.VALOR));
+        return this;
+    }
+
+    private ProjecaoCampos<T> dicionario(String nome, Function<T, Object> valor) {
+        campos.put(nome, new Campo<>(valor, Tipo.DICIONARIO));
+        return this;
+    }
+
+    private ProjecaoCampos<T> doCliente(String nome, Function<T, Object> valor) {
+        campos.put(nome, new Campo<>(valor, Tipo.CLIENTE));
+        return this;
+    }
+}
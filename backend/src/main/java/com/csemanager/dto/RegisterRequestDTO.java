@@ -1,4 +1,4 @@
 package com.csemanager.dto;
 
-public record RegisterRequestDTO (String name, String email, String password, String secretKey) {
+public record RegisterRequestDTO (String name, String email, String password, String secretKey, String empresa) {
 }
@@ -0,0 +1,9 @@
+package com.csemanager.dto;
+
+public record RelatorioClienteDTO (
+        Long clienteId,
+        String clienteNome,
+        long total,
+        long finalizadas
+) {
+}
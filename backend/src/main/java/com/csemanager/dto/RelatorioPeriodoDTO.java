@@ -0,0 +1,19 @@
+package com.csemanager.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Um mês ("2025-03") ou trimestre ("2025-T1") pela data de serviço. prazoMedioHoras: média da criação até
+// FINALIZADO entre as finalizadas com esse tempo conhecido (finalizadasComPrazo); null se nenhuma
+public record RelatorioPeriodoDTO (
+        String periodo,
+        String inicio,
+        String fim,
+        long total,
+        Map<String, Long> porStatus,
+        Map<Integer, Long> porPrioridade,
+        List<RelatorioClienteDTO> porCliente,
+        long finalizadasComPrazo,
+        Double prazoMedioHoras
+) {
+}
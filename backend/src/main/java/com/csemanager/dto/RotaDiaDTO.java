@@ -0,0 +1,16 @@
+package com.csemanager.dto;
+
+import java.util.List;
+
+// Rota de um dia. distanciaPrioridadeKm é o percurso na ordem de prioridade (a ordem da agenda), para
+// comparar com o otimizado; "semLocalizacao" são as tarefas sem cliente ou com endereço não geocodificado.
+// interrompido = o tempo de cálculo acabou antes do 2-opt convergir (ordem boa, talvez não a melhor)
+public record RotaDiaDTO (
+        String data,
+        List<RotaParadaDTO> paradas,
+        List<AgendaTarefaDTO> semLocalizacao,
+        double distanciaKm,
+        double distanciaPrioridadeKm,
+        boolean interrompido
+) {
+}
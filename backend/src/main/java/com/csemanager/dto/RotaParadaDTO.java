@@ -0,0 +1,18 @@
+package com.csemanager.dto;
+
+// Parada da rota na ordem de visita; distanciaKm é a distância em linha reta desde a parada anterior
+// (ou desde a origem, na primeira)
+public record RotaParadaDTO (
+        int ordem,
+        Long tarefaId,
+        String titulo,
+        String status,
+        Integer prioridade,
+        Long clienteId,
+        String clienteNome,
+        String endereco,
+        double latitude,
+        double longitude,
+        double distanciaKm
+) {
+}
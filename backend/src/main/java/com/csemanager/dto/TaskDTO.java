@@ -1,6 +1,11 @@
 package com.csemanager.dto;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
 public class TaskDTO {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private Long id;
     private String titulo;
     private String descricao;
@@ -26,6 +31,13 @@ public class TaskDTO {
         this.dataServico = dataServico;
     }
 
+    // Usado pelas consultas JPQL "SELECT new TaskDTO(...)", que entregam a data como LocalDate
+    public TaskDTO(Long id, String titulo, String descricao, String status, Integer prioridade,
+                   Long clienteId, String clienteNome, String clienteEndereco, LocalDate dataServico) {
+        this(id, titulo, descricao, status, prioridade, clienteId, clienteNome, clienteEndereco,
+                dataServico != null ? dataServico.format(DATE_FORMATTER) : null);
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
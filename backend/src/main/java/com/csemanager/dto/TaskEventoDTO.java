@@ -0,0 +1,7 @@
+package com.csemanager.dto;
+
+import com.csemanager.event.TaskAlteradaEvent;
+
+// Evento enviado pelo /api/tarefas/stream; "tarefa" vem nulo quando o tipo é REMOVIDA
+public record TaskEventoDTO (TaskAlteradaEvent.Tipo tipo, Long id, TaskDTO tarefa) {
+}
@@ -0,0 +1,6 @@
+package com.csemanager.dto;
+
+import java.util.List;
+
+public record TaskPageDTO (List<TaskDTO> itens, String proximoCursor) {
+}
@@ -0,0 +1,15 @@
+package com.csemanager.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record TaskStatsDTO (
+        long pendentesHoje,
+        long emAndamento,
+        long finalizadasSemana,
+        long atrasadas,
+        Map<String, Long> porStatus,
+        Map<Integer, Long> porPrioridade,
+        List<TaskDTO> proximas
+) {
+}
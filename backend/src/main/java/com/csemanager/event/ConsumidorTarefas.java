@@ -0,0 +1,13 @@
+package com.csemanager.event;
+
+// Efeito colateral das escritas em tarefas (tempo real, indicadores, notificações...), entregue pela outbox
+// (OutboxService) numa thread própria, fora da requisição. Cada evento chega pelo menos uma vez (uma falha
+// reentrega o evento a todos os consumidores), na ordem das alterações de cada tarefa e com a empresa do
+// evento em EmpresaAtual. Basta ser um bean para ser registrado; @Order define a ordem entre consumidores
+public interface ConsumidorTarefas {
+
+    // Identifica o consumidor nos logs
+    String nome();
+
+    void consumir(TaskAlteradaEvent evento);
+}
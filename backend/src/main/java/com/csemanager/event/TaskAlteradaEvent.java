@@ -0,0 +1,15 @@
+package com.csemanager.event;
+
+import com.csemanager.security.EmpresaAtual;
+
+// Publicado sempre que uma tarefa é criada, alterada ou removida, dentro da transação da escrita.
+// A OutboxService grava cada um na outbox; os efeitos colaterais vêm depois, pelos ConsumidorTarefas
+public record TaskAlteradaEvent (Tipo tipo, Long taskId, String status, String empresa) {
+
+    // Empresa de quem publicou (a da requisição)
+    public TaskAlteradaEvent(Tipo tipo, Long taskId, String status) {
+        this(tipo, taskId, status, EmpresaAtual.obter());
+    }
+
+    public enum Tipo { CRIADA, ATUALIZADA, REMOVIDA }
+}
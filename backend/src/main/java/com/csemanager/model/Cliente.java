@@ -1,15 +1,40 @@
 package com.csemanager.model;
 
+import com.csemanager.security.EmpresaAtual;
+import com.csemanager.service.ClienteSearchListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "clientes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clientes")
+@Table(name = "clientes", indexes = {
+        // Listagem/exportação por id dentro da empresa
+        @Index(name = "idx_clientes_empresa_id", columnList = "empresa, id"),
+        // MAX(atualizado_em) dá a versão da coleção (ETag) e filtra o delta (?since=)
+        @Index(name = "idx_clientes_empresa_atualizado_em", columnList = "empresa, atualizado_em")
+})
+@EntityListeners(ClienteSearchListener.class)
 public class Cliente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids em blocos (TABLE) em vez de IDENTITY para o Hibernate conseguir agrupar os INSERTs da importação
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "clientes_id")
+    @TableGenerator(name = "clientes_id", table = "id_sequencias", pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "clientes", allocationSize = 50)
     private Long id;
 
+    // Empresa (filial) dona da linha: atribuída e filtrada pelo Hibernate (ver EmpresaAtual)
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
     @Column(nullable = false)
     private String nome;
 
@@ -24,6 +49,26 @@ public class Cliente {
     @Column(length = 1000)
     private String notas;
 
+    // Coordenadas do endereço para a rota do dia, guardadas pelo RotaService. geoEndereco é o endereço que
+    // foi geocodificado: se o endereço mudar, são recalculadas (latitude nula = endereço não encontrado)
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(name = "geo_endereco")
+    private String geoEndereco;
+
+    @Version
+    private Long versao;
+
+    @CreationTimestamp
+    @Column(name = "criado_em", updatable = false)
+    private Instant criadoEm;
+
+    @UpdateTimestamp
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
     public Long getId() {
         return id;
     }
@@ -32,6 +77,10 @@ public class Cliente {
         this.id = id;
     }
 
+    public String getEmpresa() {
+        return empresa;
+    }
+
     public String getNome() {
         return nome;
     }
@@ -71,4 +120,28 @@ public class Cliente {
     public void setNotas(String notas) {
         this.notas = notas;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getGeoEndereco() {
+        return geoEndereco;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
 }
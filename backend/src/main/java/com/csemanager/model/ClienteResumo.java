@@ -0,0 +1,110 @@
+package com.csemanager.model;
+
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Indicadores de um cliente (contagem por status, última e próxima visita), mantidos pelas escritas em
+// tarefas (ClienteHistoricoService) em vez de calculados a cada abertura da página do cliente.
+// Contam as tarefas ativas e as arquivadas; tarefas removidas saem da conta
+@Entity
+@Table(name = "cliente_resumo")
+public class ClienteResumo {
+
+    @Id
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
+    @Column(name = "em_aberto", nullable = false)
+    private long emAberto;
+
+    @Column(name = "em_andamento", nullable = false)
+    private long emAndamento;
+
+    @Column(nullable = false)
+    private long finalizadas;
+
+    // Maior data de serviço entre as finalizadas
+    @Column(name = "ultima_visita")
+    private LocalDate ultimaVisita;
+
+    // Menor data de serviço entre as pendentes (pode ser passada: visita atrasada)
+    @Column(name = "proxima_visita")
+    private LocalDate proximaVisita;
+
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
+    protected ClienteResumo() {
+    }
+
+    public ClienteResumo(Long clienteId, String empresa) {
+        this.clienteId = clienteId;
+        this.empresa = empresa;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public String getEmpresa() {
+        return empresa;
+    }
+
+    public long getEmAberto() {
+        return emAberto;
+    }
+
+    public long getEmAndamento() {
+        return emAndamento;
+    }
+
+    public long getFinalizadas() {
+        return finalizadas;
+    }
+
+    public LocalDate getUltimaVisita() {
+        return ultimaVisita;
+    }
+
+    public LocalDate getProximaVisita() {
+        return proximaVisita;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void contar(String status, int delta) {
+        if (status == null) {
+            return;
+        }
+        switch (status) {
+            case "EM_ABERTO" -> emAberto += delta;
+            case "EM_ANDAMENTO" -> emAndamento += delta;
+            case "FINALIZADO" -> finalizadas += delta;
+            default -> {
+                // outro status não entra nos indicadores
+            }
+        }
+    }
+
+    public void setUltimaVisita(LocalDate ultimaVisita) {
+        this.ultimaVisita = ultimaVisita;
+    }
+
+    public void setProximaVisita(LocalDate proximaVisita) {
+        this.proximaVisita = proximaVisita;
+    }
+
+    public void setAtualizadoEm(Instant atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+}
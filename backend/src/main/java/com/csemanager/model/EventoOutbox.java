@@ -0,0 +1,123 @@
+package com.csemanager.model;
+
+import com.csemanager.event.TaskAlteradaEvent;
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+
+// Outbox das alterações de tarefas: uma linha por TaskAlteradaEvent, gravada na mesma transação da escrita
+// (commit junto, rollback junto). O OutboxService entrega as pendentes aos consumidores em ordem de id
+@Entity
+@Table(name = "outbox_tarefas", indexes = {
+        // Próximo lote: pendentes em ordem de id
+        @Index(name = "idx_outbox_situacao_id", columnList = "situacao, id"),
+        // Evento anterior da mesma tarefa ainda esperando nova tentativa segura os seguintes
+        @Index(name = "idx_outbox_tarefa_id", columnList = "task_id, id")
+})
+public class EventoOutbox {
+
+    public static final String PENDENTE = "PENDENTE";
+    public static final String PROCESSADO = "PROCESSADO";
+    public static final String FALHOU = "FALHOU";
+
+    // Ids em blocos, como nas tarefas: os eventos de um lote de tarefas também saem num INSERT em lote.
+    // Numa instância os blocos são crescentes, então o id segue a ordem das alterações de cada tarefa
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "outbox_tarefas_id")
+    @TableGenerator(name = "outbox_tarefas_id", table = "id_sequencias", pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "outbox_tarefas", allocationSize = 50)
+    private Long id;
+
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TaskAlteradaEvent.Tipo tipo;
+
+    @Column(length = 20)
+    private String status; // status da tarefa depois da alteração
+
+    @Column(nullable = false, length = 20)
+    private String situacao = PENDENTE;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa")
+    private Instant proximaTentativa;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "processado_em")
+    private Instant processadoEm;
+
+    @Column(length = 500)
+    private String erro;
+
+    protected EventoOutbox() {
+    }
+
+    public EventoOutbox(TaskAlteradaEvent evento, Instant criadoEm) {
+        this.taskId = evento.taskId();
+        this.tipo = evento.tipo();
+        this.status = evento.status();
+        this.criadoEm = criadoEm;
+    }
+
+    // Como foi publicado, para os consumidores
+    public TaskAlteradaEvent evento() {
+        return new TaskAlteradaEvent(tipo, taskId, status, empresa);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmpresa() {
+        return empresa;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public TaskAlteradaEvent.Tipo getTipo() {
+        return tipo;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getSituacao() {
+        return situacao;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public Instant getProximaTentativa() {
+        return proximaTentativa;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public Instant getProcessadoEm() {
+        return processadoEm;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+}
@@ -0,0 +1,64 @@
+package com.csemanager.model;
+
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+
+// Registro de remoção (tombstone): o delta (?since=) informa quais ids sumiram desde a última leitura.
+// Registros mais antigos que a retenção são apagados periodicamente
+@Entity
+@Table(name = "exclusoes", indexes = {
+        @Index(name = "idx_exclusoes_empresa_entidade_data", columnList = "empresa, entidade, excluido_em"),
+        // Expurgo por data, de todas as empresas
+        @Index(name = "idx_exclusoes_data", columnList = "excluido_em")
+})
+public class Exclusao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
+    @Column(nullable = false, length = 20)
+    private String entidade; // "tarefas", "clientes"
+
+    @Column(name = "entidade_id", nullable = false)
+    private Long entidadeId;
+
+    @Column(name = "excluido_em", nullable = false)
+    private Instant excluidoEm;
+
+    protected Exclusao() {
+    }
+
+    public Exclusao(String entidade, Long entidadeId, Instant excluidoEm) {
+        this.entidade = entidade;
+        this.entidadeId = entidadeId;
+        this.excluidoEm = excluidoEm;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmpresa() {
+        return empresa;
+    }
+
+    public String getEntidade() {
+        return entidade;
+    }
+
+    public Long getEntidadeId() {
+        return entidadeId;
+    }
+
+    public Instant getExcluidoEm() {
+        return excluidoEm;
+    }
+}
@@ -0,0 +1,148 @@
+package com.csemanager.model;
+
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "orcamentos", indexes = {
+        @Index(name = "idx_orcamentos_cliente_id", columnList = "cliente_id, id")
+})
+public class Orcamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Empresa (filial) dona da linha: atribuída e filtrada pelo Hibernate (ver EmpresaAtual)
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
+    @Column(length = 20)
+    private String numero;
+
+    // Sem chave estrangeira, como em tarefas_arquivo: o orçamento emitido continua existindo depois que o
+    // cliente é removido, com o nome e o telefone da data de emissão
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    @Column(name = "cliente_nome", nullable = false)
+    private String clienteNome;
+
+    @Column(name = "cliente_telefone")
+    private String clienteTelefone;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @ElementCollection
+    @CollectionTable(name = "orcamento_itens", joinColumns = @JoinColumn(name = "orcamento_id"))
+    @OrderColumn(name = "posicao")
+    private List<OrcamentoItem> itens = new ArrayList<>();
+
+    @Column(name = "total_servicos", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalServicos;
+
+    @Column(name = "total_equipamentos", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalEquipamentos;
+
+    @Column(name = "total_geral", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalGeral;
+
+    // PDF já renderizado: um novo download devolve estes bytes sem gerar o documento de novo
+    @Lob
+    @Column(length = 16_777_215)
+    private byte[] pdf;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmpresa() {
+        return empresa;
+    }
+
+    public String getNumero() {
+        return numero;
+    }
+
+    public void setNumero(String numero) {
+        this.numero = numero;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public String getClienteNome() {
+        return clienteNome;
+    }
+
+    public String getClienteTelefone() {
+        return clienteTelefone;
+    }
+
+    public void setCliente(Cliente cliente) {
+        this.clienteId = cliente.getId();
+        this.clienteNome = cliente.getNome();
+        this.clienteTelefone = cliente.getTelefone();
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    public List<OrcamentoItem> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<OrcamentoItem> itens) {
+        this.itens = itens;
+    }
+
+    public BigDecimal getTotalServicos() {
+        return totalServicos;
+    }
+
+    public void setTotalServicos(BigDecimal totalServicos) {
+        this.totalServicos = totalServicos;
+    }
+
+    public BigDecimal getTotalEquipamentos() {
+        return totalEquipamentos;
+    }
+
+    public void setTotalEquipamentos(BigDecimal totalEquipamentos) {
+        this.totalEquipamentos = totalEquipamentos;
+    }
+
+    public BigDecimal getTotalGeral() {
+        return totalGeral;
+    }
+
+    public void setTotalGeral(BigDecimal totalGeral) {
+        this.totalGeral = totalGeral;
+    }
+
+    public byte[] getPdf() {
+        return pdf;
+    }
+
+    public void setPdf(byte[] pdf) {
+        this.pdf = pdf;
+    }
+}
@@ -0,0 +1,62 @@
+package com.csemanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+
+@Embeddable
+public class OrcamentoItem {
+
+    @Column(nullable = false)
+    private String tipo; // "SERVICO", "EQUIPAMENTO"
+
+    @Column(name = "tarefa_id")
+    private Long tarefaId;
+
+    private String descricao;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal valor;
+
+    public OrcamentoItem() {}
+
+    public OrcamentoItem(String tipo, Long tarefaId, String descricao, BigDecimal valor) {
+        this.tipo = tipo;
+        this.tarefaId = tarefaId;
+        this.descricao = descricao;
+        this.valor = valor;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getTarefaId() {
+        return tarefaId;
+    }
+
+    public void setTarefaId(Long tarefaId) {
+        this.tarefaId = tarefaId;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+}
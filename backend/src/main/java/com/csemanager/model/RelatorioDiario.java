@@ -0,0 +1,97 @@
+package com.csemanager.model;
+
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+
+// Totais de um dia por status, prioridade e cliente (GET /api/relatorios soma estas linhas por mês ou
+// trimestre, sem ler tarefas). Mantido pelo RelatorioService a cada alteração e reconstruído de madrugada
+@Entity
+@Table(name = "relatorio_diario", indexes = {
+        @Index(name = "uk_relatorio_diario_chave", columnList = "empresa, dia, status, prioridade, cliente_id",
+                unique = true)
+})
+public class RelatorioDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(nullable = false)
+    private String status;
+
+    private Integer prioridade;
+
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    // Finalizadas com lead time conhecido e a soma dele (média = soma / quantidade)
+    @Column(name = "prazo_quantidade", nullable = false)
+    private long prazoQuantidade;
+
+    @Column(name = "prazo_segundos", nullable = false)
+    private long prazoSegundos;
+
+    protected RelatorioDiario() {
+    }
+
+    public RelatorioDiario(LocalDate dia, String status, Integer prioridade, Long clienteId) {
+        this.dia = dia;
+        this.status = status;
+        this.prioridade = prioridade;
+        this.clienteId = clienteId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getPrioridade() {
+        return prioridade;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public long getPrazoQuantidade() {
+        return prazoQuantidade;
+    }
+
+    public long getPrazoSegundos() {
+        return prazoSegundos;
+    }
+
+    // sinal = 1 (tarefa entra) ou -1 (sai)
+    public void somar(int sinal, Long prazo) {
+        quantidade += sinal;
+        if (prazo != null) {
+            prazoQuantidade += sinal;
+            prazoSegundos += sinal * prazo;
+        }
+    }
+}
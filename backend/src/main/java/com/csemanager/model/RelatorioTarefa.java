@@ -0,0 +1,82 @@
+package com.csemanager.model;
+
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+
+// O que cada tarefa (ativa ou arquivada) soma hoje em relatorio_diario. É a "situação anterior" do
+// RelatorioService: comparada com a tarefa atual, dá a diferença a aplicar, e repetir um evento não
+// conta a tarefa duas vezes
+@Entity
+@Table(name = "relatorio_tarefas")
+public class RelatorioTarefa {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
+    // Data de serviço; sem data a tarefa não entra nos totais diários
+    private LocalDate dia;
+
+    @Column(nullable = false)
+    private String status;
+
+    private Integer prioridade;
+
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    // Da criação até FINALIZADO; null nas pendentes e nas finalizadas antes de existir finalizado_em
+    @Column(name = "prazo_segundos")
+    private Long prazoSegundos;
+
+    protected RelatorioTarefa() {
+    }
+
+    public RelatorioTarefa(Long taskId, String empresa) {
+        this.taskId = taskId;
+        this.empresa = empresa;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getEmpresa() {
+        return empresa;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getPrioridade() {
+        return prioridade;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public Long getPrazoSegundos() {
+        return prazoSegundos;
+    }
+
+    public void definir(LocalDate dia, String status, Integer prioridade, Long clienteId, Long prazoSegundos) {
+        this.dia = dia;
+        this.status = status;
+        this.prioridade = prioridade;
+        this.clienteId = clienteId;
+        this.prazoSegundos = prazoSegundos;
+    }
+}
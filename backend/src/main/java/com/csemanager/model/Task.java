@@ -1,16 +1,57 @@
 package com.csemanager.model;
 
+import com.csemanager.security.EmpresaAtual;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.TenantId;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.time.LocalDate;
 
+// Remoção lógica: o DELETE vira carimbo em excluido_em e toda leitura da entidade (find, JPQL, contagens)
+// ignora as linhas carimbadas. Parâmetros na ordem do Hibernate: id e versão
 @Entity
-@Table(name = "tarefas")
+@SQLDelete(sql = "UPDATE tarefas SET excluido_em = CURRENT_TIMESTAMP WHERE id = ? AND versao = ?")
+@SQLRestriction("excluido_em IS NULL")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tarefas")
+@Table(name = "tarefas", indexes = {
+        // Toda consulta leva "empresa = ?" (@TenantId): os índices começam pela empresa, então cada filial
+        // percorre só o próprio trecho. Listagem paginada: filtro + ordenação por id
+        @Index(name = "idx_tarefas_empresa_id", columnList = "empresa, id"),
+        @Index(name = "idx_tarefas_empresa_status_id", columnList = "empresa, status, id"),
+        @Index(name = "idx_tarefas_empresa_prioridade_id", columnList = "empresa, prioridade, id"),
+        @Index(name = "idx_tarefas_empresa_data_id", columnList = "empresa, data_servico, id"),
+        // O id do cliente já é de uma empresa só; este índice também serve à chave estrangeira
+        @Index(name = "idx_tarefas_cliente_id", columnList = "cliente_id, id"),
+        // Histórico do cliente por data de serviço (GET /api/clientes/{id}/historico)
+        @Index(name = "idx_tarefas_cliente_data_id", columnList = "cliente_id, data_servico, id"),
+        // Agenda: faixa de datas com o status no próprio índice; e atrasadas (status pendente + data < hoje)
+        // sem percorrer o histórico de finalizadas
+        @Index(name = "idx_tarefas_empresa_data_status", columnList = "empresa, data_servico, status"),
+        @Index(name = "idx_tarefas_empresa_status_data", columnList = "empresa, status, data_servico"),
+        // MAX(atualizado_em) dá a versão da coleção (ETag) e filtra o delta (?since=)
+        @Index(name = "idx_tarefas_empresa_atualizado_em", columnList = "empresa, atualizado_em")
+})
 public class Task {
 
+    // Ids reservados em blocos numa tabela (IDENTITY impede o Hibernate de agrupar INSERTs em lote)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tarefas_id")
+    @TableGenerator(name = "tarefas_id", table = "id_sequencias", pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "tarefas", allocationSize = 50)
     private Long id;
 
+    // Empresa (filial) dona da linha: atribuída e filtrada pelo Hibernate (ver EmpresaAtual)
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
     @Column(nullable = false)
     private String titulo;
 
@@ -21,17 +62,38 @@ public class Task {
 
     private Integer prioridade;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
     private Cliente cliente;
 
     @Column(name = "data_servico")
     private LocalDate dataServico;
 
+    // Trava otimista: incrementada a cada UPDATE (inclusive na mudança de status em massa)
+    @Version
+    private Long versao;
+
+    @CreationTimestamp
+    @Column(name = "criado_em", updatable = false)
+    private Instant criadoEm;
+
+    @UpdateTimestamp
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
+    // Quando passou a FINALIZADO (lead time dos relatórios); volta a null se a tarefa for reaberta
+    @Column(name = "finalizado_em")
+    private Instant finalizadoEm;
+
+    @Column(name = "excluido_em", insertable = false, updatable = false)
+    private Instant excluidoEm;
+
     // Getters e setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
+    public String getEmpresa() { return empresa; }
+
     public String getTitulo() { return titulo; }
     public void setTitulo(String titulo) { this.titulo = titulo; }
 
@@ -49,4 +111,15 @@ public class Task {
 
     public LocalDate getDataServico() { return dataServico; }
     public void setDataServico(LocalDate dataServico) { this.dataServico = dataServico; }
-}
\ No newline at end of file
+
+    public Long getVersao() { return versao; }
+
+    public Instant getCriadoEm() { return criadoEm; }
+
+    public Instant getAtualizadoEm() { return atualizadoEm; }
+
+    public Instant getFinalizadoEm() { return finalizadoEm; }
+    public void setFinalizadoEm(Instant finalizadoEm) { this.finalizadoEm = finalizadoEm; }
+
+    public Instant getExcluidoEm() { return excluidoEm; }
+}
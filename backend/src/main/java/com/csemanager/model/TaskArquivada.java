@@ -0,0 +1,116 @@
+package com.csemanager.model;
+
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Tarefas finalizadas antigas, movidas de "tarefas" pelo arquivamento (ArquivamentoService) para a tabela
+// quente não crescer para sempre. Só leitura: as linhas chegam por INSERT ... SELECT e mantêm o id original.
+// cliente_id sem chave estrangeira, para o histórico sobreviver à remoção do cliente
+@Entity
+@Immutable
+@Table(name = "tarefas_arquivo", indexes = {
+        @Index(name = "idx_tarefas_arquivo_cliente_data", columnList = "cliente_id, data_servico, id"),
+        @Index(name = "idx_tarefas_arquivo_empresa_data", columnList = "empresa, data_servico")
+})
+public class TaskArquivada {
+
+    @Id
+    private Long id;
+
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
+    @Column(nullable = false)
+    private String titulo;
+
+    private String descricao;
+
+    @Column(nullable = false)
+    private String status;
+
+    private Integer prioridade;
+
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    @Column(name = "data_servico")
+    private LocalDate dataServico;
+
+    private Long versao;
+
+    @Column(name = "criado_em")
+    private Instant criadoEm;
+
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
+    @Column(name = "finalizado_em")
+    private Instant finalizadoEm;
+
+    @Column(name = "excluido_em")
+    private Instant excluidoEm;
+
+    @Column(name = "arquivado_em", nullable = false)
+    private Instant arquivadoEm;
+
+    protected TaskArquivada() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmpresa() {
+        return empresa;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getPrioridade() {
+        return prioridade;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public LocalDate getDataServico() {
+        return dataServico;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public Instant getFinalizadoEm() {
+        return finalizadoEm;
+    }
+
+    public Instant getExcluidoEm() {
+        return excluidoEm;
+    }
+
+    public Instant getArquivadoEm() {
+        return arquivadoEm;
+    }
+}
@@ -1,9 +1,20 @@
 package com.csemanager.model;
 
+import com.csemanager.security.EmpresaAtual;
+import com.csemanager.security.UserCacheListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios")
+@Table(name = "users", indexes = {
+        // Login e SecurityFilter procuram pelo e-mail, sem empresa (ela vem do próprio usuário)
+        @Index(name = "idx_users_email", columnList = "email")
+})
+@EntityListeners(UserCacheListener.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -12,6 +23,12 @@ public class User {
     private String email;
     private String password;
 
+    // Empresa (filial) do usuário: vai no JWT e define o que ele enxerga. Na criação (/auth/register,
+    // sessão raiz) é atribuída explicitamente; nas demais sessões o Hibernate filtra por ela
+    @TenantId
+    @Column(nullable = false, length = EmpresaAtual.TAMANHO_MAXIMO)
+    private String empresa;
+
     public User() {}
 
     public User(String id, String name, String email, String password) {
@@ -45,6 +62,14 @@ public class User {
         this.email = email;
     }
 
+    public String getEmpresa() {
+        return empresa;
+    }
+
+    public void setEmpresa(String empresa) {
+        this.empresa = empresa;
+    }
+
     public String getPassword() {
         return password;
     }
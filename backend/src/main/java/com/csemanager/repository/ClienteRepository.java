@@ -1,7 +1,43 @@
 package com.csemanager.repository;
 
+import com.csemanager.dto.ClienteDTO;
 import com.csemanager.model.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, ClienteRepositoryCustom {
+    List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Leitura em fluxo para exportação: o driver busca 500 linhas por vez e nada fica no contexto de persistência
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.csemanager.dto.ClienteDTO(c.id, c.nome, c.telefone, c.endereco, c.email, c.notas)
+            FROM Cliente c
+            ORDER BY c.id
+            """)
+    Stream<ClienteDTO> streamTodos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT MAX(c.atualizadoEm) FROM Cliente c")
+    Instant ultimaAlteracao();
+
+    @Query("""
+            SELECT new com.csemanager.dto.ClienteDTO(c.id, c.nome, c.telefone, c.endereco, c.email, c.notas)
+            FROM Cliente c
+            WHERE c.atualizadoEm > :desde
+            ORDER BY c.id
+            """)
+    List<ClienteDTO> buscarAlteradosDesde(@Param("desde") Instant desde);
 }
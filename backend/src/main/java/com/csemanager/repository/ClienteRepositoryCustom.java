@@ -0,0 +1,9 @@
+package com.csemanager.repository;
+
+import com.csemanager.model.Cliente;
+
+// Escritas fora do fluxo normal da entidade (ver ClienteRepositoryCustomImpl)
+public interface ClienteRepositoryCustom {
+
+    void gravarCoordenadas(Cliente cliente, Double latitude, Double longitude, String endereco);
+}
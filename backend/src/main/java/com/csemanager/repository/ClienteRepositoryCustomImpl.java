@@ -0,0 +1,66 @@
+package com.csemanager.repository;
+
+import com.csemanager.model.Cliente;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+
+public class ClienteRepositoryCustomImpl implements ClienteRepositoryCustom {
+
+    private static final String GRAVAR_COORDENADAS =
+            "UPDATE clientes SET latitude = ?, longitude = ?, geo_endereco = ? WHERE id = ? AND empresa = ?";
+
+    private final EntityManager entityManager;
+
+    public ClienteRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Cache de geocodificação: não é alteração do cliente, então não muda versão nem atualizadoEm (delta/ETag).
+    // Direto na conexão da sessão: um UPDATE em HQL (ou nativo) esvaziaria a região inteira de clientes no
+    // cache de segundo nível e as consultas em cache. Aqui só a entrada deste cliente sai do cache, depois
+    // do commit. A chave leva a empresa da sessão: Cache.evictEntityData monta a chave sem empresa e não a acha
+    @Override
+    public void gravarCoordenadas(Cliente cliente, Double latitude, Double longitude, String endereco) {
+        SessionImplementor sessao = entityManager.unwrap(SessionImplementor.class);
+        sessao.doWork(conexao -> {
+            try (PreparedStatement update = conexao.prepareStatement(GRAVAR_COORDENADAS)) {
+                update.setObject(1, latitude, Types.DOUBLE);
+                update.setObject(2, longitude, Types.DOUBLE);
+                update.setString(3, endereco);
+                update.setLong(4, cliente.getId());
+                update.setString(5, cliente.getEmpresa());
+                update.executeUpdate();
+            }
+        });
+
+        SessionFactoryImplementor fabrica = sessao.getFactory();
+        EntityPersister persister = fabrica.getMappingMetamodel().getEntityDescriptor(Cliente.class);
+        EntityDataAccess cache = persister.getCacheAccessStrategy();
+        if (cache == null) {
+            return;
+        }
+        Object chave = cache.generateCacheKey(cliente.getId(), persister, fabrica, sessao.getTenantIdentifier());
+        aposCommit(() -> cache.evict(chave));
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
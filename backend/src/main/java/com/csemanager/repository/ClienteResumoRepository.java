@@ -0,0 +1,41 @@
+package com.csemanager.repository;
+
+import com.csemanager.model.ClienteResumo;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface ClienteResumoRepository extends JpaRepository<ClienteResumo, Long> {
+
+    // SELECT ... FOR UPDATE: escritas concorrentes em tarefas do mesmo cliente aplicam as diferenças uma de cada vez
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ClienteResumo r WHERE r.clienteId = :clienteId")
+    Optional<ClienteResumo> travar(@Param("clienteId") Long clienteId);
+
+    // Recalculadas só quando sai a tarefa que definia a data guardada; percorrem o índice (cliente_id, data_servico)
+    @Query("""
+            SELECT MAX(h.data) FROM (
+                (SELECT MAX(t.dataServico) data FROM Task t WHERE t.cliente.id = :clienteId AND t.status = 'FINALIZADO')
+                UNION ALL
+                (SELECT MAX(a.dataServico) FROM TaskArquivada a
+                 WHERE a.clienteId = :clienteId AND a.status = 'FINALIZADO' AND a.excluidoEm IS NULL)
+            ) h
+            """)
+    LocalDate calcularUltimaVisita(@Param("clienteId") Long clienteId);
+
+    @Query("""
+            SELECT MIN(t.dataServico) FROM Task t
+            WHERE t.cliente.id = :clienteId AND t.status IN ('EM_ABERTO', 'EM_ANDAMENTO')
+            """)
+    LocalDate calcularProximaVisita(@Param("clienteId") Long clienteId);
+
+    @Modifying
+    @Query("DELETE FROM ClienteResumo r WHERE r.clienteId = :clienteId")
+    int apagar(@Param("clienteId") Long clienteId);
+}
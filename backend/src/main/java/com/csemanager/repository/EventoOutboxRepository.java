@@ -0,0 +1,46 @@
+package com.csemanager.repository;
+
+import com.csemanager.model.EventoOutbox;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // Pendentes já liberadas, em ordem de id. Uma anterior da mesma tarefa esperando nova tentativa
+    // segura as seguintes, para cada tarefa ser entregue na ordem em que mudou
+    @Query("""
+            SELECT o FROM EventoOutbox o
+            WHERE o.situacao = 'PENDENTE'
+              AND (o.proximaTentativa IS NULL OR o.proximaTentativa <= :agora)
+              AND NOT EXISTS (
+                  SELECT 1 FROM EventoOutbox a
+                  WHERE a.taskId = o.taskId AND a.id < o.id
+                    AND a.situacao = 'PENDENTE' AND a.proximaTentativa > :agora)
+            ORDER BY o.id
+            """)
+    List<EventoOutbox> buscarProntos(@Param("agora") Instant agora, Limit limit);
+
+    @Modifying
+    @Query("UPDATE EventoOutbox o SET o.situacao = 'PROCESSADO', o.processadoEm = :agora WHERE o.id IN :ids")
+    int marcarProcessados(@Param("ids") Collection<Long> ids, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("""
+            UPDATE EventoOutbox o
+            SET o.situacao = :situacao, o.tentativas = :tentativas, o.proximaTentativa = :proxima, o.erro = :erro
+            WHERE o.id = :id
+            """)
+    int marcarFalha(@Param("id") Long id, @Param("situacao") String situacao, @Param("tentativas") int tentativas,
+                    @Param("proxima") Instant proxima, @Param("erro") String erro);
+
+    @Modifying
+    @Query("DELETE FROM EventoOutbox o WHERE o.situacao = 'PROCESSADO' AND o.processadoEm < :limite")
+    int apagarProcessadosAntesDe(@Param("limite") Instant limite);
+}
@@ -0,0 +1,27 @@
+package com.csemanager.repository;
+
+import com.csemanager.model.Exclusao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ExclusaoRepository extends JpaRepository<Exclusao, Long> {
+
+    @Query("SELECT DISTINCT e.entidadeId FROM Exclusao e WHERE e.entidade = :entidade AND e.excluidoEm > :desde")
+    List<Long> buscarIdsDesde(@Param("entidade") String entidade, @Param("desde") Instant desde);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT MAX(e.excluidoEm) FROM Exclusao e WHERE e.entidade = :entidade")
+    Instant ultimaExclusao(@Param("entidade") String entidade);
+
+    @Modifying
+    @Query("DELETE FROM Exclusao e WHERE e.excluidoEm < :limite")
+    int apagarAntesDe(@Param("limite") Instant limite);
+}
@@ -0,0 +1,19 @@
+package com.csemanager.repository;
+
+import com.csemanager.dto.OrcamentoArquivoDTO;
+import com.csemanager.model.Orcamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OrcamentoRepository extends JpaRepository<Orcamento, Long> {
+
+    @Query("""
+            SELECT new com.csemanager.dto.OrcamentoArquivoDTO(o.id, o.numero, o.clienteNome, o.pdf)
+            FROM Orcamento o
+            WHERE o.id = :id
+            """)
+    Optional<OrcamentoArquivoDTO> buscarArquivo(@Param("id") Long id);
+}
@@ -0,0 +1,35 @@
+package com.csemanager.repository;
+
+import com.csemanager.model.RelatorioDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface RelatorioDiarioRepository extends JpaRepository<RelatorioDiario, Long> {
+
+    // Prioridade e cliente podem faltar: null também é uma chave
+    @Query("""
+            SELECT r FROM RelatorioDiario r
+            WHERE r.dia = :dia AND r.status = :status
+              AND (r.prioridade = :prioridade OR (:prioridade IS NULL AND r.prioridade IS NULL))
+              AND (r.clienteId = :clienteId OR (:clienteId IS NULL AND r.clienteId IS NULL))
+            """)
+    Optional<RelatorioDiario> buscar(@Param("dia") LocalDate dia,
+                                     @Param("status") String status,
+                                     @Param("prioridade") Integer prioridade,
+                                     @Param("clienteId") Long clienteId);
+
+    // Totais por mês; o serviço junta em trimestres. Percorre o índice (empresa, dia, ...)
+    @Query("""
+            SELECT YEAR(r.dia), MONTH(r.dia), r.status, r.prioridade, r.clienteId,
+                   SUM(r.quantidade), SUM(r.prazoQuantidade), SUM(r.prazoSegundos)
+            FROM RelatorioDiario r
+            WHERE r.dia BETWEEN :inicio AND :fim
+            GROUP BY YEAR(r.dia), MONTH(r.dia), r.status, r.prioridade, r.clienteId
+            """)
+    List<Object[]> somarPorMes(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+}
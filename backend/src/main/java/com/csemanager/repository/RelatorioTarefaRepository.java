@@ -0,0 +1,7 @@
+package com.csemanager.repository;
+
+import com.csemanager.model.RelatorioTarefa;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RelatorioTarefaRepository extends JpaRepository<RelatorioTarefa, Long> {
+}
@@ -1,8 +1,231 @@
 package com.csemanager.repository;
 
+import com.csemanager.dto.AgendaTarefaDTO;
+import com.csemanager.dto.TaskDTO;
 import com.csemanager.model.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {}
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT new com.csemanager.dto.TaskDTO(t.id, t.titulo, t.descricao, t.status, t.prioridade,
+                   c.id, c.nome, c.endereco, t.dataServico)
+            FROM Task t LEFT JOIN t.cliente c
+            WHERE t.id = :id
+            """)
+    Optional<TaskDTO> buscarDTO(@Param("id") Long id);
+
+    // Contagens agregadas para o painel (Home)
+    @Query("SELECT t.status, COUNT(t) FROM Task t GROUP BY t.status")
+    List<Object[]> contarPorStatus();
+
+    @Query("SELECT t.prioridade, COUNT(t) FROM Task t GROUP BY t.prioridade")
+    List<Object[]> contarPorPrioridade();
+
+    long countByStatusInAndDataServico(Collection<String> status, LocalDate dataServico);
+
+    long countByStatusInAndDataServicoBefore(Collection<String> status, LocalDate dataServico);
+
+    long countByStatusAndDataServicoBetween(String status, LocalDate inicio, LocalDate fim);
+
+    @Query("""
+            SELECT new com.csemanager.dto.TaskDTO(t.id, t.titulo, t.descricao, t.status, t.prioridade,
+                   c.id, c.nome, c.endereco, t.dataServico)
+            FROM Task t LEFT JOIN t.cliente c
+            WHERE t.dataServico >= :data
+            ORDER BY t.dataServico, t.id
+            """)
+    List<TaskDTO> buscarProximas(@Param("data") LocalDate data, Limit limit);
+
+    // Agenda (calendário): ordem do índice (data_servico, id), sem ordenação extra no banco
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT new com.csemanager.dto.AgendaTarefaDTO(t.dataServico, t.id, t.titulo, t.status, t.prioridade,
+                   c.id, c.nome)
+            FROM Task t LEFT JOIN t.cliente c
+            WHERE t.dataServico BETWEEN :inicio AND :fim
+            ORDER BY t.dataServico, t.id
+            """)
+    List<AgendaTarefaDTO> buscarAgenda(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim, Limit limit);
+
+    // Rota: só o que ainda falta visitar, para o limite contar apenas as tarefas pendentes
+    @Query("""
+            SELECT new com.csemanager.dto.AgendaTarefaDTO(t.dataServico, t.id, t.titulo, t.status, t.prioridade,
+                   c.id, c.nome)
+            FROM Task t LEFT JOIN t.cliente c
+            WHERE t.dataServico BETWEEN :inicio AND :fim AND t.status <> 'FINALIZADO'
+            ORDER BY t.dataServico, t.id
+            """)
+    List<AgendaTarefaDTO> buscarPendentes(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT new com.csemanager.dto.AgendaTarefaDTO(t.dataServico, t.id, t.titulo, t.status, t.prioridade,
+                   c.id, c.nome)
+            FROM Task t LEFT JOIN t.cliente c
+            WHERE t.status IN :status AND t.dataServico < :data
+            ORDER BY t.dataServico, t.id
+            """)
+    List<AgendaTarefaDTO> buscarAtrasadas(@Param("status") Collection<String> status, @Param("data") LocalDate data,
+                                          Limit limit);
+
+    // Histórico: tarefas ativas e arquivadas (tarefas_arquivo) numa só paginação por cursor. Cada lado
+    // já sai limitado e ordenado pelo próprio índice; o UNION só intercala as duas fatias
+    @Query("""
+            SELECT new com.csemanager.dto.TaskDTO(h.id, h.titulo, h.descricao, h.status, h.prioridade,
+                   h.clienteId, h.clienteNome, h.clienteEndereco, h.dataServico)
+            FROM (
+                (SELECT t.id id, t.titulo titulo, t.descricao descricao, t.status status, t.prioridade prioridade,
+                        c.id clienteId, c.nome clienteNome, c.endereco clienteEndereco, t.dataServico dataServico
+                 FROM Task t LEFT JOIN t.cliente c
+                 WHERE t.id > :aposId
+                   AND (:status IS NULL OR t.status = :status)
+                   AND (:clienteId IS NULL OR c.id = :clienteId)
+                   AND (:dataInicio IS NULL OR t.dataServico >= :dataInicio)
+                   AND (:dataFim IS NULL OR t.dataServico <= :dataFim)
+                 ORDER BY t.id
+                 LIMIT :limite)
+                UNION ALL
+                (SELECT a.id, a.titulo, a.descricao, a.status, a.prioridade,
+                        a.clienteId, c.nome, c.endereco, a.dataServico
+                 FROM TaskArquivada a LEFT JOIN Cliente c ON c.id = a.clienteId
+                 WHERE a.id > :aposId AND a.excluidoEm IS NULL
+                   AND (:status IS NULL OR a.status = :status)
+                   AND (:clienteId IS NULL OR a.clienteId = :clienteId)
+                   AND (:dataInicio IS NULL OR a.dataServico >= :dataInicio)
+                   AND (:dataFim IS NULL OR a.dataServico <= :dataFim)
+                 ORDER BY a.id
+                 LIMIT :limite)
+            ) h
+            ORDER BY h.id
+            LIMIT :limite
+            """)
+    List<TaskDTO> buscarHistorico(@Param("aposId") Long aposId,
+                                  @Param("status") String status,
+                                  @Param("clienteId") Long clienteId,
+                                  @Param("dataInicio") LocalDate dataInicio,
+                                  @Param("dataFim") LocalDate dataFim,
+                                  @Param("limite") int limite);
+
+    // Histórico de um cliente, da visita mais recente para a mais antiga: (data_servico, id) decrescente,
+    // que é o índice (cliente_id, data_servico, id) lido de trás para frente, intercalado com o arquivo.
+    // Só tarefas com data; as sem data vêm depois, em buscarHistoricoClienteSemData
+    @Query("""
+            SELECT new com.csemanager.dto.TaskDTO(h.id, h.titulo, h.descricao, h.status, h.prioridade,
+                   h.clienteId, h.clienteNome, h.clienteEndereco, h.dataServico)
+            FROM (
+                (SELECT t.id id, t.titulo titulo, t.descricao descricao, t.status status, t.prioridade prioridade,
+                        c.id clienteId, c.nome clienteNome, c.endereco clienteEndereco, t.dataServico dataServico
+                 FROM Task t JOIN t.cliente c
+                 WHERE c.id = :clienteId AND t.dataServico IS NOT NULL
+                   AND (:antesDe IS NULL OR t.dataServico < :antesDe
+                        OR (t.dataServico = :antesDe AND t.id < :antesDeId))
+                 ORDER BY t.dataServico DESC, t.id DESC
+                 LIMIT :limite)
+                UNION ALL
+                (SELECT a.id, a.titulo, a.descricao, a.status, a.prioridade,
+                        a.clienteId, c.nome, c.endereco, a.dataServico
+                 FROM TaskArquivada a LEFT JOIN Cliente c ON c.id = a.clienteId
+                 WHERE a.clienteId = :clienteId AND a.dataServico IS NOT NULL AND a.excluidoEm IS NULL
+                   AND (:antesDe IS NULL OR a.dataServico < :antesDe
+                        OR (a.dataServico = :antesDe AND a.id < :antesDeId))
+                 ORDER BY a.dataServico DESC, a.id DESC
+                 LIMIT :limite)
+            ) h
+            ORDER BY h.dataServico DESC, h.id DESC
+            LIMIT :limite
+            """)
+    List<TaskDTO> buscarHistoricoCliente(@Param("clienteId") Long clienteId,
+                                         @Param("antesDe") LocalDate antesDe,
+                                         @Param("antesDeId") Long antesDeId,
+                                         @Param("limite") int limite);
+
+    @Query("""
+            SELECT new com.csemanager.dto.TaskDTO(h.id, h.titulo, h.descricao, h.status, h.prioridade,
+                   h.clienteId, h.clienteNome, h.clienteEndereco, h.dataServico)
+            FROM (
+                (SELECT t.id id, t.titulo titulo, t.descricao descricao, t.status status, t.prioridade prioridade,
+                        c.id clienteId, c.nome clienteNome, c.endereco clienteEndereco, t.dataServico dataServico
+                 FROM Task t JOIN t.cliente c
+                 WHERE c.id = :clienteId AND t.dataServico IS NULL AND t.id < :antesDeId
+                 ORDER BY t.id DESC
+                 LIMIT :limite)
+                UNION ALL
+                (SELECT a.id, a.titulo, a.descricao, a.status, a.prioridade,
+                        a.clienteId, c.nome, c.endereco, a.dataServico
+                 FROM TaskArquivada a LEFT JOIN Cliente c ON c.id = a.clienteId
+                 WHERE a.clienteId = :clienteId AND a.dataServico IS NULL AND a.excluidoEm IS NULL
+                   AND a.id < :antesDeId
+                 ORDER BY a.id DESC
+                 LIMIT :limite)
+            ) h
+            ORDER BY h.id DESC
+            LIMIT :limite
+            """)
+    List<TaskDTO> buscarHistoricoClienteSemData(@Param("clienteId") Long clienteId,
+                                                @Param("antesDeId") Long antesDeId,
+                                                @Param("limite") int limite);
+
+    // Leitura com bloqueio antes do UPDATE em massa: o "antes" usado nos resumos não muda até o commit.
+    // Em ordem de id, para duas mudanças em massa concorrentes travarem as linhas na mesma sequência
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids ORDER BY t.id")
+    List<Task> travar(@Param("ids") Collection<Long> ids);
+
+    // UPDATE em massa não passa pelo @Version/@UpdateTimestamp: versão e carimbo são atualizados aqui,
+    // e finalizado_em como no TaskService.preencher
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Task t SET t.status = :status, t.versao = t.versao + 1, t.atualizadoEm = :agora,
+                   t.finalizadoEm = CASE WHEN :status = 'FINALIZADO' THEN COALESCE(t.finalizadoEm, :agora) ELSE NULL END
+            WHERE t.id IN :ids
+            """)
+    int alterarStatus(@Param("ids") Collection<Long> ids, @Param("status") String status,
+                      @Param("agora") Instant agora);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT MAX(t.atualizadoEm) FROM Task t")
+    Instant ultimaAlteracao();
+
+    // Delta: a tarefa também mudou para quem lista quando o nome/endereço do cliente dela mudou
+    @Query("""
+            SELECT new com.csemanager.dto.TaskDTO(t.id, t.titulo, t.descricao, t.status, t.prioridade,
+                   c.id, c.nome, c.endereco, t.dataServico)
+            FROM Task t LEFT JOIN t.cliente c
+            WHERE t.atualizadoEm > :desde OR c.atualizadoEm > :desde
+            ORDER BY t.id
+            """)
+    List<TaskDTO> buscarAlteradasDesde(@Param("desde") Instant desde);
+
+    // Leitura em fluxo para exportação: o driver busca 500 linhas por vez e nada fica no contexto de persistência
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.csemanager.dto.TaskDTO(t.id, t.titulo, t.descricao, t.status, t.prioridade,
+                   c.id, c.nome, c.endereco, t.dataServico)
+            FROM Task t LEFT JOIN t.cliente c
+            ORDER BY t.id
+            """)
+    Stream<TaskDTO> streamTodas();
+}
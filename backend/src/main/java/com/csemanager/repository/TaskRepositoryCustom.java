@@ -0,0 +1,14 @@
+package com.csemanager.repository;
+
+import com.csemanager.dto.TaskDTO;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Consultas montadas conforme os filtros informados (ver TaskRepositoryCustomImpl)
+public interface TaskRepositoryCustom {
+
+    List<TaskDTO> buscarPagina(Long aposId, String status, Integer prioridade, Long clienteId,
+                               LocalDate dataInicio, LocalDate dataFim, Limit limit);
+}
@@ -0,0 +1,70 @@
+package com.csemanager.repository;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public TaskRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Paginação por cursor (keyset): "id > :aposId" em ordem de id, então a página N custa o mesmo que a primeira.
+    // Só os filtros informados entram no WHERE: cada combinação vira uma consulta própria, que o banco resolve
+    // pelo índice correspondente — (empresa, status, id), (empresa, prioridade, id), (cliente_id, id) —
+    // em vez de um "(:x IS NULL OR ...)" que só o percurso pela chave primária atende.
+    // Faixa de datas sem outro filtro usa (empresa, data_servico, id) e ordena só as linhas da faixa.
+    // Monta o DTO direto do join, sem carregar a entidade Cliente inteira (ex.: notas).
+    // Resultado no cache de consultas até a próxima escrita em tarefas/clientes
+    @Override
+    public List<TaskDTO> buscarPagina(Long aposId, String status, Integer prioridade, Long clienteId,
+                                      LocalDate dataInicio, LocalDate dataFim, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> query = cb.createQuery(TaskDTO.class);
+        Root<Task> t = query.from(Task.class);
+        Join<Task, Cliente> c = t.join("cliente", JoinType.LEFT);
+        query.select(cb.construct(TaskDTO.class, t.get("id"), t.get("titulo"), t.get("descricao"), t.get("status"),
+                t.get("prioridade"), c.get("id"), c.get("nome"), c.get("endereco"), t.<LocalDate>get("dataServico")));
+
+        List<Predicate> filtros = new ArrayList<>();
+        filtros.add(cb.greaterThan(t.get("id"), aposId));
+        if (status != null) {
+            filtros.add(cb.equal(t.get("status"), status));
+        }
+        if (prioridade != null) {
+            filtros.add(cb.equal(t.get("prioridade"), prioridade));
+        }
+        if (clienteId != null) {
+            // Pela chave estrangeira da própria tarefa (cliente_id), não pela tabela do join
+            filtros.add(cb.equal(t.get("cliente").get("id"), clienteId));
+        }
+        if (dataInicio != null) {
+            filtros.add(cb.greaterThanOrEqualTo(t.get("dataServico"), dataInicio));
+        }
+        if (dataFim != null) {
+            filtros.add(cb.lessThanOrEqualTo(t.get("dataServico"), dataFim));
+        }
+        query.where(filtros.toArray(Predicate[]::new)).orderBy(cb.asc(t.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setMaxResults(limit.max())
+                .getResultList();
+    }
+}
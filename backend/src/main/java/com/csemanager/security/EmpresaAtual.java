@@ -0,0 +1,80 @@
+package com.csemanager.security;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Empresa (filial) da requisição, lida do claim "empresa" do JWT no SecurityFilter. O Hibernate usa este
+// valor como tenant ao abrir cada sessão (EmpresaTenantResolver): toda leitura de entidade com @TenantId
+// ganha "empresa = ?" e toda inserção recebe a empresa. Sem requisição (testes, tarefas agendadas) vale a
+// empresa padrão; RAIZ desliga o filtro e fica restrita a /auth/** e a rotinas que atravessam empresas
+public final class EmpresaAtual {
+
+    public static final String PADRAO = "padrao";
+    public static final String RAIZ = "*";
+    public static final String CLAIM = "empresa";
+    public static final int TAMANHO_MAXIMO = 40;
+    private static final Pattern FORMATO = Pattern.compile("[a-z0-9][a-z0-9_-]{0," + (TAMANHO_MAXIMO - 1) + "}");
+
+    private static final ThreadLocal<String> ATUAL = new ThreadLocal<>();
+
+    private EmpresaAtual() {
+    }
+
+    public static String obter() {
+        String empresa = ATUAL.get();
+        return empresa != null ? empresa : PADRAO;
+    }
+
+    public static void definir(String empresa) {
+        ATUAL.set(empresa);
+    }
+
+    public static void limpar() {
+        ATUAL.remove();
+    }
+
+    // Raiz no banco ou schema próprio de uma empresa roteada (EmpresaConnectionProvider); RAIZ sozinha
+    // usa o banco principal
+    public static String raizEm(String empresa) {
+        return RAIZ + ":" + empresa;
+    }
+
+    public static boolean ehRaiz(String empresa) {
+        return RAIZ.equals(empresa) || empresa.startsWith(RAIZ + ":");
+    }
+
+    public static boolean valida(String empresa) {
+        return empresa != null && FORMATO.matcher(empresa).matches();
+    }
+
+    // Executa com outra empresa e restaura a anterior. Só vale para sessões abertas dentro do bloco:
+    // a de uma transação ou do open-in-view já em andamento continua com a empresa de quando abriu
+    public static <T> T executar(String empresa, Supplier<T> acao) {
+        String anterior = ATUAL.get();
+        ATUAL.set(empresa);
+        try {
+            return acao.get();
+        } finally {
+            if (anterior == null) {
+                ATUAL.remove();
+            } else {
+                ATUAL.set(anterior);
+            }
+        }
+    }
+
+    public static void executar(String empresa, Runnable acao) {
+        executar(empresa, () -> {
+            acao.run();
+            return null;
+        });
+    }
+
+    public static <T> T comoRaiz(Supplier<T> acao) {
+        return executar(RAIZ, acao);
+    }
+
+    public static void comoRaiz(Runnable acao) {
+        executar(RAIZ, acao);
+    }
+}
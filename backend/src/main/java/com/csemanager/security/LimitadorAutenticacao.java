@@ -0,0 +1,129 @@
+package com.csemanager.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Limite de tentativas em /auth/**. Por IP (LimiteAutenticacaoFilter), antes de qualquer BCrypt: uma rajada
+// de credential stuffing é recusada com 429 sem gastar CPU. Por conta e IP (AuthController.login), contando
+// só as senhas recusadas pelo BCrypt: quem erra a senha de um técnico de outro lugar não bloqueia o técnico
+@Component
+public class LimitadorAutenticacao {
+
+    private final Limite porIp;
+    private final Limite porConta;
+
+    public LimitadorAutenticacao(
+            MeterRegistry meterRegistry,
+            @Value("${security.auth-limit.ip.capacity:20}") int capacidadeIp,
+            @Value("${security.auth-limit.ip.refill:PT3S}") Duration reposicaoIp,
+            @Value("${security.auth-limit.account.capacity:5}") int capacidadeConta,
+            @Value("${security.auth-limit.account.refill:PT1M}") Duration reposicaoConta,
+            @Value("${security.auth-limit.max-keys:100000}") long maximoChaves
+    ) {
+        this.porIp = new Limite("ip", capacidadeIp, reposicaoIp, maximoChaves, meterRegistry);
+        this.porConta = new Limite("conta", capacidadeConta, reposicaoConta, maximoChaves, meterRegistry);
+    }
+
+    // Duration.ZERO libera; senão, quanto esperar (Retry-After)
+    public Duration consumirIp(String ip) {
+        return porIp.consumir(ip);
+    }
+
+    // Antes do BCrypt: só consulta, sem gastar ficha (login certo não conta)
+    public Duration esperaConta(String email, String ip) {
+        return porConta.espera(chaveConta(email, ip));
+    }
+
+    // Depois que o BCrypt recusou a senha
+    public void falhaConta(String email, String ip) {
+        porConta.registrar(chaveConta(email, ip));
+    }
+
+    private static String chaveConta(String email, String ip) {
+        return (email == null ? "" : email.trim().toLowerCase(Locale.ROOT)) + "|" + ip;
+    }
+
+    // Retry-After em segundos inteiros, arredondado para cima
+    public static long segundos(Duration espera) {
+        return Math.max(1, (espera.toMillis() + 999) / 1000);
+    }
+
+    // Balde de fichas no formato GCRA: por chave só um long com o instante teórico da próxima chegada,
+    // atualizado por CAS (sem trava). Cada tentativa empurra o instante um intervalo de reposição; passa
+    // enquanto ele não estiver mais que "capacidade" intervalos à frente do relógio
+    private static final class Limite {
+
+        private final long intervaloNanos;
+        private final long toleranciaNanos;
+        private final Cache<String, AtomicLong> baldes;
+        private final Counter recusadas;
+
+        private Limite(String nome, int capacidade, Duration reposicao, long maximoChaves, MeterRegistry meterRegistry) {
+            this.intervaloNanos = reposicao.toNanos();
+            this.toleranciaNanos = capacidade * intervaloNanos;
+            // Ocioso por um ciclo inteiro o balde já estaria cheio: descartar a entrada não muda nada.
+            // O limite de chaves segura a memória sob rajada vinda de muitos IPs/e-mails
+            this.baldes = Caffeine.newBuilder()
+                    .maximumSize(maximoChaves)
+                    .expireAfterAccess(Duration.ofNanos(toleranciaNanos))
+                    .build();
+            this.recusadas = Counter.builder("security.auth.throttled")
+                    .description("Requisições de autenticação recusadas com 429")
+                    .tag("limite", nome)
+                    .register(meterRegistry);
+            Gauge.builder("security.auth.throttle.keys", baldes, Cache::estimatedSize)
+                    .description("Chaves (IPs/contas) com balde ativo")
+                    .tag("limite", nome)
+                    .register(meterRegistry);
+        }
+
+        private Duration consumir(String chave) {
+            long agora = System.nanoTime();
+            AtomicLong proximaChegada = baldes.get(chave, k -> new AtomicLong(agora));
+            while (true) {
+                long atual = proximaChegada.get();
+                long nova = Math.max(atual, agora) + intervaloNanos;
+                long excesso = nova - agora - toleranciaNanos;
+                if (excesso > 0) {
+                    recusadas.increment();
+                    return Duration.ofNanos(excesso);
+                }
+                if (proximaChegada.compareAndSet(atual, nova)) {
+                    return Duration.ZERO;
+                }
+            }
+        }
+
+        // Quanto falta para a próxima tentativa passar, sem gastar ficha
+        private Duration espera(String chave) {
+            AtomicLong proximaChegada = baldes.getIfPresent(chave);
+            if (proximaChegada == null) {
+                return Duration.ZERO;
+            }
+            long agora = System.nanoTime();
+            long excesso = Math.max(proximaChegada.get(), agora) + intervaloNanos - agora - toleranciaNanos;
+            if (excesso > 0) {
+                recusadas.increment();
+                return Duration.ofNanos(excesso);
+            }
+            return Duration.ZERO;
+        }
+
+        // Gasta uma ficha sem recusar: falhas concorrentes que já passaram pela espera também contam, mas o
+        // instante não passa do limite (a espera máxima continua sendo um intervalo de reposição)
+        private void registrar(String chave) {
+            long agora = System.nanoTime();
+            baldes.get(chave, k -> new AtomicLong(agora)).accumulateAndGet(agora,
+                    (atual, t) -> Math.min(Math.max(atual, t) + intervaloNanos, t + toleranciaNanos));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.csemanager.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Limite por IP em /auth/**. Fica na cadeia do Spring Security logo depois do CORS, para o navegador
+// conseguir ler o 429 e o Retry-After. Atrás de proxy, o IP real depende de server.forward-headers-strategy
+public class LimiteAutenticacaoFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH = "/auth/";
+
+    private final LimitadorAutenticacao limitador;
+
+    public LimiteAutenticacaoFilter(LimitadorAutenticacao limitador) {
+        this.limitador = limitador;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod())
+                || !request.getRequestURI().startsWith(request.getContextPath() + AUTH_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Duration espera = limitador.consumirIp(request.getRemoteAddr());
+        if (!espera.isZero()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(LimitadorAutenticacao.segundos(espera)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,95 @@
+package com.csemanager.security;
+
+import com.csemanager.model.User;
+import com.csemanager.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Cache dos usuários autenticados, indexado pelo subject (e-mail) do JWT.
+// Cada entrada expira junto com o token que a criou, limitada por um TTL máximo.
+@Component
+public class PrincipalCache {
+
+    private record Entrada(User user, Instant expiraEm) {}
+
+    private final UserRepository userRepository;
+    private final Cache<String, Entrada> cache;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.max-ttl:PT10M}") Duration maxTtl
+    ) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpiraComToken(maxTtl))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+        Gauge.builder("security.principal.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Proporção de requisições autenticadas sem consulta ao banco")
+                .register(meterRegistry);
+    }
+
+    // Devolve o usuário do cache ou do banco; null se o e-mail não existir mais. O e-mail é único entre
+    // as empresas: a busca roda na raiz e quem chama confere a empresa do token com a do usuário
+    public User obter(String login, Instant tokenExpiraEm) {
+        Entrada entrada = cache.get(login, l -> EmpresaAtual.comoRaiz(() -> userRepository.findByEmail(l))
+                .map(user -> new Entrada(user, tokenExpiraEm))
+                .orElse(null));
+        return entrada != null ? entrada.user() : null;
+    }
+
+    public void evict(String login) {
+        cache.invalidate(login);
+    }
+
+    // Remove pelo id, cobrindo também o caso de o e-mail (subject) ter mudado
+    public void evict(User user) {
+        if (user.getEmail() != null) {
+            cache.invalidate(user.getEmail());
+        }
+        if (user.getId() != null) {
+            cache.asMap().values().removeIf(e -> user.getId().equals(e.user().getId()));
+        }
+    }
+
+    private static final class ExpiraComToken implements Expiry<String, Entrada> {
+        private final long maxTtlNanos;
+
+        private ExpiraComToken(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entrada value, long currentTime) {
+            if (value.expiraEm() == null) {
+                return maxTtlNanos;
+            }
+            long ateExpirar = Duration.between(Instant.now(), value.expiraEm()).toNanos();
+            return Math.max(0, Math.min(ateExpirar, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entrada value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entrada value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.csemanager.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +16,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.filter.CorsFilter;
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
@@ -25,6 +29,9 @@ public class SecurityConfig {
     @Autowired
     SecurityFilter securityFilter;
 
+    @Autowired
+    LimitadorAutenticacao limitadorAutenticacao;
+
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -34,16 +41,28 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/auth/**").permitAll()
+                        // Sondas e coleta do Prometheus não têm JWT; restringir o acesso na rede/proxy
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**", "/actuator/prometheus").permitAll()
+                        // Respostas em fluxo (exportação) concluem num dispatch ASYNC já autorizado na requisição original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 )
+                .addFilterAfter(new LimiteAutenticacaoFilter(limitadorAutenticacao), CorsFilter.class)
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // security.password-hash.threads=0 usa um thread por núcleo
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hash.threads:0}") int threads,
+            @Value("${security.password-hash.queue:200}") int fila
+    ) {
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new LimitadoPasswordEncoder(
+                new MedidoPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry), tamanho, fila, meterRegistry);
     }
 
     @Bean
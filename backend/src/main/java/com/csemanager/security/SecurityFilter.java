@@ -1,7 +1,6 @@
 package com.csemanager.security;
 
 import com.csemanager.model.User;
-import com.csemanager.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,27 +17,50 @@ import java.util.Collections;
 
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
+    private static final String STREAM_PATH = "/api/tarefas/stream";
+    private static final String AUTH_PATH = "/auth/";
+
     @Autowired
     TokenService tokenService;
     @Autowired
-    UserRepository userRepository;
+    PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoverToken(request);
-        var login = tokenService.validateToken(token);
+        var jwt = tokenService.decodeToken(token);
+        String empresa = null;
+
+        if(jwt != null){
+            User user = principalCache.obter(jwt.getSubject(), jwt.getExpiresAtAsInstant());
+            if(user == null) throw new RuntimeException("User Not Found");
+            // Tokens emitidos antes das empresas não têm o claim: todos os usuários eram da padrão
+            String claim = jwt.getClaim(EmpresaAtual.CLAIM).asString();
+            empresa = claim != null ? claim : EmpresaAtual.PADRAO;
+            // Usuário mudou de empresa depois de emitido o token: não autentica
+            if(empresa.equals(user.getEmpresa())){
+                var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            } else {
+                empresa = null;
+            }
+        }
+        // Login e cadastro procuram o e-mail em todas as empresas
+        if(request.getRequestURI().startsWith(request.getContextPath() + AUTH_PATH)) empresa = EmpresaAtual.RAIZ;
 
-        if(login != null){
-            User user = userRepository.findByEmail(login).orElseThrow(() -> new RuntimeException("User Not Found"));
-            var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        EmpresaAtual.definir(empresa);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            EmpresaAtual.limpar();
         }
-        filterChain.doFilter(request, response);
     }
 
     private String recoverToken(HttpServletRequest request){
         var authHeader = request.getHeader("Authorization");
+        // EventSource (SSE) não permite cabeçalhos: só o stream de tarefas aceita o token na URL
+        if(authHeader == null && (request.getContextPath() + STREAM_PATH).equals(request.getRequestURI())) return request.getParameter("token");
         if(authHeader == null) return null;
         return authHeader.replace("Bearer ", "");
     }
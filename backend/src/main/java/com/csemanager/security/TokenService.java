@@ -1,10 +1,14 @@
 package com.csemanager.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.csemanager.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -14,16 +18,30 @@ import java.time.ZoneOffset;
 
 @Service
 public class TokenService {
-    @Value("${api.security.token.secret}")
-    private String secret;
+    private static final String ISSUER = "login-auth-api";
+
+    // Algoritmo e verificador são imutáveis e thread-safe: criados uma vez só
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final Timer verificacao;
+
+    public TokenService(@Value("${api.security.token.secret}") String secret, MeterRegistry meterRegistry) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+        this.verificacao = Timer.builder("security.jwt.verify")
+                .description("Verificação de assinatura e validade do JWT")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     public String generateToken(User user) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-
             String token = JWT.create()
-                    .withIssuer("login-auth-api")
+                    .withIssuer(ISSUER)
                     .withSubject(user.getEmail())
+                    .withClaim(EmpresaAtual.CLAIM, user.getEmpresa())
                     .withExpiresAt(this.generateExpiratedDate())
                     .sign(algorithm);
             return token;
@@ -33,15 +51,22 @@ public class TokenService {
     }
 
     public String validateToken(String token) {
+        DecodedJWT jwt = decodeToken(token);
+        return jwt != null ? jwt.getSubject() : null;
+    }
+
+    // Devolve o token verificado (subject e expiração) ou null se inválido
+    public DecodedJWT decodeToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        Timer.Sample sample = Timer.start();
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            return JWT.require(algorithm)
-                    .withIssuer("login-auth-api")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            return verifier.verify(token);
         } catch (JWTVerificationException exception) {
             return null;
+        } finally {
+            sample.stop(verificacao);
         }
     }
 
@@ -49,4 +74,4 @@ public class TokenService {
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.csemanager.security;
+
+import com.csemanager.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Invalida o principal em cache sempre que a conta do usuário muda. Só depois do commit: antes dele, uma
+// requisição concorrente ainda lê a linha antiga do banco e a colocaria de volta no cache (senha antiga,
+// usuário removido) até o TTL
+@Component
+public class UserCacheListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    public UserCacheListener(ObjectProvider<PrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void contaAlterada(User user) {
+        aposCommit(() -> principalCache.ifAvailable(cache -> cache.evict(user)));
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
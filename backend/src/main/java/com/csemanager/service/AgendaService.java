@@ -0,0 +1,97 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.AgendaDTO;
+import com.csemanager.dto.AgendaDiaDTO;
+import com.csemanager.dto.AgendaTarefaDTO;
+import com.csemanager.repository.TaskRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Calendário de visitas: tarefas de uma faixa de datas agrupadas por dia, mais as atrasadas.
+// A faixa é limitada, então o custo não cresce com o histórico
+@Service
+public class AgendaService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final List<String> STATUS_PENDENTES = List.of("EM_ABERTO", "EM_ANDAMENTO");
+    // Mês com as semanas de borda (visão mensal) cabe com folga
+    private static final int MAXIMO_DIAS = 62;
+    private static final int MAXIMO_TAREFAS = 5000;
+    private static final int MAXIMO_ATRASADAS = 200;
+    // Dentro do dia: mais prioritária primeiro (1 = alta), depois ordem de criação
+    static final Comparator<AgendaTarefaDTO> ORDEM_NO_DIA = Comparator
+            .comparing(AgendaTarefaDTO::prioridade, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(AgendaTarefaDTO::id);
+
+    private final TaskRepository repository;
+
+    public AgendaService(TaskRepository repository) {
+        this.repository = repository;
+    }
+
+    @Transactional(readOnly = true)
+    public AgendaDTO buscar(String from, String to) {
+        LocalDate inicio = parseData(from, "from");
+        LocalDate fim = parseData(to, "to");
+        if (fim.isBefore(inicio)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' deve ser igual ou posterior a 'from'.");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Intervalo máximo da agenda é de " + MAXIMO_DIAS + " dias.");
+        }
+
+        List<AgendaTarefaDTO> tarefas = repository.buscarAgenda(inicio, fim, Limit.of(MAXIMO_TAREFAS + 1));
+        boolean truncado = tarefas.size() > MAXIMO_TAREFAS;
+        if (truncado) {
+            tarefas = tarefas.subList(0, MAXIMO_TAREFAS);
+        }
+
+        LocalDate hoje = LocalDate.now();
+        List<AgendaTarefaDTO> atrasadas = repository.buscarAtrasadas(STATUS_PENDENTES, hoje, Limit.of(MAXIMO_ATRASADAS));
+        long totalAtrasadas = atrasadas.size() < MAXIMO_ATRASADAS
+                ? atrasadas.size()
+                : repository.countByStatusInAndDataServicoBefore(STATUS_PENDENTES, hoje);
+
+        return new AgendaDTO(inicio.format(DATE_FORMATTER), fim.format(DATE_FORMATTER),
+                porDia(tarefas), truncado, porDia(atrasadas), totalAtrasadas);
+    }
+
+    // As linhas já chegam ordenadas por data, então basta cortar quando a data muda
+    private static List<AgendaDiaDTO> porDia(List<AgendaTarefaDTO> tarefas) {
+        Map<LocalDate, List<AgendaTarefaDTO>> dias = new LinkedHashMap<>();
+        for (AgendaTarefaDTO tarefa : tarefas) {
+            dias.computeIfAbsent(tarefa.dataServico(), d -> new ArrayList<>()).add(tarefa);
+        }
+        List<AgendaDiaDTO> resultado = new ArrayList<>(dias.size());
+        dias.forEach((data, doDia) -> {
+            doDia.sort(ORDEM_NO_DIA);
+            resultado.add(new AgendaDiaDTO(data.format(DATE_FORMATTER), doDia));
+        });
+        return resultado;
+    }
+
+    static LocalDate parseData(String valor, String parametro) {
+        if (valor == null || valor.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe '" + parametro + "' (yyyy-MM-dd).");
+        }
+        try {
+            return LocalDate.parse(valor, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data inválida em '" + parametro + "'.");
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.csemanager.service;
+
+import com.csemanager.config.EmpresaDestinos;
+import com.csemanager.model.Exclusao;
+import com.csemanager.model.Task;
+import com.csemanager.model.TaskArquivada;
+import com.csemanager.security.EmpresaAtual;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+// Move tarefas FINALIZADO antigas (data do serviço e última alteração além da idade configurada) de
+// "tarefas" para "tarefas_arquivo". Em lotes curtos, cada um na sua transação e com pausa entre eles,
+// para nunca segurar muitas linhas da tabela quente travadas. O histórico (GET /api/tarefas/historico)
+// continua vendo as duas tabelas. Roda na raiz de cada destino (EmpresaDestinos)
+@Service
+public class ArquivamentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoService.class);
+
+    // SQL nativo: o @SQLRestriction da Task esconderia as finalizadas que também foram removidas, e o
+    // filtro de empresa (@TenantId) não se aplica. Os lotes vão empresa por empresa: com "empresa = ?" a
+    // seleção usa idx_tarefas_empresa_status_data em vez de percorrer (e travar) a tabela toda.
+    // FOR UPDATE: uma edição concorrente (reabrir a tarefa, por exemplo) espera o lote terminar em vez de
+    // mudar a linha entre a seleção e a cópia; ORDER BY id trava sempre na mesma ordem
+    private static final String EMPRESAS = "SELECT DISTINCT empresa FROM tarefas WHERE status = 'FINALIZADO'";
+    private static final String SELECIONAR = """
+            SELECT id FROM tarefas
+            WHERE empresa = :empresa AND status = 'FINALIZADO' AND data_servico < :data AND atualizado_em < :instante
+            ORDER BY id
+            LIMIT :lote
+            FOR UPDATE
+            """;
+    private static final String COPIAR = """
+            INSERT INTO tarefas_arquivo (id, empresa, titulo, descricao, status, prioridade, cliente_id, data_servico,
+                                         versao, criado_em, atualizado_em, finalizado_em, excluido_em, arquivado_em)
+            SELECT id, empresa, titulo, descricao, status, prioridade, cliente_id, data_servico,
+                   versao, criado_em, atualizado_em, finalizado_em, excluido_em, :agora
+            FROM tarefas WHERE id IN (:ids)
+            """;
+    // Para quem sincroniza pela lista/delta a tarefa arquivada sumiu como uma remoção
+    private static final String REGISTRAR_EXCLUSAO = """
+            INSERT INTO exclusoes (empresa, entidade, entidade_id, excluido_em)
+            SELECT empresa, :entidade, id, :agora FROM tarefas WHERE id IN (:ids) AND excluido_em IS NULL
+            """;
+    private static final String APAGAR = "DELETE FROM tarefas WHERE id IN (:ids)";
+
+    private final EntityManager entityManager;
+    private final EmpresaDestinos destinos;
+    private final TransactionTemplate transacao;
+    private final Duration idade;
+    private final int lote;
+    private final Duration pausa;
+
+    public ArquivamentoService(EntityManager entityManager, EmpresaDestinos destinos,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${tarefas.arquivo.idade:P180D}") Duration idade,
+                               @Value("${tarefas.arquivo.lote:500}") int lote,
+                               @Value("${tarefas.arquivo.pausa:PT0.2S}") Duration pausa) {
+        this.entityManager = entityManager;
+        this.destinos = destinos;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.idade = idade;
+        this.lote = lote;
+        this.pausa = pausa;
+    }
+
+    @Scheduled(cron = "${tarefas.arquivo.cron:0 0 4 * * *}")
+    public int arquivar() {
+        Instant inicio = Instant.now();
+        Instant limite = inicio.minus(idade);
+        LocalDate dataLimite = LocalDate.now().minusDays(idade.toDays());
+        int total = 0;
+        for (String raiz : destinos.raizes()) {
+            total += EmpresaAtual.executar(raiz, () -> arquivarDestino(dataLimite, limite));
+        }
+        if (total > 0) {
+            log.info("{} tarefas finalizadas arquivadas em {} ms", total, Duration.between(inicio, Instant.now()).toMillis());
+        }
+        return total;
+    }
+
+    private int arquivarDestino(LocalDate dataLimite, Instant limite) {
+        @SuppressWarnings("unchecked")
+        List<String> empresas = transacao.execute(status -> entityManager.createNativeQuery(EMPRESAS).getResultList());
+        int total = 0;
+        for (String empresa : empresas) {
+            total += arquivarTodas(empresa, dataLimite, limite);
+        }
+        return total;
+    }
+
+    private int arquivarTodas(String empresa, LocalDate dataLimite, Instant limite) {
+        int total = 0;
+        while (true) {
+            Integer movidas = transacao.execute(status -> arquivarLote(empresa, dataLimite, limite));
+            total += movidas == null ? 0 : movidas;
+            if (movidas == null || movidas < lote || Thread.currentThread().isInterrupted()) {
+                return total;
+            }
+            try {
+                Thread.sleep(pausa.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+
+    private int arquivarLote(String empresa, LocalDate dataLimite, Instant limite) {
+        @SuppressWarnings("unchecked")
+        List<Number> encontrados = entityManager.createNativeQuery(SELECIONAR)
+                .setParameter("empresa", empresa)
+                .setParameter("data", dataLimite)
+                .setParameter("instante", limite)
+                .setParameter("lote", lote)
+                .getResultList();
+        if (encontrados.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = encontrados.stream().map(Number::longValue).toList();
+        Instant agora = Instant.now();
+        executar(COPIAR, TaskArquivada.class)
+                .setParameter("agora", agora)
+                .setParameter("ids", ids)
+                .executeUpdate();
+        executar(REGISTRAR_EXCLUSAO, Exclusao.class)
+                .setParameter("entidade", SincronizacaoService.TAREFAS)
+                .setParameter("agora", agora)
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return executar(APAGAR, Task.class)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    // Declarar a entidade afetada faz o Hibernate invalidar só as regiões dela no cache de segundo
+    // nível e de consultas (sem isso, um comando nativo esvazia o cache inteiro)
+    private NativeQuery<?> executar(String sql, Class<?> entidade) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(entidade);
+    }
+}
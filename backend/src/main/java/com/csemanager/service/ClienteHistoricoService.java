@@ -0,0 +1,231 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.ClienteHistoricoDTO;
+import com.csemanager.dto.ClienteResumoDTO;
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.ClienteResumo;
+import com.csemanager.model.Task;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.ClienteResumoRepository;
+import com.csemanager.repository.TaskRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+// Página do cliente: histórico paginado (índice cliente_id, data_servico) e indicadores lidos de
+// cliente_resumo por chave primária. O TaskService informa cada escrita com a situação da tarefa antes e
+// depois (Mudancas); só as diferenças são aplicadas ao resumo, na mesma transação. As datas só são
+// recalculadas no banco quando sai a tarefa que as definia
+@Service
+public class ClienteHistoricoService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String FINALIZADO = "FINALIZADO";
+    private static final List<String> STATUS_PENDENTES = List.of("EM_ABERTO", "EM_ANDAMENTO");
+    private static final int LIMITE_PADRAO = 20;
+    private static final int LIMITE_MAXIMO = 100;
+
+    // O que conta para o resumo numa tarefa
+    public record Situacao(Long clienteId, String empresa, String status, LocalDate data) {
+
+        public static Situacao de(Task task) {
+            return task.getCliente() == null ? null
+                    : new Situacao(task.getCliente().getId(), task.getEmpresa(), task.getStatus(), task.getDataServico());
+        }
+
+        public Situacao comStatus(String novo) {
+            return new Situacao(clienteId, empresa, novo, data);
+        }
+    }
+
+    // Situações antes (sai da conta) e depois (entra) das tarefas de uma operação
+    public static final class Mudancas {
+
+        private final List<Situacao> removidas = new ArrayList<>();
+        private final List<Situacao> adicionadas = new ArrayList<>();
+
+        public Mudancas mudou(Situacao antes, Situacao depois) {
+            if (Objects.equals(antes, depois)) {
+                return this;
+            }
+            if (antes != null) {
+                removidas.add(antes);
+            }
+            if (depois != null) {
+                adicionadas.add(depois);
+            }
+            return this;
+        }
+    }
+
+    private record Cursor(LocalDate data, long id) {}
+
+    private final ClienteResumoRepository resumoRepository;
+    private final ClienteRepository clienteRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate novaTransacao;
+
+    public ClienteHistoricoService(ClienteResumoRepository resumoRepository, ClienteRepository clienteRepository,
+                                   TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.resumoRepository = resumoRepository;
+        this.clienteRepository = clienteRepository;
+        this.taskRepository = taskRepository;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public ClienteHistoricoDTO buscar(Long clienteId, String cursor, Integer limite) {
+        if (clienteRepository.findById(clienteId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado.");
+        }
+        Cursor posicao = decodeCursor(cursor);
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+
+        // Um a mais para saber se há próxima página; acabadas as datadas, continua nas sem data
+        List<TaskDTO> pagina = new ArrayList<>(tamanho + 1);
+        if (posicao == null || posicao.data() != null) {
+            pagina.addAll(taskRepository.buscarHistoricoCliente(clienteId,
+                    posicao != null ? posicao.data() : null, posicao != null ? posicao.id() : 0L, tamanho + 1));
+        }
+        if (pagina.size() <= tamanho) {
+            long antesDe = posicao != null && posicao.data() == null ? posicao.id() : Long.MAX_VALUE;
+            // Sempre tamanho + 1, como na consulta das datadas: o H2 reaproveita o resultado da subconsulta
+            // quando só o LIMIT muda
+            List<TaskDTO> semData = taskRepository.buscarHistoricoClienteSemData(clienteId, antesDe, tamanho + 1);
+            pagina.addAll(semData.subList(0, Math.min(semData.size(), tamanho + 1 - pagina.size())));
+        }
+        boolean temMais = pagina.size() > tamanho;
+        List<TaskDTO> itens = temMais ? pagina.subList(0, tamanho) : pagina;
+        String proximoCursor = temMais ? encodeCursor(itens.get(itens.size() - 1)) : null;
+
+        ClienteResumoDTO resumo = resumoRepository.findById(clienteId)
+                .map(r -> new ClienteResumoDTO(r.getEmAberto(), r.getEmAndamento(), r.getFinalizadas(),
+                        formatar(r.getUltimaVisita()), formatar(r.getProximaVisita())))
+                .orElse(new ClienteResumoDTO(0, 0, 0, null, null));
+        return new ClienteHistoricoDTO(resumo, itens, proximoCursor);
+    }
+
+    // Na transação da escrita. Clientes em ordem de id: duas escritas que tocam os mesmos clientes
+    // travam os resumos na mesma ordem e não entram em deadlock
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Mudancas mudancas) {
+        Map<Long, List<Situacao>> removidas = porCliente(mudancas.removidas);
+        Map<Long, List<Situacao>> adicionadas = porCliente(mudancas.adicionadas);
+        TreeMap<Long, String> clientes = new TreeMap<>();
+        mudancas.removidas.forEach(s -> clientes.putIfAbsent(s.clienteId(), s.empresa()));
+        mudancas.adicionadas.forEach(s -> clientes.putIfAbsent(s.clienteId(), s.empresa()));
+        Instant agora = Instant.now();
+        clientes.forEach((clienteId, empresa) -> {
+            ClienteResumo resumo = travar(clienteId, empresa);
+            aplicar(resumo, removidas.getOrDefault(clienteId, List.of()), adicionadas.getOrDefault(clienteId, List.of()));
+            resumo.setAtualizadoEm(agora);
+        });
+    }
+
+    // Cliente removido: o resumo vai junto (o ClienteService só remove clientes sem tarefas ativas)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apagar(Long clienteId) {
+        resumoRepository.apagar(clienteId);
+    }
+
+    private void aplicar(ClienteResumo resumo, List<Situacao> removidas, List<Situacao> adicionadas) {
+        boolean recalcularUltima = false;
+        boolean recalcularProxima = false;
+        for (Situacao s : removidas) {
+            resumo.contar(s.status(), -1);
+            if (s.data() != null) {
+                recalcularUltima |= FINALIZADO.equals(s.status()) && s.data().equals(resumo.getUltimaVisita());
+                recalcularProxima |= STATUS_PENDENTES.contains(s.status()) && s.data().equals(resumo.getProximaVisita());
+            }
+        }
+        for (Situacao s : adicionadas) {
+            resumo.contar(s.status(), 1);
+            if (s.data() == null) {
+                continue;
+            }
+            if (FINALIZADO.equals(s.status())
+                    && (resumo.getUltimaVisita() == null || s.data().isAfter(resumo.getUltimaVisita()))) {
+                resumo.setUltimaVisita(s.data());
+            } else if (STATUS_PENDENTES.contains(s.status())
+                    && (resumo.getProximaVisita() == null || s.data().isBefore(resumo.getProximaVisita()))) {
+                resumo.setProximaVisita(s.data());
+            }
+        }
+        // As consultas veem as escritas desta transação (flush automático antes da consulta)
+        if (recalcularUltima) {
+            resumo.setUltimaVisita(resumoRepository.calcularUltimaVisita(resumo.getClienteId()));
+        }
+        if (recalcularProxima) {
+            resumo.setProximaVisita(resumoRepository.calcularProximaVisita(resumo.getClienteId()));
+        }
+    }
+
+    // Primeira tarefa do cliente: a linha nasce zerada numa transação própria, para duas escritas
+    // simultâneas não falharem pela chave duplicada; depois as duas a travam normalmente
+    private ClienteResumo travar(Long clienteId, String empresa) {
+        return resumoRepository.travar(clienteId).orElseGet(() -> {
+            try {
+                novaTransacao.executeWithoutResult(
+                        status -> resumoRepository.saveAndFlush(new ClienteResumo(clienteId, empresa)));
+            } catch (DataIntegrityViolationException e) {
+                // criada por outra transação ao mesmo tempo
+            }
+            return resumoRepository.travar(clienteId).orElseThrow();
+        });
+    }
+
+    private static Map<Long, List<Situacao>> porCliente(List<Situacao> situacoes) {
+        Map<Long, List<Situacao>> porCliente = new TreeMap<>();
+        situacoes.forEach(s -> porCliente.computeIfAbsent(s.clienteId(), id -> new ArrayList<>()).add(s));
+        return porCliente;
+    }
+
+    // "d:<data>:<id>" nas tarefas com data; "s:<id>" já nas sem data
+    private static String encodeCursor(TaskDTO ultima) {
+        String valor = ultima.getDataServico() != null
+                ? "d:" + ultima.getDataServico() + ":" + ultima.getId()
+                : "s:" + ultima.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (partes.length == 3 && partes[0].equals("d")) {
+                return new Cursor(LocalDate.parse(partes[1], DATE_FORMATTER), Long.parseLong(partes[2]));
+            }
+            if (partes.length == 2 && partes[0].equals("s")) {
+                return new Cursor(null, Long.parseLong(partes[1]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // cai no erro abaixo
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parâmetros de paginação inválidos.");
+    }
+
+    private static String formatar(LocalDate data) {
+        return data != null ? data.format(DATE_FORMATTER) : null;
+    }
+}
@@ -0,0 +1,179 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.ClienteDTO;
+import com.csemanager.dto.ClienteImportDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Importação de clientes a partir de CSV: lê um registro por vez, valida com as mesmas regras do
+// cadastro e grava em blocos de TAMANHO_BLOCO linhas, cada bloco na sua transação. A memória usada
+// depende do tamanho do bloco e do limite de erros reportados, não do tamanho do arquivo
+@Service
+public class ClienteImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteImportService.class);
+    private static final int TAMANHO_BLOCO = 500;
+    private static final int MAXIMO_ERROS = 1000;
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "telefone", "endereco");
+
+    private final ClienteRepository clienteRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transacao;
+
+    public ClienteImportService(ClienteRepository clienteRepository, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager) {
+        this.clienteRepository = clienteRepository;
+        this.entityManager = entityManager;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    public ClienteImportDTO importar(InputStream arquivo) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo, StandardCharsets.UTF_8), 64 * 1024);
+        // ';' no cabeçalho: arquivo salvo pelo Excel em pt-BR
+        CsvReader csv = new CsvReader(leitor, CsvReader.detectarSeparador(leitor));
+        List<String> cabecalho;
+        try {
+            cabecalho = csv.proximo();
+        } catch (CsvReader.RegistroInvalidoException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cabeçalho inválido: " + e.getMessage() + ".");
+        }
+        if (cabecalho == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo vazio.");
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.putIfAbsent(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!colunas.keySet().containsAll(COLUNAS_OBRIGATORIAS)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cabeçalho deve conter as colunas " + String.join(", ", COLUNAS_OBRIGATORIAS) + ".");
+        }
+
+        Relatorio relatorio = new Relatorio();
+        List<Linha> bloco = new ArrayList<>(TAMANHO_BLOCO);
+        while (true) {
+            List<String> registro;
+            try {
+                registro = csv.proximo();
+            } catch (CsvReader.RegistroInvalidoException e) {
+                relatorio.lidas++;
+                relatorio.rejeitar(e.getLinha(), Map.of("linha", e.getMessage()));
+                continue;
+            }
+            if (registro == null) {
+                break;
+            }
+            relatorio.lidas++;
+            ClienteDTO dto = new ClienteDTO(null,
+                    campo(registro, colunas, "nome"), campo(registro, colunas, "telefone"),
+                    campo(registro, colunas, "endereco"), campo(registro, colunas, "email"),
+                    campo(registro, colunas, "notas"));
+            Map<String, String> erros = ClienteValidador.validar(dto);
+            if (!erros.isEmpty()) {
+                relatorio.rejeitar(csv.linhaAtual(), erros);
+                continue;
+            }
+            bloco.add(new Linha(csv.linhaAtual(), dto));
+            if (bloco.size() == TAMANHO_BLOCO) {
+                gravar(bloco, relatorio);
+                bloco.clear();
+            }
+        }
+        gravar(bloco, relatorio);
+        return relatorio.resultado();
+    }
+
+    // Um bloco por transação; se o banco recusar o bloco, regrava linha a linha para apontar a culpada
+    private void gravar(List<Linha> bloco, Relatorio relatorio) {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        try {
+            persistir(bloco);
+            relatorio.importados += bloco.size();
+        } catch (RuntimeException e) {
+            log.debug("Bloco de importação recusado, regravando linha a linha", e);
+            for (Linha linha : bloco) {
+                try {
+                    persistir(List.of(linha));
+                    relatorio.importados++;
+                } catch (RuntimeException erroLinha) {
+                    relatorio.rejeitar(linha.numero(), Map.of("linha", "Não foi possível gravar o cliente"));
+                }
+            }
+        }
+    }
+
+    private void persistir(List<Linha> linhas) {
+        try {
+            transacao.executeWithoutResult(status -> {
+                for (Linha linha : linhas) {
+                    clienteRepository.save(toEntity(linha.dto()));
+                }
+                entityManager.flush();
+            });
+        } finally {
+            // Com open-in-view o contexto de persistência vive a requisição inteira: descarta o bloco gravado
+            entityManager.clear();
+        }
+    }
+
+    private static Cliente toEntity(ClienteDTO dto) {
+        Cliente c = new Cliente();
+        c.setNome(dto.getNome());
+        c.setTelefone(dto.getTelefone());
+        c.setEndereco(dto.getEndereco());
+        c.setEmail(dto.getEmail());
+        c.setNotas(dto.getNotas());
+        return c;
+    }
+
+    private static String campo(List<String> registro, Map<String, Integer> colunas, String nome) {
+        Integer i = colunas.get(nome);
+        if (i == null || i >= registro.size()) {
+            return null;
+        }
+        String valor = registro.get(i).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private record Linha(long numero, ClienteDTO dto) {}
+
+    private static class Relatorio {
+        long lidas;
+        long importados;
+        long rejeitados;
+        final List<ClienteImportDTO.ErroLinha> erros = new ArrayList<>();
+
+        void rejeitar(long linha, Map<String, String> motivo) {
+            rejeitados++;
+            if (erros.size() < MAXIMO_ERROS) {
+                erros.add(new ClienteImportDTO.ErroLinha(linha, motivo));
+            }
+        }
+
+        ClienteImportDTO resultado() {
+            return new ClienteImportDTO(lidas, importados, rejeitados, erros, rejeitados > erros.size());
+        }
+    }
+}
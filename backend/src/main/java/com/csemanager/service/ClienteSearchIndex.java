@@ -0,0 +1,452 @@
+package com.csemanager.service;
+
+import com.csemanager.config.EmpresaDestinos;
+import com.csemanager.dto.ClienteDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.security.EmpresaAtual;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// Índice invertido em memória para a busca de clientes (nome, telefone, endereço, e-mail).
+// Os termos ficam normalizados (minúsculas, sem acento) em mapas ordenados, então a busca por
+// prefixo é um intervalo do mapa. Cada termo aponta para um array ordenado de ids, trocado
+// inteiro a cada escrita (copy-on-write): a leitura nunca bloqueia. Um índice por empresa: a busca só
+// percorre os clientes da empresa da requisição.
+@Service
+public class ClienteSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteSearchIndex.class);
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final int LOTE_CARGA = 1000;
+    // Teto de candidatos avaliados por consulta: mantém prefixos muito curtos ("a") em poucos ms
+    private static final int MAX_CANDIDATOS = 20_000;
+
+    private record Documento(ClienteDTO cliente, String[] termosNome, String[] outrosTermos) {}
+
+    private record Resultado(Documento doc, int pontos) {}
+
+    // Ids de um intervalo de termos e a pontuação máxima que o token base rende neles
+    private record Candidatos(long[] ids, int peso) {}
+
+    // Documentos e termos de uma empresa
+    private record Particao(Map<Long, Documento> documentos, ConcurrentSkipListMap<String, long[]> termosNome,
+                            ConcurrentSkipListMap<String, long[]> outrosTermos) {
+
+        static Particao vazia() {
+            return new Particao(new ConcurrentHashMap<>(), new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>());
+        }
+    }
+
+    private final ClienteRepository clienteRepository;
+    private final EmpresaDestinos destinos;
+    private volatile Map<String, Particao> particoes = new ConcurrentHashMap<>();
+    // Escritas feitas durante uma recarga: aplicadas de novo sobre o índice novo depois da troca
+    private List<Runnable> pendentes;
+
+    public ClienteSearchIndex(ClienteRepository clienteRepository, EmpresaDestinos destinos) {
+        this.clienteRepository = clienteRepository;
+        this.destinos = destinos;
+    }
+
+    // Carga inicial em lotes por id, de todas as empresas (na raiz de cada destino); o índice novo só
+    // substitui o atual quando está completo. O que for gravado enquanto isso vai para o índice atual e
+    // fica guardado para ser reaplicado no novo (a carga pode já ter lido a linha ou não)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        synchronized (this) {
+            pendentes = new ArrayList<>();
+        }
+        Map<String, Particao> novas = new ConcurrentHashMap<>();
+        try {
+            Map<String, Carga> cargas = new HashMap<>();
+            for (String raiz : destinos.raizes()) {
+                EmpresaAtual.executar(raiz, () -> carregar(cargas));
+            }
+            cargas.forEach((empresa, carga) -> novas.put(empresa, carga.particao()));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendentes = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            particoes = novas;
+            pendentes.forEach(Runnable::run);
+            pendentes = null;
+        }
+        log.info("Índice de clientes carregado: {} documentos, {} termos, {} empresas em {} ms",
+                novas.values().stream().mapToInt(p -> p.documentos().size()).sum(),
+                novas.values().stream().mapToInt(p -> p.termosNome().size() + p.outrosTermos().size()).sum(),
+                novas.size(), System.currentTimeMillis() - inicio);
+    }
+
+    private void carregar(Map<String, Carga> cargas) {
+        long ultimoId = 0L;
+        List<Cliente> lote;
+        do {
+            lote = clienteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(LOTE_CARGA));
+            for (Cliente c : lote) {
+                cargas.computeIfAbsent(empresa(c), e -> new Carga()).adicionar(c);
+                ultimoId = c.getId();
+            }
+        } while (lote.size() == LOTE_CARGA);
+    }
+
+    public synchronized void indexar(Cliente c) {
+        String empresa = empresa(c);
+        Long id = c.getId();
+        Documento doc = documento(c);
+        aplicar(() -> indexar(empresa, id, doc));
+    }
+
+    // Pela empresa e o id: empresas em destinos diferentes (banco ou schema próprio) podem repetir ids
+    public synchronized void remover(String empresa, Long id) {
+        aplicar(() -> retirar(empresa, id));
+    }
+
+    private void aplicar(Runnable mudanca) {
+        mudanca.run();
+        if (pendentes != null) {
+            pendentes.add(mudanca);
+        }
+    }
+
+    private void indexar(String empresa, Long id, Documento doc) {
+        retirar(empresa, id);
+        Particao particao = particoes.computeIfAbsent(empresa, e -> Particao.vazia());
+        particao.documentos().put(id, doc);
+        for (String termo : doc.termosNome()) {
+            particao.termosNome().merge(termo, new long[] {id}, (ids, novo) -> inserir(ids, novo[0]));
+        }
+        for (String termo : doc.outrosTermos()) {
+            particao.outrosTermos().merge(termo, new long[] {id}, (ids, novo) -> inserir(ids, novo[0]));
+        }
+    }
+
+    private void retirar(String empresa, Long id) {
+        Particao particao = particoes.get(empresa);
+        Documento antigo = particao == null ? null : particao.documentos().remove(id);
+        if (antigo == null) {
+            return;
+        }
+        for (String termo : antigo.termosNome()) {
+            desindexar(particao.termosNome(), termo, id);
+        }
+        for (String termo : antigo.outrosTermos()) {
+            desindexar(particao.outrosTermos(), termo, id);
+        }
+    }
+
+    // Todos os termos da consulta precisam casar (por prefixo); devolve os K melhores
+    public List<ClienteDTO> buscar(String consulta, int limite) {
+        List<String> tokens = tokensConsulta(consulta);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Particao particao = particoes.get(EmpresaAtual.obter());
+        if (particao == null) {
+            return List.of();
+        }
+        Map<Long, Documento> docs = particao.documentos();
+        ConcurrentSkipListMap<String, long[]> nome = particao.termosNome();
+        ConcurrentSkipListMap<String, long[]> outros = particao.outrosTermos();
+
+        // Gera os candidatos a partir do token mais seletivo (menos ids no intervalo)
+        List<Candidatos> candidatos = null;
+        long menorTotal = Long.MAX_VALUE;
+        int somaMaximos = 0;
+        int maximoBase = 0;
+        for (String token : tokens) {
+            int maximo = pontuacaoMaxima(nome, outros, token);
+            if (maximo == 0) {
+                return List.of();
+            }
+            somaMaximos += maximo;
+            List<Candidatos> listas = new ArrayList<>();
+            long teto = Math.min(menorTotal, MAX_CANDIDATOS);
+            long total = coletar(nome, token, 4, listas, teto);
+            total += coletar(outros, token, 2, listas, teto - total);
+            if (total < menorTotal) {
+                candidatos = listas;
+                menorTotal = total;
+                maximoBase = maximo;
+            }
+        }
+        int tetoOutrosTokens = somaMaximos - maximoBase;
+
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1, ClienteSearchIndex::comparar);
+        Set<Long> vistos = new HashSet<>();
+        int avaliados = 0;
+        percorre:
+        for (Candidatos lista : candidatos) {
+            int teto = lista.peso() + tetoOutrosTokens;
+            for (long id : lista.ids()) {
+                // As listas vêm da maior para a menor pontuação possível: quando os K encontrados
+                // já têm o teto, nenhum candidato restante pode superá-los (só empatar)
+                if (++avaliados > MAX_CANDIDATOS
+                        || (melhores.size() == limite && melhores.peek().pontos() >= teto)) {
+                    break percorre;
+                }
+                if (vistos.contains(id)) {
+                    continue;
+                }
+                Documento doc = docs.get(id);
+                if (doc == null) {
+                    continue;
+                }
+                int pontos = pontuar(doc, tokens);
+                if (pontos == 0) {
+                    continue;
+                }
+                Resultado resultado = new Resultado(doc, pontos);
+                if (melhores.size() == limite && comparar(resultado, melhores.peek()) <= 0) {
+                    continue;
+                }
+                vistos.add(id);
+                melhores.add(resultado);
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+        }
+
+        List<ClienteDTO> resultado = new ArrayList<>(melhores.size());
+        while (!melhores.isEmpty()) {
+            resultado.add(melhores.poll().doc().cliente());
+        }
+        return resultado.reversed();
+    }
+
+    // Mais pontos primeiro; no empate, nome mais curto e depois o id menor
+    private static int comparar(Resultado a, Resultado b) {
+        if (a.pontos() != b.pontos()) {
+            return Integer.compare(a.pontos(), b.pontos());
+        }
+        int tamanho = Integer.compare(b.doc().cliente().getNome().length(), a.doc().cliente().getNome().length());
+        if (tamanho != 0) {
+            return tamanho;
+        }
+        return Long.compare(b.doc().cliente().getId(), a.doc().cliente().getId());
+    }
+
+    // Acrescenta o termo exato (peso cheio) e os termos com o prefixo (peso - 1), até o limite de ids
+    private static long coletar(ConcurrentSkipListMap<String, long[]> termos, String token, int peso,
+                                List<Candidatos> listas, long limite) {
+        long total = 0;
+        long[] exato = termos.get(token);
+        if (exato != null) {
+            listas.add(new Candidatos(exato, peso));
+            total += exato.length;
+        }
+        for (long[] ids : termos.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+            if (total >= limite) {
+                break;
+            }
+            listas.add(new Candidatos(ids, peso - 1));
+            total += ids.length;
+        }
+        return total;
+    }
+
+    private static int pontuacaoMaxima(ConcurrentSkipListMap<String, long[]> nome,
+                                       ConcurrentSkipListMap<String, long[]> outros, String token) {
+        if (nome.containsKey(token)) {
+            return 4;
+        }
+        if (temPrefixo(nome, token)) {
+            return 3;
+        }
+        if (outros.containsKey(token)) {
+            return 2;
+        }
+        return temPrefixo(outros, token) ? 1 : 0;
+    }
+
+    private static boolean temPrefixo(ConcurrentSkipListMap<String, long[]> termos, String token) {
+        String proximo = termos.ceilingKey(token);
+        return proximo != null && proximo.startsWith(token);
+    }
+
+    // Termo exato vale mais que prefixo, e casar no nome vale mais que nos outros campos
+    private static int pontuar(Documento doc, List<String> tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            int pontos = Math.max(pontosCampo(doc.termosNome(), token, 4), pontosCampo(doc.outrosTermos(), token, 2));
+            if (pontos == 0) {
+                return 0;
+            }
+            total += pontos;
+        }
+        return total;
+    }
+
+    private static int pontosCampo(String[] campo, String token, int peso) {
+        int pontos = 0;
+        for (String termo : campo) {
+            if (termo.equals(token)) {
+                return peso;
+            }
+            if (termo.startsWith(token)) {
+                pontos = peso - 1;
+            }
+        }
+        return pontos;
+    }
+
+    // Cliente ainda sem empresa (não persistido) fica na da requisição, onde será gravado
+    private static String empresa(Cliente c) {
+        return c.getEmpresa() != null ? c.getEmpresa() : EmpresaAtual.obter();
+    }
+
+    private static Documento documento(Cliente c) {
+        ClienteDTO resumo = new ClienteDTO(c.getId(), c.getNome(), c.getTelefone(), c.getEndereco(), c.getEmail(), null);
+        Set<String> nome = new LinkedHashSet<>(tokenizar(c.getNome()));
+        Set<String> outros = new LinkedHashSet<>();
+        outros.addAll(tokenizar(c.getEndereco()));
+        outros.addAll(tokenizar(c.getEmail()));
+        outros.addAll(termosTelefone(c.getTelefone()));
+        return new Documento(resumo, nome.toArray(String[]::new), outros.toArray(String[]::new));
+    }
+
+    private static void desindexar(ConcurrentSkipListMap<String, long[]> termos, String termo, Long id) {
+        termos.computeIfPresent(termo, (t, ids) -> {
+            long[] restantes = excluir(ids, id);
+            return restantes.length == 0 ? null : restantes;
+        });
+    }
+
+    private static long[] inserir(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        int ponto = -pos - 1;
+        long[] novo = new long[ids.length + 1];
+        System.arraycopy(ids, 0, novo, 0, ponto);
+        novo[ponto] = id;
+        System.arraycopy(ids, ponto, novo, ponto + 1, ids.length - ponto);
+        return novo;
+    }
+
+    private static long[] excluir(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids;
+        }
+        long[] novo = new long[ids.length - 1];
+        System.arraycopy(ids, 0, novo, 0, pos);
+        System.arraycopy(ids, pos + 1, novo, pos, ids.length - pos - 1);
+        return novo;
+    }
+
+    private static List<String> tokensConsulta(String consulta) {
+        if (consulta == null || consulta.isBlank()) {
+            return List.of();
+        }
+        // Consulta só com dígitos e pontuação é tratada como telefone: "(11) 9876-5" -> "1198765"
+        if (consulta.chars().noneMatch(Character::isLetter)) {
+            String digitos = consulta.replaceAll("\\D", "");
+            return digitos.isEmpty() ? List.of() : List.of(digitos);
+        }
+        return tokenizar(consulta);
+    }
+
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Telefone indexado só com dígitos, com e sem DDI/DDD, para casar "5511987654321", "11987654321" ou "987654321"
+    static List<String> termosTelefone(String telefone) {
+        if (telefone == null) {
+            return List.of();
+        }
+        String digitos = telefone.replaceAll("\\D", "");
+        Set<String> termos = new LinkedHashSet<>();
+        if (!digitos.isEmpty()) {
+            termos.add(digitos);
+        }
+        for (int tamanho : new int[] {11, 9, 8}) {
+            if (digitos.length() > tamanho) {
+                termos.add(digitos.substring(digitos.length() - tamanho));
+            }
+        }
+        return new ArrayList<>(termos);
+    }
+
+    // Partição de uma empresa em montagem durante a carga inicial
+    private static final class Carga {
+        private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+        private final Map<String, ListaIds> nome = new HashMap<>();
+        private final Map<String, ListaIds> outros = new HashMap<>();
+
+        void adicionar(Cliente c) {
+            Documento doc = documento(c);
+            documentos.put(c.getId(), doc);
+            for (String termo : doc.termosNome()) {
+                nome.computeIfAbsent(termo, t -> new ListaIds()).adicionar(c.getId());
+            }
+            for (String termo : doc.outrosTermos()) {
+                outros.computeIfAbsent(termo, t -> new ListaIds()).adicionar(c.getId());
+            }
+        }
+
+        Particao particao() {
+            ConcurrentSkipListMap<String, long[]> termosNome = new ConcurrentSkipListMap<>();
+            nome.forEach((termo, ids) -> termosNome.put(termo, ids.toArray()));
+            ConcurrentSkipListMap<String, long[]> outrosTermos = new ConcurrentSkipListMap<>();
+            outros.forEach((termo, ids) -> outrosTermos.put(termo, ids.toArray()));
+            return new Particao(documentos, termosNome, outrosTermos);
+        }
+    }
+
+    // Lista de ids sem boxing, usada só durante a carga inicial (ids chegam em ordem crescente)
+    private static final class ListaIds {
+        private long[] ids = new long[4];
+        private int tamanho;
+
+        void adicionar(long id) {
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho * 2);
+            }
+            ids[tamanho++] = id;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, tamanho);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.csemanager.service;
+
+import com.csemanager.model.Cliente;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Mantém o índice de busca em sincronia com as escritas em clientes, só depois do commit
+@Component
+public class ClienteSearchListener {
+
+    private final ObjectProvider<ClienteSearchIndex> index;
+
+    public ClienteSearchListener(ObjectProvider<ClienteSearchIndex> index) {
+        this.index = index;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void salvo(Cliente cliente) {
+        aposCommit(() -> index.ifAvailable(i -> i.indexar(cliente)));
+    }
+
+    @PostRemove
+    public void removido(Cliente cliente) {
+        String empresa = cliente.getEmpresa();
+        Long id = cliente.getId();
+        aposCommit(() -> index.ifAvailable(i -> i.remover(empresa, id)));
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.csemanager.service;
+
+import com.csemanager.model.Task;
+import com.csemanager.repository.ClienteRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Escritas em clientes que precisam de mais de um comando na mesma transação
+@Service
+public class ClienteService {
+
+    private final ClienteRepository repository;
+    private final SincronizacaoService sincronizacao;
+    private final EntityManager entityManager;
+    private final ClienteHistoricoService historico;
+
+    public ClienteService(ClienteRepository repository, SincronizacaoService sincronizacao,
+                          EntityManager entityManager, ClienteHistoricoService historico) {
+        this.repository = repository;
+        this.sincronizacao = sincronizacao;
+        this.entityManager = entityManager;
+        this.historico = historico;
+    }
+
+    // Remove e deixa o registro de exclusão para o delta dos clientes
+    @Transactional
+    public boolean deletar(Long id) {
+        return repository.findById(id)
+                .map(cliente -> {
+                    desvincularTarefasExcluidas(id);
+                    repository.delete(cliente);
+                    historico.apagar(id);
+                    sincronizacao.registrarExclusao(SincronizacaoService.CLIENTES, id);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    // Tarefas removidas logicamente continuam na tabela com a chave estrangeira para o cliente; só as
+    // ativas devem impedir a remoção. SQL nativo porque o @SQLRestriction da Task esconde essas linhas
+    private void desvincularTarefasExcluidas(Long clienteId) {
+        entityManager.createNativeQuery(
+                        "UPDATE tarefas SET cliente_id = NULL WHERE cliente_id = :clienteId AND excluido_em IS NOT NULL")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Task.class)
+                .setParameter("clienteId", clienteId)
+                .executeUpdate();
+    }
+}
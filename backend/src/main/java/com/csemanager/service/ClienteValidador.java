@@ -0,0 +1,27 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.ClienteDTO;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Regras de validação de cliente, compartilhadas pelo cadastro, edição e importação em lote
+public final class ClienteValidador {
+
+    private ClienteValidador() {
+    }
+
+    public static Map<String, String> validar(ClienteDTO dto) {
+        Map<String, String> errors = new HashMap<>();
+        if (dto.getNome() == null || dto.getNome().isBlank()) {
+            errors.put("nome", "O nome é obrigatório");
+        }
+        if (dto.getTelefone() == null || dto.getTelefone().isBlank()) {
+            errors.put("telefone", "O telefone é obrigatório");
+        }
+        if (dto.getEndereco() == null || dto.getEndereco().isBlank()) {
+            errors.put("endereco", "O endereço é obrigatório");
+        }
+        return errors;
+    }
+}
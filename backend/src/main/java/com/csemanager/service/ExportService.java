@@ -0,0 +1,146 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.ClienteDTO;
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.TaskRepository;
+import com.csemanager.security.EmpresaAtual;
+import com.csemanager.util.Csv;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Exportação de clientes e tarefas linha a linha: o banco entrega os registros por cursor
+// (fetch size) e cada linha vai direto para a resposta, então a memória não cresce com a base
+@Service
+public class ExportService {
+
+    public enum Formato { CSV, NDJSON }
+
+    private static final int BUFFER = 64 * 1024;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson;charset=UTF-8");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final TaskRepository taskRepository;
+    private final ClienteRepository clienteRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate somenteLeitura;
+
+    public ExportService(TaskRepository taskRepository, ClienteRepository clienteRepository,
+                         ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.clienteRepository = clienteRepository;
+        this.objectMapper = objectMapper;
+        this.somenteLeitura = new TransactionTemplate(transactionManager);
+        this.somenteLeitura.setReadOnly(true);
+    }
+
+    public static Formato formato(String valor) {
+        try {
+            return Formato.valueOf(valor.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato inválido: use csv ou ndjson.");
+        }
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportarTarefas(Formato formato, boolean gzip) {
+        return resposta("tarefas", formato, gzip, out -> escrever(out, formato, taskRepository::streamTodas,
+                new String[] {"id", "titulo", "descricao", "status", "prioridade", "clienteId", "clienteNome",
+                        "clienteEndereco", "dataServico"},
+                (TaskDTO t) -> new Object[] {t.getId(), t.getTitulo(), t.getDescricao(), t.getStatus(),
+                        t.getPrioridade(), t.getClienteId(), t.getClienteNome(), t.getClienteEndereco(),
+                        t.getDataServico()}));
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportarClientes(Formato formato, boolean gzip) {
+        return resposta("clientes", formato, gzip, out -> escrever(out, formato, clienteRepository::streamTodos,
+                new String[] {"id", "nome", "telefone", "endereco", "email", "notas"},
+                (ClienteDTO c) -> new Object[] {c.getId(), c.getNome(), c.getTelefone(), c.getEndereco(),
+                        c.getEmail(), c.getNotas()}));
+    }
+
+    // O corpo é escrito depois, na thread assíncrona do MVC, quando o SecurityFilter já limpou a empresa:
+    // ela é lida aqui, na thread da requisição, e definida de novo em volta da escrita
+    private ResponseEntity<StreamingResponseBody> resposta(String nome, Formato formato, boolean gzip,
+                                                           StreamingResponseBody escrita) {
+        String empresa = EmpresaAtual.obter();
+        StreamingResponseBody corpo = out -> {
+            try {
+                EmpresaAtual.executar(empresa, () -> {
+                    try {
+                        escrita.writeTo(out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        String extensao = formato == Formato.CSV ? ".csv" : ".ndjson";
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(formato == Formato.CSV ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nome + extensao + "\"");
+        if (!gzip) {
+            return builder.body(corpo);
+        }
+        // gzip também em fluxo: cada bloco comprimido sai assim que o buffer enche
+        return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    GZIPOutputStream compactado = new GZIPOutputStream(out, BUFFER);
+                    corpo.writeTo(compactado);
+                    compactado.finish();
+                });
+    }
+
+    // O Stream<T> só vive dentro de uma transação somente leitura, aberta na thread que escreve a resposta
+    private <T> void escrever(OutputStream destino, Formato formato, Supplier<Stream<T>> fonte,
+                              String[] cabecalho, Function<T, Object[]> colunas) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), BUFFER);
+        if (formato == Formato.CSV) {
+            Csv.escreverLinha(out, (Object[]) cabecalho);
+        }
+        try {
+            somenteLeitura.executeWithoutResult(status -> {
+                try (Stream<T> linhas = fonte.get()) {
+                    Iterator<T> it = linhas.iterator();
+                    while (it.hasNext()) {
+                        T linha = it.next();
+                        if (formato == Formato.CSV) {
+                            Csv.escreverLinha(out, colunas.apply(linha));
+                        } else {
+                            out.write(objectMapper.writeValueAsString(linha));
+                            out.write('\n');
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,14 @@
+package com.csemanager.service;
+
+import java.util.Optional;
+
+// Endereço -> coordenadas, para a rota do dia (RotaService). O resultado fica gravado no Cliente e só é
+// pedido de novo quando o endereço muda, então a implementação pode ser lenta. A padrão é local (arquivo,
+// GeocodificadorArquivo) e funciona sem internet; outra implementação registrada como bean a substitui
+public interface Geocodificador {
+
+    record Coordenada(double latitude, double longitude) {}
+
+    // Vazio quando o endereço não é encontrado
+    Optional<Coordenada> localizar(String endereco);
+}
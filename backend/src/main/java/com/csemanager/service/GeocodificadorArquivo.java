@@ -0,0 +1,63 @@
+package com.csemanager.service;
+
+import com.csemanager.util.CsvReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Geocodificação offline: CSV "endereco;latitude;longitude" (rota.geocoder.arquivo) carregado em memória
+// na inicialização. O endereço é comparado sem acentos, maiúsculas e pontuação ("Rua São João, 10" casa
+// com "rua sao joao 10"). Sem arquivo, nenhum endereço é encontrado e as tarefas saem sem posição na rota
+public class GeocodificadorArquivo implements Geocodificador {
+
+    private static final Logger log = LoggerFactory.getLogger(GeocodificadorArquivo.class);
+
+    private final Map<String, Coordenada> enderecos;
+
+    public GeocodificadorArquivo(Path arquivo) {
+        this.enderecos = arquivo == null ? Map.of() : carregar(arquivo);
+    }
+
+    @Override
+    public Optional<Coordenada> localizar(String endereco) {
+        return Optional.ofNullable(enderecos.get(chave(endereco)));
+    }
+
+    static String chave(String endereco) {
+        return String.join(" ", ClienteSearchIndex.tokenizar(endereco));
+    }
+
+    private static Map<String, Coordenada> carregar(Path arquivo) {
+        Map<String, Coordenada> enderecos = new HashMap<>();
+        try (BufferedReader in = Files.newBufferedReader(arquivo, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(in, ';');
+            List<String> campos;
+            while ((campos = csv.proximo()) != null) {
+                if (campos.size() < 3) {
+                    continue;
+                }
+                try {
+                    enderecos.put(chave(campos.get(0)), new Coordenada(
+                            Double.parseDouble(campos.get(1).trim()), Double.parseDouble(campos.get(2).trim())));
+                } catch (NumberFormatException e) {
+                    // Cabeçalho ou linha inválida
+                    log.debug("Linha {} de {} ignorada", csv.linhaAtual(), arquivo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler " + arquivo, e);
+        }
+        log.info("{} endereços carregados para geocodificação de {}", enderecos.size(), arquivo);
+        return enderecos;
+    }
+}
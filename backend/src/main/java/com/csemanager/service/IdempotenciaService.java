@@ -0,0 +1,140 @@
+package com.csemanager.service;
+
+import com.csemanager.model.User;
+import com.csemanager.security.EmpresaAtual;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Cabeçalho Idempotency-Key nas criações (POST /api/tarefas, /api/clientes): o reenvio de uma requisição
+// já atendida devolve a mesma resposta sem executar de novo, e reenvios simultâneos esperam a primeira
+// execução (single-flight) em vez de correr em paralelo. Chaves por usuário, em memória, com limite e TTL;
+// só respostas 2xx ficam guardadas, então um reenvio depois de erro (ex.: validação) executa de novo
+@Service
+public class IdempotenciaService {
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private record Execucao(byte[] impressao, CompletableFuture<ResponseEntity<?>> resposta) {}
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Execucao> execucoes;
+    private final Duration espera;
+    private final Counter repetidas;
+
+    public IdempotenciaService(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${idempotency.max-keys:100000}") long maximoChaves,
+                               @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                               @Value("${idempotency.wait-timeout:PT30S}") Duration espera) {
+        this.objectMapper = objectMapper;
+        this.espera = espera;
+        this.execucoes = Caffeine.newBuilder()
+                .maximumSize(maximoChaves)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, execucoes, "idempotency");
+        this.repetidas = Counter.builder("idempotency.replayed")
+                .description("Requisições com Idempotency-Key atendidas com a resposta guardada")
+                .register(meterRegistry);
+    }
+
+    // Sem chave, só executa. "corpo" identifica a requisição: a mesma chave com outro corpo é recusada (422)
+    public ResponseEntity<?> executar(String chave, String operacao, Object corpo, Supplier<ResponseEntity<?>> acao) {
+        if (chave == null) {
+            return acao.get();
+        }
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key inválida.");
+        }
+        String id = EmpresaAtual.obter() + "|" + usuario() + "|" + operacao + "|" + chave;
+        Execucao nova = new Execucao(impressao(corpo), new CompletableFuture<>());
+        Execucao existente = execucoes.asMap().putIfAbsent(id, nova);
+        if (existente == null) {
+            return executarPrimeira(id, nova, acao);
+        }
+        if (!Arrays.equals(existente.impressao(), nova.impressao())) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key já usada com outro conteúdo.");
+        }
+        ResponseEntity<?> guardada = aguardar(existente);
+        repetidas.increment();
+        return ResponseEntity.status(guardada.getStatusCode())
+                .headers(guardada.getHeaders())
+                .header(CABECALHO_REPETIDA, "true")
+                .body(guardada.getBody());
+    }
+
+    private ResponseEntity<?> executarPrimeira(String id, Execucao execucao, Supplier<ResponseEntity<?>> acao) {
+        ResponseEntity<?> resposta;
+        try {
+            resposta = acao.get();
+        } catch (RuntimeException | Error e) {
+            execucoes.asMap().remove(id, execucao);
+            execucao.resposta().completeExceptionally(e);
+            throw e;
+        }
+        if (!resposta.getStatusCode().is2xxSuccessful()) {
+            execucoes.asMap().remove(id, execucao);
+        }
+        execucao.resposta().complete(resposta);
+        return resposta;
+    }
+
+    // Reenvio enquanto a primeira ainda executa: espera o resultado dela (ou a mesma falha)
+    private ResponseEntity<?> aguardar(Execucao execucao) {
+        try {
+            return execucao.resposta().get(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Requisição original ainda em andamento.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrompido aguardando a requisição original.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static String usuario() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null && autenticacao.getPrincipal() instanceof User user
+                ? String.valueOf(user.getId()) : "-";
+    }
+
+    private byte[] impressao(Object corpo) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(corpo));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.csemanager.service;
+
+import com.csemanager.model.Orcamento;
+import com.csemanager.model.OrcamentoItem;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.Image;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+import javax.imageio.ImageIO;
+
+// Layout do orçamento (o mesmo que o frontend gerava com jsPDF). Logo e fontes são carregados
+// uma vez; cada documento usa uma cópia do logo já decodificado
+@Component
+public class OrcamentoPdfRenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(OrcamentoPdfRenderer.class);
+
+    private static final Locale PT_BR = Locale.of("pt", "BR");
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final Font TITULO = new Font(Font.HELVETICA, 14, Font.BOLD);
+    private static final Font SECAO = new Font(Font.HELVETICA, 13, Font.BOLD);
+    private static final Font NEGRITO = new Font(Font.HELVETICA, 12, Font.BOLD);
+    private static final Font NORMAL = new Font(Font.HELVETICA, 12, Font.NORMAL);
+    private static final Font PEQUENO = new Font(Font.HELVETICA, 11, Font.NORMAL);
+    private static final Color CINZA = new Color(230, 230, 230);
+
+    private static final String EMPRESA = "CSE & REFRIGERAÇÃO";
+    private static final List<String> DADOS_EMPRESA = List.of(
+            "CNPJ: 21.935.339/0001-50",
+            "Rua São Jerônimo, 465",
+            "Novo Maranguape II, Maranguape-CE",
+            "CEP 61944-620",
+            "cserefrigeracaowy@gmail.com - (85) 98717-5445"
+    );
+    private static final String PAGAMENTO =
+            "Meios de pagamento: Boleto, transferência bancária, dinheiro, cheque, cartão ou pix.";
+    private static final String CIDADE = "Maranguape";
+    private static final String RESPONSAVEL = "Weyne Arruda";
+    // O logo ocupa 120pt no PDF: 500px já dão ~300dpi, sem embutir o PNG original (1024px) em cada orçamento
+    private static final int LADO_MAXIMO_LOGO = 500;
+
+    private final Image logo;
+
+    public OrcamentoPdfRenderer(@Value("classpath:orcamento/logo-cse.png") Resource logo) {
+        this.logo = carregarLogo(logo);
+    }
+
+    public byte[] renderizar(Orcamento orcamento) {
+        NumberFormat moeda = NumberFormat.getCurrencyInstance(PT_BR);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        Document documento = new Document(PageSize.A4, 36, 36, 48, 36);
+        try {
+            PdfWriter.getInstance(documento, out);
+            documento.open();
+            documento.add(cabecalho());
+            documento.add(faixaTitulo("Orçamento " + orcamento.getNumero()));
+
+            Paragraph cliente = new Paragraph();
+            cliente.setSpacingAfter(10);
+            cliente.add(new Phrase("Cliente: " + orcamento.getClienteNome() + "\n", NORMAL));
+            cliente.add(new Phrase("Telefone: " + orcamento.getClienteTelefone(), NORMAL));
+            documento.add(cliente);
+
+            List<OrcamentoItem> servicos = itens(orcamento, "SERVICO");
+            documento.add(secao("Serviços"));
+            documento.add(tabelaItens(servicos, "Total Serviços:", orcamento.getTotalServicos(), moeda));
+
+            List<OrcamentoItem> equipamentos = itens(orcamento, "EQUIPAMENTO");
+            if (!equipamentos.isEmpty()) {
+                documento.add(secao("Equipamentos"));
+                documento.add(tabelaItens(equipamentos, "Total Equipamentos:", orcamento.getTotalEquipamentos(), moeda));
+            }
+
+            PdfPTable geral = tabelaValores();
+            geral.addCell(celula("Total Geral:", NEGRITO, Element.ALIGN_LEFT));
+            geral.addCell(celula(moeda.format(orcamento.getTotalGeral()), NEGRITO, Element.ALIGN_RIGHT));
+            geral.setSpacingAfter(18);
+            documento.add(geral);
+
+            documento.add(new Paragraph("Pagamento", NEGRITO));
+            Paragraph pagamento = new Paragraph(PAGAMENTO, PEQUENO);
+            pagamento.setSpacingAfter(18);
+            documento.add(pagamento);
+
+            Paragraph data = new Paragraph(CIDADE + ", " + orcamento.getCriadoEm().format(DATA), PEQUENO);
+            data.setSpacingAfter(30);
+            documento.add(data);
+            documento.add(new Paragraph("_____________________________________", PEQUENO));
+            documento.add(new Paragraph(EMPRESA, NEGRITO));
+            documento.add(new Paragraph(RESPONSAVEL, NEGRITO));
+        } catch (DocumentException e) {
+            throw new IllegalStateException("Falha ao gerar o PDF do orçamento", e);
+        } finally {
+            documento.close();
+        }
+        return out.toByteArray();
+    }
+
+    private PdfPTable cabecalho() throws DocumentException {
+        PdfPTable tabela = new PdfPTable(logo != null ? 2 : 1);
+        tabela.setWidthPercentage(100);
+        if (logo != null) {
+            tabela.setWidths(new float[] {1, 3});
+            Image copia = Image.getInstance(logo);
+            copia.scaleToFit(120, 120);
+            PdfPCell celulaLogo = new PdfPCell(copia, false);
+            celulaLogo.setBorder(Rectangle.NO_BORDER);
+            tabela.addCell(celulaLogo);
+        }
+        Paragraph dados = new Paragraph();
+        dados.add(new Phrase(EMPRESA + "\n", NEGRITO));
+        for (String linha : DADOS_EMPRESA) {
+            dados.add(new Phrase(linha + "\n", NORMAL));
+        }
+        PdfPCell celulaDados = new PdfPCell();
+        celulaDados.addElement(dados);
+        celulaDados.setBorder(Rectangle.NO_BORDER);
+        celulaDados.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        tabela.addCell(celulaDados);
+        tabela.setSpacingAfter(16);
+        return tabela;
+    }
+
+    private static PdfPTable faixaTitulo(String titulo) {
+        PdfPTable faixa = new PdfPTable(1);
+        faixa.setWidthPercentage(100);
+        PdfPCell celula = new PdfPCell(new Phrase(titulo, TITULO));
+        celula.setBackgroundColor(CINZA);
+        celula.setBorder(Rectangle.NO_BORDER);
+        celula.setPadding(6);
+        faixa.addCell(celula);
+        faixa.setSpacingAfter(14);
+        return faixa;
+    }
+
+    private static Paragraph secao(String titulo) {
+        Paragraph paragrafo = new Paragraph(titulo, SECAO);
+        paragrafo.setSpacingAfter(4);
+        return paragrafo;
+    }
+
+    private static PdfPTable tabelaItens(List<OrcamentoItem> itens, String rotuloTotal, BigDecimal total,
+                                         NumberFormat moeda) {
+        PdfPTable tabela = tabelaValores();
+        for (OrcamentoItem item : itens) {
+            String descricao = item.getDescricao() == null || item.getDescricao().isBlank()
+                    ? "sem nome" : item.getDescricao();
+            PdfPCell celulaDescricao = celula("- " + descricao, NORMAL, Element.ALIGN_LEFT);
+            celulaDescricao.setPaddingLeft(12);
+            tabela.addCell(celulaDescricao);
+            tabela.addCell(celula(moeda.format(item.getValor()), NORMAL, Element.ALIGN_RIGHT));
+        }
+        PdfPCell celulaTotal = celula(rotuloTotal, NEGRITO, Element.ALIGN_LEFT);
+        celulaTotal.setPaddingTop(6);
+        tabela.addCell(celulaTotal);
+        PdfPCell valorTotal = celula(moeda.format(total), NEGRITO, Element.ALIGN_RIGHT);
+        valorTotal.setPaddingTop(6);
+        tabela.addCell(valorTotal);
+        tabela.setSpacingAfter(14);
+        return tabela;
+    }
+
+    private static PdfPTable tabelaValores() {
+        PdfPTable tabela = new PdfPTable(new float[] {5, 1.4f});
+        tabela.setWidthPercentage(100);
+        return tabela;
+    }
+
+    private static PdfPCell celula(String texto, Font fonte, int alinhamento) {
+        PdfPCell celula = new PdfPCell(new Phrase(texto, fonte));
+        celula.setBorder(Rectangle.NO_BORDER);
+        celula.setHorizontalAlignment(alinhamento);
+        celula.setPadding(2);
+        return celula;
+    }
+
+    private static List<OrcamentoItem> itens(Orcamento orcamento, String tipo) {
+        return orcamento.getItens().stream().filter(i -> tipo.equals(i.getTipo())).toList();
+    }
+
+    private static Image carregarLogo(Resource recurso) {
+        if (!recurso.exists()) {
+            log.warn("Logo do orçamento não encontrado em {}; PDFs sairão sem logo", recurso);
+            return null;
+        }
+        try (InputStream in = recurso.getInputStream()) {
+            return Image.getInstance(reduzir(in.readAllBytes()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Não foi possível carregar o logo do orçamento; PDFs sairão sem logo", e);
+            return null;
+        }
+    }
+
+    private static byte[] reduzir(byte[] png) throws IOException {
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(png));
+        if (original == null || Math.max(original.getWidth(), original.getHeight()) <= LADO_MAXIMO_LOGO) {
+            return png;
+        }
+        double escala = (double) LADO_MAXIMO_LOGO / Math.max(original.getWidth(), original.getHeight());
+        int largura = (int) Math.round(original.getWidth() * escala);
+        int altura = (int) Math.round(original.getHeight() * escala);
+        BufferedImage reduzida = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = reduzida.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(original, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(reduzida, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,136 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.OrcamentoArquivoDTO;
+import com.csemanager.dto.OrcamentoRequestDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Orcamento;
+import com.csemanager.model.OrcamentoItem;
+import com.csemanager.model.Task;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.OrcamentoRepository;
+import com.csemanager.repository.TaskRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Monta o orçamento só com as linhas pedidas (cliente + tarefas selecionadas), soma em BigDecimal,
+// renderiza o PDF uma vez e guarda junto com o orçamento
+@Service
+public class OrcamentoService {
+
+    private static final ZoneId FUSO = ZoneId.of("America/Fortaleza");
+
+    private final OrcamentoRepository repository;
+    private final ClienteRepository clienteRepository;
+    private final TaskRepository taskRepository;
+    private final OrcamentoPdfRenderer renderer;
+
+    public OrcamentoService(OrcamentoRepository repository, ClienteRepository clienteRepository,
+                            TaskRepository taskRepository, OrcamentoPdfRenderer renderer) {
+        this.repository = repository;
+        this.clienteRepository = clienteRepository;
+        this.taskRepository = taskRepository;
+        this.renderer = renderer;
+    }
+
+    @Transactional
+    public OrcamentoArquivoDTO criar(OrcamentoRequestDTO dto) {
+        List<OrcamentoRequestDTO.ItemDTO> servicos = dto.servicos() != null ? dto.servicos() : List.of();
+        List<OrcamentoRequestDTO.ItemDTO> equipamentos = dto.equipamentos() != null ? dto.equipamentos() : List.of();
+        validar(dto.clienteId(), servicos, equipamentos);
+
+        Cliente cliente = clienteRepository.findById(dto.clienteId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado."));
+        Map<Long, Task> tarefas = buscarTarefas(cliente.getId(), servicos);
+
+        Orcamento orcamento = new Orcamento();
+        orcamento.setCliente(cliente);
+        orcamento.setCriadoEm(LocalDateTime.now(FUSO));
+        for (OrcamentoRequestDTO.ItemDTO item : servicos) {
+            String descricao = item.tarefaId() != null ? tarefas.get(item.tarefaId()).getTitulo() : item.descricao();
+            orcamento.getItens().add(new OrcamentoItem("SERVICO", item.tarefaId(), descricao, valor(item)));
+        }
+        for (OrcamentoRequestDTO.ItemDTO item : equipamentos) {
+            orcamento.getItens().add(new OrcamentoItem("EQUIPAMENTO", null, item.descricao(), valor(item)));
+        }
+        orcamento.setTotalServicos(somar(orcamento, "SERVICO"));
+        orcamento.setTotalEquipamentos(somar(orcamento, "EQUIPAMENTO"));
+        orcamento.setTotalGeral(orcamento.getTotalServicos().add(orcamento.getTotalEquipamentos()));
+
+        // O número sai do id, então o PDF só é renderizado depois do INSERT
+        repository.saveAndFlush(orcamento);
+        orcamento.setNumero(String.format("%03d-%d", orcamento.getId(), orcamento.getCriadoEm().getYear()));
+        orcamento.setPdf(renderer.renderizar(orcamento));
+        return new OrcamentoArquivoDTO(orcamento.getId(), orcamento.getNumero(), cliente.getNome(), orcamento.getPdf());
+    }
+
+    private static void validar(Long clienteId, List<OrcamentoRequestDTO.ItemDTO> servicos,
+                                List<OrcamentoRequestDTO.ItemDTO> equipamentos) {
+        if (clienteId == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Selecione um cliente.");
+        }
+        if (servicos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Selecione pelo menos um serviço.");
+        }
+        for (OrcamentoRequestDTO.ItemDTO item : servicos) {
+            if (item.tarefaId() == null && (item.descricao() == null || item.descricao().isBlank())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Descreva o serviço avulso.");
+            }
+            exigirValor(item, "Informe o valor de todos os serviços selecionados.");
+        }
+        for (OrcamentoRequestDTO.ItemDTO item : equipamentos) {
+            exigirValor(item, "Informe um valor válido para o equipamento: "
+                    + (item.descricao() == null || item.descricao().isBlank() ? "sem nome" : item.descricao()));
+        }
+    }
+
+    private static void exigirValor(OrcamentoRequestDTO.ItemDTO item, String mensagem) {
+        if (item.valor() == null || item.valor().signum() < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, mensagem);
+        }
+    }
+
+    // Só tarefas do cliente do orçamento. FINALIZADO é aceito: o orçamento também é emitido depois da visita,
+    // para cobrança; tarefas já arquivadas (tarefas_arquivo) ou removidas não são encontradas
+    private Map<Long, Task> buscarTarefas(Long clienteId, List<OrcamentoRequestDTO.ItemDTO> servicos) {
+        List<Long> ids = servicos.stream().map(OrcamentoRequestDTO.ItemDTO::tarefaId)
+                .filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Task> tarefas = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        if (tarefas.size() != ids.size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada.");
+        }
+        for (Task tarefa : tarefas.values()) {
+            if (tarefa.getCliente() == null || !tarefa.getCliente().getId().equals(clienteId)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "A tarefa " + tarefa.getId() + " não é do cliente selecionado.");
+            }
+        }
+        return tarefas;
+    }
+
+    private static BigDecimal valor(OrcamentoRequestDTO.ItemDTO item) {
+        return item.valor().setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    private static BigDecimal somar(Orcamento orcamento, String tipo) {
+        return orcamento.getItens().stream()
+                .filter(i -> tipo.equals(i.getTipo()))
+                .map(OrcamentoItem::getValor)
+                .reduce(BigDecimal.ZERO.setScale(2), BigDecimal::add);
+    }
+}
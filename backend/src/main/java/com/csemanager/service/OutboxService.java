@@ -0,0 +1,251 @@
+package com.csemanager.service;
+
+import com.csemanager.config.EmpresaDestinos;
+import com.csemanager.event.ConsumidorTarefas;
+import com.csemanager.event.TaskAlteradaEvent;
+import com.csemanager.model.EventoOutbox;
+import com.csemanager.repository.EventoOutboxRepository;
+import com.csemanager.security.EmpresaAtual;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Outbox transacional das alterações de tarefas. A escrita só grava a linha (mesma transação, INSERT em lote);
+// a entrega aos ConsumidorTarefas acontece numa thread própria, acordada logo depois do commit e, por
+// garantia, a cada outbox.poll. Assim o tempo de uma escrita não cresce com o número de consumidores.
+// Um consumidor que falha faz o evento voltar com espera exponencial e segura os eventos seguintes da
+// mesma tarefa; esgotadas as tentativas, o evento fica FALHOU e a fila daquela tarefa anda. A linha fica no
+// banco da empresa que escreveu, então a leitura e as marcações rodam na raiz de cada destino (EmpresaDestinos)
+@Service
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+    private static final int TAMANHO_ERRO = 500;
+
+    private final EventoOutboxRepository repository;
+    private final List<ConsumidorTarefas> consumidores;
+    private final EmpresaDestinos destinos;
+    private final TransactionTemplate transacao;
+    private final int tamanhoLote;
+    private final Duration esperaBase;
+    private final Duration esperaMaxima;
+    private final int maximoTentativas;
+    private final Duration retencao;
+    // Um só despachante; o acordar() não empilha execuções enquanto já existe uma agendada
+    private final ExecutorService despachante;
+    private final AtomicBoolean acordado = new AtomicBoolean();
+    private final Counter entregues;
+    private final Counter retentativas;
+    private final Counter descartados;
+    private final Timer atraso;
+
+    public OutboxService(EventoOutboxRepository repository, List<ConsumidorTarefas> consumidores,
+                         EmpresaDestinos destinos, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                         @Value("${outbox.batch-size:200}") int tamanhoLote,
+                         @Value("${outbox.retry.base:PT1S}") Duration esperaBase,
+                         @Value("${outbox.retry.max:PT5M}") Duration esperaMaxima,
+                         @Value("${outbox.retry.max-attempts:10}") int maximoTentativas,
+                         @Value("${outbox.retention:P7D}") Duration retencao) {
+        this.repository = repository;
+        this.consumidores = consumidores;
+        this.destinos = destinos;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.esperaBase = esperaBase;
+        this.esperaMaxima = esperaMaxima;
+        this.maximoTentativas = maximoTentativas;
+        this.retencao = retencao;
+        this.despachante = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "tarefas-outbox");
+            t.setDaemon(true);
+            return t;
+        });
+        this.entregues = contador(meterRegistry, "entregue");
+        this.retentativas = contador(meterRegistry, "retentativa");
+        this.descartados = contador(meterRegistry, "descartado");
+        this.atraso = Timer.builder("outbox.lag")
+                .description("Tempo entre a gravação do evento e a entrega a todos os consumidores")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Na transação de quem publicou: sem transação não há outbox (e o evento seria perdido), então falha
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TaskAlteradaEvent evento) {
+        repository.save(new EventoOutbox(evento, Instant.now()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aposCommit(TaskAlteradaEvent evento) {
+        acordar();
+    }
+
+    public void acordar() {
+        if (!acordado.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            despachante.execute(() -> {
+                acordado.set(false);
+                despacharComLog();
+            });
+        } catch (RejectedExecutionException e) {
+            acordado.set(false); // encerrando; o que ficou pendente sai no próximo start
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll:PT5S}")
+    public void verificar() {
+        acordar();
+    }
+
+    // Lotes até esvaziar (ou até só restarem eventos esperando nova tentativa), destino por destino.
+    // Devolve quantos foram entregues
+    public synchronized int despachar() {
+        int total = 0;
+        for (String raiz : destinos.raizes()) {
+            total += despachar(raiz);
+        }
+        return total;
+    }
+
+    private int despachar(String raiz) {
+        int total = 0;
+        while (true) {
+            Instant agora = Instant.now();
+            List<EventoOutbox> lote = EmpresaAtual.executar(raiz,
+                    () -> transacao.execute(status -> repository.buscarProntos(agora, Limit.of(tamanhoLote))));
+            if (lote == null || lote.isEmpty()) {
+                return total;
+            }
+            int entregas = entregar(raiz, lote);
+            total += entregas;
+            if (lote.size() < tamanhoLote || entregas == 0) {
+                return total;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 45 3 * * *}")
+    public void expurgar() {
+        Instant antesDe = Instant.now().minus(retencao);
+        int apagados = 0;
+        for (String raiz : destinos.raizes()) {
+            Integer doDestino = EmpresaAtual.executar(raiz, () -> transacao.execute(
+                    status -> repository.apagarProcessadosAntesDe(antesDe)));
+            apagados += doDestino != null ? doDestino : 0;
+        }
+        if (apagados > 0) {
+            log.info("{} eventos processados expurgados da outbox (retenção {})", apagados, retencao);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        despachante.shutdown();
+    }
+
+    private void despacharComLog() {
+        try {
+            despachar();
+        } catch (RuntimeException e) {
+            log.error("Falha ao despachar a outbox de tarefas", e);
+        }
+    }
+
+    private int entregar(String raiz, List<EventoOutbox> lote) {
+        Set<Long> seguradas = new HashSet<>();
+        List<Long> processados = new ArrayList<>(lote.size());
+        for (EventoOutbox evento : lote) {
+            // Falhou um evento anterior desta tarefa neste lote: os seguintes esperam por ele
+            if (seguradas.contains(evento.getTaskId())) {
+                continue;
+            }
+            try {
+                EmpresaAtual.executar(evento.getEmpresa(), () -> consumidores.forEach(c -> consumir(c, evento)));
+                processados.add(evento.getId());
+                atraso.record(Duration.between(evento.getCriadoEm(), Instant.now()));
+            } catch (RuntimeException e) {
+                seguradas.add(evento.getTaskId());
+                falhou(raiz, evento, e);
+            }
+        }
+        if (!processados.isEmpty()) {
+            Instant agora = Instant.now();
+            EmpresaAtual.executar(raiz, () -> transacao.executeWithoutResult(
+                    status -> repository.marcarProcessados(processados, agora)));
+            entregues.increment(processados.size());
+        }
+        return processados.size();
+    }
+
+    private static void consumir(ConsumidorTarefas consumidor, EventoOutbox evento) {
+        try {
+            consumidor.consumir(evento.evento());
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Consumidor " + consumidor.nome() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void falhou(String raiz, EventoOutbox evento, RuntimeException erro) {
+        int tentativas = evento.getTentativas() + 1;
+        boolean desiste = tentativas >= maximoTentativas;
+        Instant proxima = desiste ? null : Instant.now().plus(espera(tentativas));
+        String mensagem = String.valueOf(erro.getMessage());
+        if (mensagem.length() > TAMANHO_ERRO) {
+            mensagem = mensagem.substring(0, TAMANHO_ERRO);
+        }
+        String situacao = desiste ? EventoOutbox.FALHOU : EventoOutbox.PENDENTE;
+        String registro = mensagem;
+        EmpresaAtual.executar(raiz, () -> transacao.executeWithoutResult(
+                status -> repository.marcarFalha(evento.getId(), situacao, tentativas, proxima, registro)));
+        if (desiste) {
+            descartados.increment();
+            log.error("Evento {} da tarefa {} descartado depois de {} tentativas", evento.getId(),
+                    evento.getTaskId(), tentativas, erro);
+        } else {
+            retentativas.increment();
+            log.warn("Evento {} da tarefa {} falhou (tentativa {}), nova tentativa em {}: {}", evento.getId(),
+                    evento.getTaskId(), tentativas, proxima, mensagem);
+        }
+    }
+
+    // base, 2x base, 4x base... até o teto
+    private Duration espera(int tentativas) {
+        Duration espera = esperaBase.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("outbox.events")
+                .description("Eventos de tarefas processados pela outbox")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
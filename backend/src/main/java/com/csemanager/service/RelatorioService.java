@@ -0,0 +1,484 @@
+package com.csemanager.service;
+
+import com.csemanager.config.EmpresaDestinos;
+import com.csemanager.dto.RelatorioClienteDTO;
+import com.csemanager.dto.RelatorioPeriodoDTO;
+import com.csemanager.event.ConsumidorTarefas;
+import com.csemanager.event.TaskAlteradaEvent;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.RelatorioDiario;
+import com.csemanager.model.RelatorioTarefa;
+import com.csemanager.model.Task;
+import com.csemanager.model.TaskArquivada;
+import com.csemanager.repository.RelatorioDiarioRepository;
+import com.csemanager.repository.RelatorioTarefaRepository;
+import com.csemanager.repository.TaskRepository;
+import com.csemanager.security.EmpresaAtual;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Relatórios mensais/trimestrais (GET /api/relatorios) lidos só de relatorio_diario, nunca de tarefas.
+// Os totais são mantidos fora da requisição, como consumidor da outbox: a cada evento compara a tarefa
+// atual com o que ela soma hoje (relatorio_tarefas) e aplica só a diferença, então repetir ou reordenar
+// eventos não altera o resultado. A reconstrução (madrugada, ou na primeira subida) confere relatorio_tarefas
+// com as tarefas e depois refaz relatorio_diario mês a mês, com a mesma conta do consumo; é idempotente e
+// corrige qualquer desvio. Cada lote e cada mês têm a sua transação, e o consumo só espera o lote em andamento
+@Service
+public class RelatorioService implements ConsumidorTarefas {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioService.class);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter MES_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String FINALIZADO = "FINALIZADO";
+    private static final List<String> STATUS = List.of("EM_ABERTO", "EM_ANDAMENTO", "FINALIZADO");
+    private static final List<Integer> PRIORIDADES = List.of(1, 2, 3);
+    private static final int MAXIMO_MESES = 36;
+    private static final int CLIENTES_PADRAO = 10;
+    private static final int CLIENTES_MAXIMO = 100;
+
+    private static final int LOTE_RECONSTRUCAO = 1000;
+
+    // Tudo roda na raiz de um destino (EmpresaDestinos), então cobre as empresas daquele banco/schema: as
+    // tarefas são lidas em JPQL (a raiz não tem filtro de empresa) e as tabelas do relatório, em SQL nativo.
+    // O lead time de cada tarefa é calculado em Java, como no consumo: diferença de datas em SQL não dá o
+    // mesmo resultado no MySQL e no H2
+    private static final String TAREFAS_ATIVAS = "SELECT t FROM Task t WHERE t.id > :depoisDe ORDER BY t.id";
+    private static final String TAREFAS_ARQUIVADAS =
+            "SELECT a FROM TaskArquivada a WHERE a.excluidoEm IS NULL AND a.id > :depoisDe ORDER BY a.id";
+    // Linhas de tarefas que não existem mais (removidas, ou arquivadas e depois removidas)
+    private static final String ORFAS = """
+            SELECT r.task_id FROM relatorio_tarefas r
+            WHERE NOT EXISTS (SELECT 1 FROM tarefas t WHERE t.id = r.task_id AND t.excluido_em IS NULL)
+              AND NOT EXISTS (SELECT 1 FROM tarefas_arquivo a WHERE a.id = r.task_id AND a.excluido_em IS NULL)
+            ORDER BY r.task_id
+            LIMIT :lote
+            """;
+    private static final String APAGAR_TAREFAS = "DELETE FROM relatorio_tarefas WHERE task_id IN (:ids)";
+    // Meses (yyyymm) com alguma linha nas duas tabelas: um mês que ficou vazio também precisa ser limpo
+    private static final String MESES = """
+            SELECT YEAR(dia) * 100 + MONTH(dia) FROM relatorio_tarefas WHERE dia IS NOT NULL
+            UNION
+            SELECT YEAR(dia) * 100 + MONTH(dia) FROM relatorio_diario
+            """;
+    private static final String APAGAR_DIARIO = "DELETE FROM relatorio_diario WHERE dia BETWEEN :inicio AND :fim";
+    private static final String CALCULAR_DIARIO = """
+            INSERT INTO relatorio_diario (empresa, dia, status, prioridade, cliente_id,
+                                          quantidade, prazo_quantidade, prazo_segundos)
+            SELECT empresa, dia, status, prioridade, cliente_id,
+                   COUNT(*), COUNT(prazo_segundos), COALESCE(SUM(prazo_segundos), 0)
+            FROM relatorio_tarefas WHERE dia BETWEEN :inicio AND :fim
+            GROUP BY empresa, dia, status, prioridade, cliente_id
+            """;
+
+    // Resultado de um lote da conferência
+    private record Lote(int lidas, int corrigidas, long ultimoId) {}
+
+    // Contribuição de uma tarefa: mesmos campos de RelatorioTarefa
+    private record Fato(String empresa, LocalDate dia, String status, Integer prioridade, Long clienteId,
+                        Long prazoSegundos) {
+
+        static Fato de(RelatorioTarefa t) {
+            return new Fato(t.getEmpresa(), t.getDia(), t.getStatus(), t.getPrioridade(), t.getClienteId(),
+                    t.getPrazoSegundos());
+        }
+
+        static Fato de(Task t) {
+            return new Fato(t.getEmpresa(), t.getDataServico(), t.getStatus(), t.getPrioridade(),
+                    t.getCliente() != null ? t.getCliente().getId() : null,
+                    prazo(t.getStatus(), t.getCriadoEm(), t.getFinalizadoEm()));
+        }
+
+        static Fato de(TaskArquivada t) {
+            return new Fato(t.getEmpresa(), t.getDataServico(), t.getStatus(), t.getPrioridade(), t.getClienteId(),
+                    prazo(t.getStatus(), t.getCriadoEm(), t.getFinalizadoEm()));
+        }
+
+        // Criada já finalizada: finalizado_em é preenchido antes do carimbo de criação (diferença negativa)
+        private static Long prazo(String status, Instant criadoEm, Instant finalizadoEm) {
+            return FINALIZADO.equals(status) && criadoEm != null && finalizadoEm != null
+                    ? Math.max(Duration.between(criadoEm, finalizadoEm).getSeconds(), 0) : null;
+        }
+    }
+
+    // Acumulado de um período enquanto as linhas mensais são somadas
+    private static final class Periodo {
+        final String nome;
+        final LocalDate inicio;
+        final LocalDate fim;
+        long total;
+        long finalizadasComPrazo;
+        long prazoSegundos;
+        final Map<String, Long> porStatus = new LinkedHashMap<>();
+        final Map<Integer, Long> porPrioridade = new LinkedHashMap<>();
+        final Map<Long, long[]> porCliente = new HashMap<>(); // {total, finalizadas}
+
+        Periodo(String nome, LocalDate inicio, LocalDate fim) {
+            this.nome = nome;
+            this.inicio = inicio;
+            this.fim = fim;
+            STATUS.forEach(s -> porStatus.put(s, 0L));
+            PRIORIDADES.forEach(p -> porPrioridade.put(p, 0L));
+        }
+    }
+
+    private final RelatorioDiarioRepository diarioRepository;
+    private final RelatorioTarefaRepository tarefaRepository;
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final EmpresaDestinos destinos;
+    private final TransactionTemplate transacao;
+    private final Timer reconstrucao;
+
+    public RelatorioService(RelatorioDiarioRepository diarioRepository, RelatorioTarefaRepository tarefaRepository,
+                            TaskRepository taskRepository, EntityManager entityManager, EmpresaDestinos destinos,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.diarioRepository = diarioRepository;
+        this.tarefaRepository = tarefaRepository;
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.destinos = destinos;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.reconstrucao = Timer.builder("relatorios.reconstrucao")
+                .description("Tempo da reconstrução completa das tabelas de relatório")
+                .register(meterRegistry);
+    }
+
+    // de/ate: meses "yyyy-MM" (inclusive); periodo: "mes" (padrão) ou "trimestre"
+    public List<RelatorioPeriodoDTO> gerar(String de, String ate, String periodo, Integer clientes) {
+        boolean trimestral = "trimestre".equalsIgnoreCase(periodo);
+        if (periodo != null && !trimestral && !"mes".equalsIgnoreCase(periodo)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'periodo' deve ser 'mes' ou 'trimestre'.");
+        }
+        YearMonth mesDe = parseMes(de, "de");
+        YearMonth mesAte = ate != null && !ate.isBlank() ? parseMes(ate, "ate") : mesDe;
+        // Trimestre: do primeiro mês do trimestre de "de" ao último do trimestre de "ate"
+        YearMonth primeiro = trimestral ? mesDe.withMonth((mesDe.getMonthValue() - 1) / 3 * 3 + 1) : mesDe;
+        YearMonth ultimo = trimestral ? mesAte.withMonth((mesAte.getMonthValue() - 1) / 3 * 3 + 3) : mesAte;
+        if (ultimo.isBefore(primeiro) || primeiro.plusMonths(MAXIMO_MESES).isBefore(ultimo.plusMonths(1))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Intervalo inválido: 'ate' antes de 'de' ou acima de " + MAXIMO_MESES + " meses.");
+        }
+        int limiteClientes = clientes == null ? CLIENTES_PADRAO : Math.max(0, Math.min(clientes, CLIENTES_MAXIMO));
+
+        // Todos os períodos do intervalo, inclusive os vazios
+        Map<YearMonth, Periodo> porMes = new HashMap<>();
+        List<Periodo> periodos = new ArrayList<>();
+        int passo = trimestral ? 3 : 1;
+        for (YearMonth mes = primeiro; !mes.isAfter(ultimo); mes = mes.plusMonths(passo)) {
+            YearMonth fim = mes.plusMonths(passo - 1L);
+            String nome = trimestral
+                    ? mes.getYear() + "-T" + ((mes.getMonthValue() - 1) / 3 + 1)
+                    : mes.format(MES_FORMATTER);
+            Periodo p = new Periodo(nome, mes.atDay(1), fim.atEndOfMonth());
+            periodos.add(p);
+            for (int i = 0; i < passo; i++) {
+                porMes.put(mes.plusMonths(i), p);
+            }
+        }
+
+        List<Object[]> linhas = transacao.execute(
+                status -> diarioRepository.somarPorMes(primeiro.atDay(1), ultimo.atEndOfMonth()));
+        for (Object[] linha : linhas) {
+            Periodo p = porMes.get(YearMonth.of(((Number) linha[0]).intValue(), ((Number) linha[1]).intValue()));
+            String status = (String) linha[2];
+            Integer prioridade = (Integer) linha[3];
+            Long clienteId = (Long) linha[4];
+            long quantidade = ((Number) linha[5]).longValue();
+            p.total += quantidade;
+            p.porStatus.merge(status, quantidade, Long::sum);
+            if (prioridade != null) {
+                p.porPrioridade.merge(prioridade, quantidade, Long::sum);
+            }
+            if (clienteId != null) {
+                long[] cliente = p.porCliente.computeIfAbsent(clienteId, id -> new long[2]);
+                cliente[0] += quantidade;
+                cliente[1] += FINALIZADO.equals(status) ? quantidade : 0;
+            }
+            p.finalizadasComPrazo += ((Number) linha[6]).longValue();
+            p.prazoSegundos += ((Number) linha[7]).longValue();
+        }
+
+        List<List<Long>> maiores = periodos.stream().map(p -> maiores(p, limiteClientes)).toList();
+        Map<Long, String> nomes = nomesClientes(maiores.stream().flatMap(List::stream).distinct().toList());
+
+        List<RelatorioPeriodoDTO> resultado = new ArrayList<>(periodos.size());
+        for (int i = 0; i < periodos.size(); i++) {
+            Periodo p = periodos.get(i);
+            List<RelatorioClienteDTO> porCliente = maiores.get(i).stream()
+                    .map(id -> {
+                        long[] totais = p.porCliente.get(id);
+                        return new RelatorioClienteDTO(id, nomes.get(id), totais[0], totais[1]);
+                    })
+                    .toList();
+            // Horas com duas casas
+            Double prazoMedio = p.finalizadasComPrazo > 0
+                    ? Math.round(p.prazoSegundos / (double) p.finalizadasComPrazo / 36.0) / 100.0 : null;
+            resultado.add(new RelatorioPeriodoDTO(p.nome, p.inicio.format(DATE_FORMATTER), p.fim.format(DATE_FORMATTER),
+                    p.total, p.porStatus, p.porPrioridade, porCliente, p.finalizadasComPrazo, prazoMedio));
+        }
+        return resultado;
+    }
+
+    @Override
+    public String nome() {
+        return "relatorios";
+    }
+
+    // Thread da outbox, com a empresa do evento já definida
+    @Override
+    public synchronized void consumir(TaskAlteradaEvent evento) {
+        transacao.executeWithoutResult(status -> atualizar(evento.taskId()));
+    }
+
+    // Primeiro relatorio_tarefas fica igual às tarefas; depois relatorio_diario é refeito a partir dela.
+    // Um evento consumido entre as duas fases já encontra relatorio_tarefas em dia: a diferença que ele
+    // aplica no diário fica certa de novo quando o mês é refeito
+    @Scheduled(cron = "${relatorios.reconstrucao-cron:0 30 4 * * *}")
+    public void reconstruir() {
+        for (String raiz : destinos.raizes()) {
+            EmpresaAtual.executar(raiz, this::reconstruirDestino);
+        }
+    }
+
+    // Base que já tinha tarefas antes dos relatórios existirem
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirSeVazio() {
+        for (String raiz : destinos.raizes()) {
+            EmpresaAtual.executar(raiz, () -> {
+                Boolean vazio = transacao.execute(status -> contar("relatorio_tarefas") == 0 && contar("tarefas") > 0);
+                if (Boolean.TRUE.equals(vazio)) {
+                    reconstruirDestino();
+                }
+            });
+        }
+    }
+
+    // Na raiz de um destino (EmpresaDestinos)
+    private void reconstruirDestino() {
+        long inicio = System.nanoTime();
+        Lote ativas = conferirTodas(TAREFAS_ATIVAS, Task.class, Task::getId, Fato::de);
+        Lote arquivadas = conferirTodas(TAREFAS_ARQUIVADAS, TaskArquivada.class, TaskArquivada::getId, Fato::de);
+        int orfas = removerOrfas();
+        int meses = refazerDiario();
+        long nanos = System.nanoTime() - inicio;
+        reconstrucao.record(nanos, TimeUnit.NANOSECONDS);
+        log.info("Relatórios reconstruídos ({}): {} tarefas conferidas, {} corrigidas, {} removidas, {} meses em {} ms",
+                EmpresaAtual.obter(), ativas.lidas() + arquivadas.lidas(),
+                ativas.corrigidas() + arquivadas.corrigidas(), orfas, meses, Duration.ofNanos(nanos).toMillis());
+    }
+
+    private void atualizar(Long taskId) {
+        Optional<Fato> atual = taskRepository.findById(taskId).map(Fato::de)
+                .or(() -> Optional.ofNullable(entityManager.find(TaskArquivada.class, taskId))
+                        .filter(a -> a.getExcluidoEm() == null)
+                        .map(Fato::de));
+        Optional<RelatorioTarefa> registrada = tarefaRepository.findById(taskId);
+        Optional<Fato> anterior = registrada.map(Fato::de);
+        if (anterior.equals(atual)) {
+            return;
+        }
+        anterior.ifPresent(f -> somar(f, -1));
+        atual.ifPresent(f -> somar(f, 1));
+        if (atual.isEmpty()) {
+            tarefaRepository.delete(registrada.get());
+            return;
+        }
+        RelatorioTarefa tarefa = registrada.orElseGet(() -> new RelatorioTarefa(taskId, atual.get().empresa()));
+        definir(tarefa, atual.get());
+        tarefaRepository.save(tarefa);
+    }
+
+    // Na raiz do destino em andamento, com o monitor do consumo só durante a transação do lote
+    private synchronized <R> R emLote(TransactionCallback<R> trabalho) {
+        return transacao.execute(trabalho);
+    }
+
+    private <T> Lote conferirTodas(String jpql, Class<T> tipo, Function<T, Long> id, Function<T, Fato> fato) {
+        int lidas = 0;
+        int corrigidas = 0;
+        long depoisDe = 0;
+        while (true) {
+            long cursor = depoisDe;
+            Lote lote = emLote(status -> conferir(jpql, tipo, id, fato, cursor));
+            lidas += lote.lidas();
+            corrigidas += lote.corrigidas();
+            if (lote.lidas() < LOTE_RECONSTRUCAO) {
+                return new Lote(lidas, corrigidas, lote.ultimoId());
+            }
+            depoisDe = lote.ultimoId();
+        }
+    }
+
+    // Grava só as linhas que divergem (cada uma com a empresa da tarefa). INSERT/UPDATE em lote do Hibernate,
+    // sem passar as tarefas pelo cache de segundo nível
+    private <T> Lote conferir(String jpql, Class<T> tipo, Function<T, Long> id, Function<T, Fato> fato, long depoisDe) {
+        List<T> tarefas = entityManager.createQuery(jpql, tipo)
+                .setParameter("depoisDe", depoisDe)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .setMaxResults(LOTE_RECONSTRUCAO)
+                .getResultList();
+        if (tarefas.isEmpty()) {
+            return new Lote(0, 0, depoisDe);
+        }
+        Map<Long, RelatorioTarefa> registradas = tarefaRepository.findAllById(tarefas.stream().map(id).toList())
+                .stream()
+                .collect(Collectors.toMap(RelatorioTarefa::getTaskId, Function.identity()));
+        int corrigidas = 0;
+        for (T t : tarefas) {
+            Fato f = fato.apply(t);
+            RelatorioTarefa registrada = registradas.get(id.apply(t));
+            if (registrada == null) {
+                registrada = new RelatorioTarefa(id.apply(t), f.empresa());
+                definir(registrada, f);
+                entityManager.persist(registrada);
+                corrigidas++;
+            } else if (!Fato.de(registrada).equals(f)) {
+                definir(registrada, f);
+                corrigidas++;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return new Lote(tarefas.size(), corrigidas, id.apply(tarefas.get(tarefas.size() - 1)));
+    }
+
+    private int removerOrfas() {
+        int total = 0;
+        while (true) {
+            Integer removidas = emLote(status -> {
+                @SuppressWarnings("unchecked")
+                List<Number> ids = entityManager.createNativeQuery(ORFAS)
+                        .setParameter("lote", LOTE_RECONSTRUCAO)
+                        .getResultList();
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                return executar(APAGAR_TAREFAS, RelatorioTarefa.class)
+                        .setParameter("ids", ids.stream().map(Number::longValue).toList())
+                        .executeUpdate();
+            });
+            total += removidas;
+            if (removidas < LOTE_RECONSTRUCAO) {
+                return total;
+            }
+        }
+    }
+
+    // Um mês por transação: apaga e recalcula as linhas do mês a partir de relatorio_tarefas
+    private int refazerDiario() {
+        @SuppressWarnings("unchecked")
+        List<Number> meses = emLote(status -> entityManager.createNativeQuery(MESES).getResultList());
+        for (Number valor : meses) {
+            YearMonth mes = YearMonth.of(valor.intValue() / 100, valor.intValue() % 100);
+            emLote(status -> {
+                executar(APAGAR_DIARIO, RelatorioDiario.class)
+                        .setParameter("inicio", mes.atDay(1))
+                        .setParameter("fim", mes.atEndOfMonth())
+                        .executeUpdate();
+                return executar(CALCULAR_DIARIO, RelatorioDiario.class)
+                        .setParameter("inicio", mes.atDay(1))
+                        .setParameter("fim", mes.atEndOfMonth())
+                        .executeUpdate();
+            });
+        }
+        return meses.size();
+    }
+
+    private static void definir(RelatorioTarefa tarefa, Fato f) {
+        tarefa.definir(f.dia(), f.status(), f.prioridade(), f.clienteId(), f.prazoSegundos());
+    }
+
+    // Linhas que chegam a zero saem, como se a reconstrução nunca as tivesse criado
+    private void somar(Fato fato, int sinal) {
+        if (fato.dia() == null) {
+            return;
+        }
+        RelatorioDiario linha = diarioRepository.buscar(fato.dia(), fato.status(), fato.prioridade(), fato.clienteId())
+                .orElseGet(() -> new RelatorioDiario(fato.dia(), fato.status(), fato.prioridade(), fato.clienteId()));
+        linha.somar(sinal, fato.prazoSegundos());
+        if (linha.getQuantidade() <= 0) {
+            if (linha.getId() != null) {
+                diarioRepository.delete(linha);
+            }
+        } else {
+            diarioRepository.saveAndFlush(linha);
+        }
+    }
+
+    private static List<Long> maiores(Periodo p, int limite) {
+        return p.porCliente.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Long, long[]> e) -> e.getValue()[0]).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Mesmo caminho do TaskService: o multiLoad lê o cache de segundo nível antes do banco
+    private Map<Long, String> nomesClientes(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return transacao.execute(status -> entityManager.unwrap(Session.class).byMultipleIds(Cliente.class)
+                .multiLoad(ids).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Cliente::getId, Cliente::getNome)));
+    }
+
+    private long contar(String tabela) {
+        Object total = entityManager.createNativeQuery("SELECT COUNT(*) FROM " + tabela).getSingleResult();
+        return ((Number) total).longValue();
+    }
+
+    // Declarar a entidade afetada faz o Hibernate invalidar só as regiões dela (ver ArquivamentoService)
+    private NativeQuery<?> executar(String sql, Class<?> entidade) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(entidade);
+    }
+
+    private static YearMonth parseMes(String valor, String nome) {
+        if (valor == null || valor.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'" + nome + "' é obrigatório (yyyy-MM).");
+        }
+        try {
+            return YearMonth.parse(valor, MES_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'" + nome + "' inválido (use yyyy-MM).");
+        }
+    }
+}
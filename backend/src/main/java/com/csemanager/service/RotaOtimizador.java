@@ -0,0 +1,125 @@
+package com.csemanager.service;
+
+// Ordem de visita (caminho aberto, sem volta ao início) com vizinho mais próximo e melhoria 2-opt.
+// As distâncias (haversine, km) são calculadas uma vez numa matriz; o 2-opt para quando nenhuma troca
+// melhora ou quando o orçamento de tempo acaba, devolvendo a melhor ordem até ali.
+// O ponto 0 é sempre o início (origem informada ou a primeira parada)
+public final class RotaOtimizador {
+
+    private static final double RAIO_TERRA_KM = 6371.0088;
+    // Ganho mínimo para aceitar uma troca; evita ciclos por arredondamento
+    private static final double EPSILON = 1e-9;
+
+    public record Resultado(int[] ordem, double distanciaKm, double distanciaInicialKm, boolean interrompido) {}
+
+    private RotaOtimizador() {
+    }
+
+    public static Resultado otimizar(double[] latitudes, double[] longitudes, long orcamentoNanos) {
+        int n = latitudes.length;
+        long limite = System.nanoTime() + orcamentoNanos;
+        double[] distancias = matriz(latitudes, longitudes);
+        int[] inicial = new int[n];
+        for (int i = 0; i < n; i++) {
+            inicial[i] = i;
+        }
+        double distanciaInicial = comprimento(inicial, distancias, n);
+        if (n <= 2) {
+            return new Resultado(inicial, distanciaInicial, distanciaInicial, false);
+        }
+        int[] ordem = vizinhoMaisProximo(distancias, n);
+        boolean interrompido = !doisOpt(ordem, distancias, n, limite);
+        return new Resultado(ordem, comprimento(ordem, distancias, n), distanciaInicial, interrompido);
+    }
+
+    public static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Linha i, coluna j em [i * n + j]: um array só, sem um objeto por linha
+    private static double[] matriz(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        double[] distancias = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double d = distanciaKm(latitudes[i], longitudes[i], latitudes[j], longitudes[j]);
+                distancias[i * n + j] = d;
+                distancias[j * n + i] = d;
+            }
+        }
+        return distancias;
+    }
+
+    private static int[] vizinhoMaisProximo(double[] distancias, int n) {
+        int[] ordem = new int[n];
+        boolean[] visitado = new boolean[n];
+        visitado[0] = true;
+        for (int k = 1; k < n; k++) {
+            int atual = ordem[k - 1];
+            int melhor = -1;
+            double menor = Double.MAX_VALUE;
+            for (int j = 1; j < n; j++) {
+                if (!visitado[j] && distancias[atual * n + j] < menor) {
+                    menor = distancias[atual * n + j];
+                    melhor = j;
+                }
+            }
+            ordem[k] = melhor;
+            visitado[melhor] = true;
+        }
+        return ordem;
+    }
+
+    // Inverte o trecho ordem[i..j] quando trocar as arestas (i-1, i) e (j, j+1) por (i-1, j) e (i, j+1)
+    // encurta o caminho. A última parada não tem aresta seguinte, então o fim também pode mudar.
+    // Devolve false se parou pelo tempo antes de convergir
+    private static boolean doisOpt(int[] ordem, double[] distancias, int n, long limite) {
+        boolean melhorou = true;
+        while (melhorou) {
+            melhorou = false;
+            for (int i = 1; i < n - 1; i++) {
+                if (System.nanoTime() > limite) {
+                    return false;
+                }
+                int anterior = ordem[i - 1];
+                int primeiro = ordem[i];
+                double removida = distancias[anterior * n + primeiro];
+                for (int j = i + 1; j < n; j++) {
+                    int ultimo = ordem[j];
+                    double delta = distancias[anterior * n + ultimo] - removida;
+                    if (j + 1 < n) {
+                        int seguinte = ordem[j + 1];
+                        delta += distancias[primeiro * n + seguinte] - distancias[ultimo * n + seguinte];
+                    }
+                    if (delta < -EPSILON) {
+                        inverter(ordem, i, j);
+                        melhorou = true;
+                        primeiro = ordem[i];
+                        removida = distancias[anterior * n + primeiro];
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void inverter(int[] ordem, int i, int j) {
+        while (i < j) {
+            int t = ordem[i];
+            ordem[i++] = ordem[j];
+            ordem[j--] = t;
+        }
+    }
+
+    private static double comprimento(int[] ordem, double[] distancias, int n) {
+        double total = 0;
+        for (int k = 1; k < n; k++) {
+            total += distancias[ordem[k - 1] * n + ordem[k]];
+        }
+        return total;
+    }
+}
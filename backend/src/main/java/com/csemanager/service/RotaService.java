@@ -0,0 +1,245 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.AgendaTarefaDTO;
+import com.csemanager.dto.RotaDiaDTO;
+import com.csemanager.dto.RotaParadaDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.TaskRepository;
+import com.csemanager.service.Geocodificador.Coordenada;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Rota do dia (GET /api/agenda/rota): as tarefas pendentes de cada dia, com as coordenadas do endereço do
+// cliente, em ordem de visita calculada por vizinho mais próximo + 2-opt (RotaOtimizador) com orçamento de
+// tempo por dia. Os dias são calculados em paralelo num ForkJoinPool próprio, fora do pool comum.
+// A primeira parada é a origem informada (ex.: onde o técnico está) ou, sem origem, a tarefa mais prioritária
+@Service
+public class RotaService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int MAXIMO_DIAS = 14;
+    // A matriz de distâncias tem n² posições por dia
+    private static final int MAXIMO_PARADAS = 500;
+
+    // Tarefa com a posição do cliente (null = sem cliente ou endereço não encontrado)
+    private record Parada(AgendaTarefaDTO tarefa, String endereco, Coordenada coordenada) {}
+
+    private final TaskRepository taskRepository;
+    private final ClienteRepository clienteRepository;
+    private final Geocodificador geocodificador;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transacao;
+    private final ForkJoinPool pool;
+    private final long orcamento;
+    private final Timer calculo;
+
+    public RotaService(TaskRepository taskRepository, ClienteRepository clienteRepository,
+                       Geocodificador geocodificador, EntityManager entityManager,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${rota.orcamento:PT0.05S}") Duration orcamento,
+                       @Value("${rota.paralelismo:0}") int paralelismo) {
+        this.taskRepository = taskRepository;
+        this.clienteRepository = clienteRepository;
+        this.geocodificador = geocodificador;
+        this.entityManager = entityManager;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.orcamento = orcamento.toNanos();
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors(),
+                p -> {
+                    ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    t.setName("rota-" + t.getPoolIndex());
+                    return t;
+                }, null, false);
+        new ExecutorServiceMetrics(pool, "rota", Tags.empty()).bindTo(meterRegistry);
+        this.calculo = Timer.builder("rota.calculo")
+                .description("Tempo de otimização da rota de um dia")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // origem: "latitude,longitude" (opcional)
+    public List<RotaDiaDTO> calcular(String data, Integer dias, String origem) {
+        LocalDate inicio = AgendaService.parseData(data, "data");
+        int quantidade = dias != null ? dias : 1;
+        if (quantidade < 1 || quantidade > MAXIMO_DIAS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'dias' deve estar entre 1 e " + MAXIMO_DIAS + ".");
+        }
+        Coordenada partida = parseOrigem(origem);
+        LocalDate fim = inicio.plusDays(quantidade - 1L);
+
+        // Leitura e gravação das coordenadas numa transação; o cálculo, sem conexão presa
+        Map<LocalDate, List<Parada>> porDia = transacao.execute(status -> carregar(inicio, fim));
+
+        List<ForkJoinTask<RotaDiaDTO>> calculos = new ArrayList<>(quantidade);
+        for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+            List<Parada> paradas = porDia.getOrDefault(dia, List.of());
+            String chave = dia.format(DATE_FORMATTER);
+            calculos.add(pool.submit(() -> calculo.record(() -> otimizar(chave, paradas, partida))));
+        }
+        return calculos.stream().map(ForkJoinTask::join).toList();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdown();
+    }
+
+    private Map<LocalDate, List<Parada>> carregar(LocalDate inicio, LocalDate fim) {
+        // Uma linha além do máximo do período: se ela vier, algum dia passou do limite e o resto foi cortado
+        int maximo = MAXIMO_PARADAS * (int) (fim.toEpochDay() - inicio.toEpochDay() + 1);
+        List<AgendaTarefaDTO> tarefas = taskRepository.buscarPendentes(inicio, fim, Limit.of(maximo + 1));
+        if (tarefas.size() > maximo) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Máximo de " + MAXIMO_PARADAS + " tarefas por dia na rota.");
+        }
+        Map<LocalDate, List<AgendaTarefaDTO>> tarefasPorDia = tarefas.stream()
+                .collect(Collectors.groupingBy(AgendaTarefaDTO::dataServico));
+        tarefasPorDia.forEach((dia, doDia) -> {
+            if (doDia.size() > MAXIMO_PARADAS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Máximo de " + MAXIMO_PARADAS + " tarefas por dia na rota (" + dia.format(DATE_FORMATTER) + ").");
+            }
+        });
+
+        Map<Long, Cliente> clientes = buscarClientes(tarefas);
+        Map<Long, Coordenada> coordenadas = new HashMap<>();
+        clientes.values().forEach(c -> coordenadas.put(c.getId(), coordenada(c)));
+
+        Map<LocalDate, List<Parada>> porDia = new HashMap<>();
+        tarefasPorDia.forEach((dia, doDia) -> porDia.put(dia, doDia.stream()
+                .map(t -> {
+                    Cliente cliente = t.clienteId() != null ? clientes.get(t.clienteId()) : null;
+                    return cliente == null
+                            ? new Parada(t, null, null)
+                            : new Parada(t, cliente.getEndereco(), coordenadas.get(cliente.getId()));
+                })
+                .toList()));
+        return porDia;
+    }
+
+    // Mesmo caminho do TaskService: o multiLoad lê o cache de segundo nível antes do banco
+    private Map<Long, Cliente> buscarClientes(List<AgendaTarefaDTO> tarefas) {
+        List<Long> ids = tarefas.stream().map(AgendaTarefaDTO::clienteId).filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.unwrap(Session.class).byMultipleIds(Cliente.class).multiLoad(ids).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+    }
+
+    // Geocodifica só o que ainda não foi feito para o endereço atual (inclusive o "não encontrado")
+    private Coordenada coordenada(Cliente cliente) {
+        String endereco = cliente.getEndereco();
+        if (endereco.equals(cliente.getGeoEndereco())) {
+            return cliente.getLatitude() != null && cliente.getLongitude() != null
+                    ? new Coordenada(cliente.getLatitude(), cliente.getLongitude()) : null;
+        }
+        Coordenada coordenada = geocodificador.localizar(endereco).orElse(null);
+        clienteRepository.gravarCoordenadas(cliente,
+                coordenada != null ? coordenada.latitude() : null,
+                coordenada != null ? coordenada.longitude() : null,
+                endereco);
+        return coordenada;
+    }
+
+    private RotaDiaDTO otimizar(String data, List<Parada> paradas, Coordenada partida) {
+        List<Parada> localizadas = new ArrayList<>(paradas.size());
+        List<AgendaTarefaDTO> semLocalizacao = new ArrayList<>();
+        for (Parada parada : paradas) {
+            if (parada.coordenada() != null) {
+                localizadas.add(parada);
+            } else {
+                semLocalizacao.add(parada.tarefa());
+            }
+        }
+        // Ordem de prioridade da agenda: é a referência de comparação e, sem origem, define o início
+        localizadas.sort((a, b) -> AgendaService.ORDEM_NO_DIA.compare(a.tarefa(), b.tarefa()));
+        semLocalizacao.sort(AgendaService.ORDEM_NO_DIA);
+        if (localizadas.isEmpty()) {
+            return new RotaDiaDTO(data, List.of(), semLocalizacao, 0, 0, false);
+        }
+
+        int deslocamento = partida != null ? 1 : 0;
+        int n = localizadas.size() + deslocamento;
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        if (partida != null) {
+            latitudes[0] = partida.latitude();
+            longitudes[0] = partida.longitude();
+        }
+        for (int i = 0; i < localizadas.size(); i++) {
+            latitudes[i + deslocamento] = localizadas.get(i).coordenada().latitude();
+            longitudes[i + deslocamento] = localizadas.get(i).coordenada().longitude();
+        }
+        RotaOtimizador.Resultado resultado = RotaOtimizador.otimizar(latitudes, longitudes, orcamento);
+
+        List<RotaParadaDTO> rota = new ArrayList<>(localizadas.size());
+        int anterior = -1;
+        for (int indice : resultado.ordem()) {
+            if (indice >= deslocamento) {
+                Parada parada = localizadas.get(indice - deslocamento);
+                AgendaTarefaDTO t = parada.tarefa();
+                double distancia = anterior < 0 ? 0 : RotaOtimizador.distanciaKm(
+                        latitudes[anterior], longitudes[anterior], latitudes[indice], longitudes[indice]);
+                rota.add(new RotaParadaDTO(rota.size() + 1, t.id(), t.titulo(), t.status(), t.prioridade(),
+                        t.clienteId(), t.clienteNome(), parada.endereco(), latitudes[indice], longitudes[indice],
+                        arredondar(distancia)));
+            }
+            anterior = indice;
+        }
+        return new RotaDiaDTO(data, rota, semLocalizacao, arredondar(resultado.distanciaKm()),
+                arredondar(resultado.distanciaInicialKm()), resultado.interrompido());
+    }
+
+    private static Coordenada parseOrigem(String origem) {
+        if (origem == null || origem.isBlank()) {
+            return null;
+        }
+        String[] partes = origem.split(",");
+        try {
+            if (partes.length == 2) {
+                double latitude = Double.parseDouble(partes[0].trim());
+                double longitude = Double.parseDouble(partes[1].trim());
+                if (Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180) {
+                    return new Coordenada(latitude, longitude);
+                }
+            }
+        } catch (NumberFormatException e) {
+            // cai no erro abaixo
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Origem inválida (use latitude,longitude).");
+    }
+
+    // Metros são suficientes
+    private static double arredondar(double km) {
+        return Math.round(km * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,161 @@
+package com.csemanager.service;
+
+import com.csemanager.config.EmpresaDestinos;
+import com.csemanager.dto.ClienteDTO;
+import com.csemanager.dto.DeltaDTO;
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Exclusao;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.ExclusaoRepository;
+import com.csemanager.repository.TaskRepository;
+import com.csemanager.security.EmpresaAtual;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Versão das coleções de tarefas e clientes: GET condicional (ETag/Last-Modified) nas listagens
+// e delta (?since=) com o que mudou e o que foi removido
+@Service
+public class SincronizacaoService {
+
+    public static final String TAREFAS = "tarefas";
+    public static final String CLIENTES = "clientes";
+
+    private static final Logger log = LoggerFactory.getLogger(SincronizacaoService.class);
+    // Uma transação pode carimbar a linha antes e só fazer o commit depois da leitura do delta: o próximo
+    // "since" recua esta janela e essas linhas chegam de novo (reaplicar no cliente é inofensivo)
+    private static final Duration SOBREPOSICAO = Duration.ofSeconds(5);
+
+    private final TaskRepository taskRepository;
+    private final ClienteRepository clienteRepository;
+    private final ExclusaoRepository exclusaoRepository;
+    private final EmpresaDestinos destinos;
+    private final TransactionTemplate transacao;
+    private final Duration retencao;
+
+    public SincronizacaoService(TaskRepository taskRepository, ClienteRepository clienteRepository,
+                                ExclusaoRepository exclusaoRepository, EmpresaDestinos destinos,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${sync.tombstone-retention:P30D}") Duration retencao) {
+        this.taskRepository = taskRepository;
+        this.clienteRepository = clienteRepository;
+        this.exclusaoRepository = exclusaoRepository;
+        this.destinos = destinos;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.retencao = retencao;
+    }
+
+    // A lista de tarefas mostra nome/endereço do cliente, então muda junto com os clientes
+    @Transactional(readOnly = true)
+    public Instant versaoTarefas() {
+        return maisRecente(taskRepository.ultimaAlteracao(), clienteRepository.ultimaAlteracao(),
+                exclusaoRepository.ultimaExclusao(TAREFAS));
+    }
+
+    @Transactional(readOnly = true)
+    public Instant versaoClientes() {
+        return maisRecente(clienteRepository.ultimaAlteracao(), exclusaoRepository.ultimaExclusao(CLIENTES));
+    }
+
+    // Confere If-None-Match/If-Modified-Since contra a versão da coleção. Quando confere, a resposta
+    // já está pronta como 304 e o controller devolve null sem consultar a listagem.
+    // O Accept entra na variante: a mesma URL pode sair em JSON ou colunar (ProjecaoListasAdvice)
+    public boolean naoModificado(ServletWebRequest request, Instant versao) {
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String variante = request.getRequest().getQueryString() + "|" + request.getHeader(HttpHeaders.ACCEPT);
+        return request.checkNotModified(etag(versao, variante), versao.toEpochMilli());
+    }
+
+    // ETag fraca: mesma versão da coleção + mesma URL (filtros, cursor, fields) + mesmo Accept = mesmo conteúdo.
+    // Fraca porque o Tomcat não comprime (gzip) resposta com ETag forte, que prometeria os mesmos bytes
+    static String etag(Instant versao, String variante) {
+        CRC32 crc = new CRC32();
+        if (variante != null) {
+            crc.update(variante.getBytes(StandardCharsets.UTF_8));
+        }
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, versao);
+        return "W/\"" + Long.toHexString(micros) + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    @Transactional(readOnly = true)
+    public DeltaDTO<TaskDTO> deltaTarefas(String since) {
+        return delta(since, TAREFAS, taskRepository::buscarAlteradasDesde);
+    }
+
+    @Transactional(readOnly = true)
+    public DeltaDTO<ClienteDTO> deltaClientes(String since) {
+        return delta(since, CLIENTES, clienteRepository::buscarAlteradosDesde);
+    }
+
+    // Chamado na mesma transação da remoção
+    @Transactional
+    public void registrarExclusao(String entidade, Long id) {
+        exclusaoRepository.save(new Exclusao(entidade, id, Instant.now()));
+    }
+
+    // Todas as empresas de uma vez: a transação (e a sessão) abre já na raiz de cada destino
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * *}")
+    public void expurgarExclusoes() {
+        Instant antesDe = Instant.now().minus(retencao);
+        int apagadas = 0;
+        for (String raiz : destinos.raizes()) {
+            Integer doDestino = EmpresaAtual.executar(raiz, () -> transacao.execute(
+                    status -> exclusaoRepository.apagarAntesDe(antesDe)));
+            apagadas += doDestino != null ? doDestino : 0;
+        }
+        if (apagadas > 0) {
+            log.info("{} registros de exclusão expurgados (retenção {})", apagadas, retencao);
+        }
+    }
+
+    // Sem "since" devolve tudo (carga inicial) junto com o primeiro "since"
+    private <T> DeltaDTO<T> delta(String since, String entidade, Function<Instant, List<T>> alterados) {
+        Instant desde = parseSince(since);
+        Instant proximo = Instant.now().minus(SOBREPOSICAO);
+        List<Long> removidos = desde.equals(Instant.EPOCH) ? List.of() : exclusaoRepository.buscarIdsDesde(entidade, desde);
+        return new DeltaDTO<>(alterados.apply(desde), removidos, proximo.toString());
+    }
+
+    private Instant parseSince(String since) {
+        if (since == null || since.isEmpty()) {
+            return Instant.EPOCH;
+        }
+        Instant desde;
+        try {
+            desde = Instant.parse(since);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parâmetro 'since' inválido.");
+        }
+        // Exclusões mais antigas que a retenção já foram expurgadas: só uma carga completa é confiável
+        if (desde.isBefore(Instant.now().minus(retencao))) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Sincronização expirada; recarregue a lista completa.");
+        }
+        return desde;
+    }
+
+    private static Instant maisRecente(Instant... instantes) {
+        return Stream.of(instantes).filter(Objects::nonNull).max(Instant::compareTo).orElse(Instant.EPOCH);
+    }
+}
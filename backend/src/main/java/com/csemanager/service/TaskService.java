@@ -0,0 +1,186 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.event.TaskAlteradaEvent;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Task;
+import com.csemanager.repository.TaskRepository;
+import com.csemanager.service.ClienteHistoricoService.Mudancas;
+import com.csemanager.service.ClienteHistoricoService.Situacao;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Escritas em tarefas: uma transação por operação, inclusive nos lotes
+@Service
+public class TaskService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final TaskRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SincronizacaoService sincronizacao;
+    private final EntityManager entityManager;
+    private final ClienteHistoricoService historico;
+
+    public TaskService(TaskRepository repository, ApplicationEventPublisher eventPublisher,
+                       SincronizacaoService sincronizacao, EntityManager entityManager,
+                       ClienteHistoricoService historico) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.sincronizacao = sincronizacao;
+        this.entityManager = entityManager;
+        this.historico = historico;
+    }
+
+    @Transactional
+    public Task criar(TaskDTO dto) {
+        Task task = new Task();
+        preencher(task, dto, buscarClientes(List.of(dto)));
+        Task salvo = repository.save(task);
+        historico.registrar(new Mudancas().mudou(null, Situacao.de(salvo)));
+        eventPublisher.publishEvent(new TaskAlteradaEvent(TaskAlteradaEvent.Tipo.CRIADA, salvo.getId(),
+                salvo.getStatus()));
+        return salvo;
+    }
+
+    @Transactional
+    public Optional<Task> atualizar(Long id, TaskDTO dados) {
+        return repository.findById(id)
+                .map(task -> {
+                    Situacao antes = Situacao.de(task);
+                    preencher(task, dados, buscarClientes(List.of(dados)));
+                    Task atualizado = repository.save(task);
+                    historico.registrar(new Mudancas().mudou(antes, Situacao.de(atualizado)));
+                    eventPublisher.publishEvent(new TaskAlteradaEvent(TaskAlteradaEvent.Tipo.ATUALIZADA, id,
+                            atualizado.getStatus()));
+                    return atualizado;
+                });
+    }
+
+    @Transactional
+    public boolean deletar(Long id) {
+        return repository.findById(id)
+                .map(task -> {
+                    repository.delete(task);
+                    historico.registrar(new Mudancas().mudou(Situacao.de(task), null));
+                    sincronizacao.registrarExclusao(SincronizacaoService.TAREFAS, id);
+                    eventPublisher.publishEvent(new TaskAlteradaEvent(TaskAlteradaEvent.Tipo.REMOVIDA, id,
+                            task.getStatus()));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    // Cria (sem id) ou atualiza (com id) várias tarefas numa transação só. Tarefas e clientes
+    // são carregados com um SELECT ... IN cada, e os INSERTs/UPDATEs saem em lotes JDBC
+    @Transactional
+    public List<Task> salvarLote(List<TaskDTO> lote) {
+        List<Long> ids = lote.stream().map(TaskDTO::getId).filter(Objects::nonNull).toList();
+        Map<Long, Task> existentes = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<Long> inexistentes = ids.stream().filter(id -> !existentes.containsKey(id)).toList();
+        if (!inexistentes.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefas não encontradas: " + inexistentes);
+        }
+        Map<Long, Cliente> clientes = buscarClientes(lote);
+
+        List<Task> salvas = new ArrayList<>(lote.size());
+        List<Situacao> antes = new ArrayList<>(lote.size());
+        for (TaskDTO dto : lote) {
+            Task task = dto.getId() != null ? existentes.get(dto.getId()) : new Task();
+            antes.add(dto.getId() != null ? Situacao.de(task) : null);
+            preencher(task, dto, clientes);
+            salvas.add(task);
+        }
+        repository.saveAll(salvas);
+        repository.flush();
+        Mudancas mudancas = new Mudancas();
+        for (int i = 0; i < salvas.size(); i++) {
+            mudancas.mudou(antes.get(i), Situacao.de(salvas.get(i)));
+        }
+        historico.registrar(mudancas);
+        for (int i = 0; i < salvas.size(); i++) {
+            TaskAlteradaEvent.Tipo tipo = lote.get(i).getId() == null
+                    ? TaskAlteradaEvent.Tipo.CRIADA : TaskAlteradaEvent.Tipo.ATUALIZADA;
+            eventPublisher.publishEvent(new TaskAlteradaEvent(tipo, salvas.get(i).getId(), salvas.get(i).getStatus()));
+        }
+        return salvas;
+    }
+
+    // Mudança de status em massa (ex.: fechar o dia) com um único UPDATE. Só as tarefas encontradas (da
+    // empresa e não removidas) são alteradas e geram evento; ids inexistentes são ignorados
+    @Transactional
+    public int alterarStatus(Collection<Long> ids, String status) {
+        // Situação de antes para o resumo dos clientes, lida com as linhas travadas; o UPDATE em massa limpa
+        // o contexto em seguida
+        List<Task> encontradas = repository.travar(ids);
+        if (encontradas.isEmpty()) {
+            return 0;
+        }
+        List<Long> existentes = encontradas.stream().map(Task::getId).toList();
+        List<Situacao> antes = encontradas.stream().map(Situacao::de).filter(Objects::nonNull).toList();
+        int alteradas = repository.alterarStatus(existentes, status, Instant.now());
+        Mudancas mudancas = new Mudancas();
+        antes.forEach(s -> mudancas.mudou(s, s.comStatus(status)));
+        historico.registrar(mudancas);
+        existentes.forEach(id -> eventPublisher.publishEvent(
+                new TaskAlteradaEvent(TaskAlteradaEvent.Tipo.ATUALIZADA, id, status)));
+        return alteradas;
+    }
+
+    private Map<Long, Cliente> buscarClientes(List<TaskDTO> dtos) {
+        List<Long> ids = dtos.stream().map(TaskDTO::getClienteId).filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        // multiLoad consulta o cache de segundo nível antes e só busca no banco os ids que faltarem
+        // (findAllById sempre faz o SELECT ... IN)
+        return entityManager.unwrap(Session.class).byMultipleIds(Cliente.class).multiLoad(ids).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+    }
+
+    // Mesmas regras do PUT: cliente inexistente mantém o atual, data vazia limpa a data.
+    // Visível no pacote para os benchmarks JMH
+    static void preencher(Task task, TaskDTO dados, Map<Long, Cliente> clientes) {
+        task.setTitulo(dados.getTitulo());
+        task.setDescricao(dados.getDescricao());
+        task.setStatus(dados.getStatus());
+        if (!"FINALIZADO".equals(dados.getStatus())) {
+            task.setFinalizadoEm(null);
+        } else if (task.getFinalizadoEm() == null) {
+            task.setFinalizadoEm(Instant.now());
+        }
+        task.setPrioridade(dados.getPrioridade());
+        if (dados.getClienteId() != null) {
+            Cliente cliente = clientes.get(dados.getClienteId());
+            if (cliente != null) {
+                task.setCliente(cliente);
+            }
+        } else {
+            task.setCliente(null);
+        }
+        if (dados.getDataServico() != null && !dados.getDataServico().isEmpty()) {
+            task.setDataServico(LocalDate.parse(dados.getDataServico(), DATE_FORMATTER));
+        } else {
+            task.setDataServico(null);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.csemanager.service;
+
+import com.csemanager.config.CacheConfig;
+import com.csemanager.dto.TaskStatsDTO;
+import com.csemanager.event.ConsumidorTarefas;
+import com.csemanager.event.TaskAlteradaEvent;
+import com.csemanager.repository.TaskRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class TaskStatsService implements ConsumidorTarefas {
+
+    private static final List<String> STATUS_PENDENTES = List.of("EM_ABERTO", "EM_ANDAMENTO");
+    private static final List<String> STATUS = List.of("EM_ABERTO", "EM_ANDAMENTO", "FINALIZADO");
+    private static final List<Integer> PRIORIDADES = List.of(1, 2, 3);
+    private static final int LIMITE_PROXIMAS = 10;
+
+    private final TaskRepository repository;
+
+    public TaskStatsService(TaskRepository repository) {
+        this.repository = repository;
+    }
+
+    // Calculado no banco com COUNTs agrupados; o resultado fica em cache por poucos segundos, por empresa
+    @Cacheable(value = CacheConfig.TASK_STATS, key = "T(com.csemanager.security.EmpresaAtual).obter()")
+    public TaskStatsDTO calcular() {
+        LocalDate hoje = LocalDate.now();
+        // Semana de domingo a sábado, como no painel
+        LocalDate inicioSemana = hoje.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+        LocalDate fimSemana = inicioSemana.plusDays(6);
+
+        Map<String, Long> porStatus = new LinkedHashMap<>();
+        STATUS.forEach(s -> porStatus.put(s, 0L));
+        for (Object[] linha : repository.contarPorStatus()) {
+            if (linha[0] != null) {
+                porStatus.put((String) linha[0], (Long) linha[1]);
+            }
+        }
+
+        Map<Integer, Long> porPrioridade = new LinkedHashMap<>();
+        PRIORIDADES.forEach(p -> porPrioridade.put(p, 0L));
+        for (Object[] linha : repository.contarPorPrioridade()) {
+            if (linha[0] != null) {
+                porPrioridade.put((Integer) linha[0], (Long) linha[1]);
+            }
+        }
+
+        return new TaskStatsDTO(
+                repository.countByStatusInAndDataServico(STATUS_PENDENTES, hoje),
+                porStatus.getOrDefault("EM_ANDAMENTO", 0L),
+                repository.countByStatusAndDataServicoBetween("FINALIZADO", inicioSemana, fimSemana),
+                repository.countByStatusInAndDataServicoBefore(STATUS_PENDENTES, hoje),
+                porStatus,
+                porPrioridade,
+                repository.buscarProximas(hoje, Limit.of(LIMITE_PROXIMAS))
+        );
+    }
+
+    @Override
+    public String nome() {
+        return "estatisticas";
+    }
+
+    // Qualquer escrita em tarefas invalida os indicadores
+    @Override
+    @CacheEvict(value = CacheConfig.TASK_STATS, allEntries = true)
+    public void consumir(TaskAlteradaEvent event) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.dto.TaskEventoDTO;
+import com.csemanager.event.ConsumidorTarefas;
+import com.csemanager.event.TaskAlteradaEvent;
+import com.csemanager.repository.TaskRepository;
+import com.csemanager.security.EmpresaAtual;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Alterações de tarefas em tempo real (SSE, GET /api/tarefas/stream). Cada evento é serializado uma vez
+// e posto na fila limitada de cada assinante sem bloquear quem publicou; um pool pequeno escreve nas
+// conexões. Conexão ociosa não ocupa thread (requisição assíncrona), só a fila. Se a fila de um cliente
+// lento enche, os eventos dele são descartados e ele recebe "resync" para recarregar a lista.
+// Cada assinante só recebe eventos da própria empresa
+@Service
+public class TaskStreamService implements ConsumidorTarefas {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("ping").build();
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name("resync").data("{}").build();
+
+    private final TaskRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    // Plataforma, não virtual: o send() do emitter é synchronized e prenderia o carrier durante a escrita
+    private final ExecutorService escritores;
+    private final Counter descartados;
+    private final int capacidadeFila;
+    private final int maximoAssinantes;
+    private final long timeout;
+
+    public TaskStreamService(TaskRepository repository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${tarefas.stream.threads:4}") int threads,
+                             @Value("${tarefas.stream.queue:64}") int capacidadeFila,
+                             @Value("${tarefas.stream.max-subscribers:5000}") int maximoAssinantes,
+                             @Value("${tarefas.stream.timeout:PT30M}") Duration timeout) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.capacidadeFila = capacidadeFila;
+        this.maximoAssinantes = maximoAssinantes;
+        this.timeout = timeout.toMillis();
+        AtomicInteger sequencia = new AtomicInteger();
+        this.escritores = ExecutorServiceMetrics.monitor(meterRegistry, Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "tarefas-sse-" + sequencia.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }), "tarefas-sse");
+        Gauge.builder("tarefas.stream.subscribers", assinantes, Set::size)
+                .description("Conexões SSE abertas em /api/tarefas/stream")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("tarefas.stream.dropped")
+                .description("Eventos descartados por fila cheia de um assinante lento")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter assinar() {
+        if (assinantes.size() >= maximoAssinantes) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Limite de conexões de tempo real atingido.");
+        }
+        SseEmitter emitter = new SseEmitter(timeout);
+        Assinante assinante = new Assinante(EmpresaAtual.obter(), emitter, new ArrayBlockingQueue<>(capacidadeFila));
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(e -> assinantes.remove(assinante));
+        assinantes.add(assinante);
+        return emitter;
+    }
+
+    @Override
+    public String nome() {
+        return "sse";
+    }
+
+    // Vem da outbox, depois do commit: quem recebe o evento já encontra a alteração no banco
+    @Override
+    public void consumir(TaskAlteradaEvent event) {
+        if (assinantes.stream().noneMatch(a -> a.empresa.equals(event.empresa()))) {
+            return;
+        }
+        TaskDTO tarefa = null;
+        if (event.tipo() != TaskAlteradaEvent.Tipo.REMOVIDA) {
+            Optional<TaskDTO> atual = repository.buscarDTO(event.taskId());
+            if (atual.isEmpty()) {
+                return; // removida logo depois; o evento de remoção vem a seguir
+            }
+            tarefa = atual.get();
+        }
+        Set<DataWithMediaType> mensagem = SseEmitter.event()
+                .name("tarefa")
+                .data(json(new TaskEventoDTO(event.tipo(), event.taskId(), tarefa)), MediaType.APPLICATION_JSON)
+                .build();
+        assinantes.stream()
+                .filter(a -> a.empresa.equals(event.empresa()))
+                .forEach(a -> a.enviar(mensagem));
+    }
+
+    // Mantém proxies/NAT com a conexão aberta e detecta clientes que já foram embora
+    @Scheduled(fixedRateString = "${tarefas.stream.heartbeat:PT25S}")
+    public void heartbeat() {
+        assinantes.forEach(a -> a.enviar(HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinantes.forEach(a -> a.emitter.complete());
+        escritores.shutdown();
+    }
+
+    private String json(TaskEventoDTO evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class Assinante {
+
+        private final String empresa;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> fila;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile boolean perdeuEventos;
+
+        private Assinante(String empresa, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> fila) {
+            this.empresa = empresa;
+            this.emitter = emitter;
+            this.fila = fila;
+        }
+
+        private void enviar(Set<DataWithMediaType> mensagem) {
+            if (!fila.offer(mensagem)) {
+                perdeuEventos = true;
+                descartados.increment();
+            }
+            agendar();
+        }
+
+        // No máximo uma escrita em andamento por assinante; as demais mensagens esperam na fila
+        private void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                escritores.execute(this::escrever);
+            }
+        }
+
+        private void escrever() {
+            try {
+                if (perdeuEventos) {
+                    perdeuEventos = false;
+                    fila.clear();
+                    emitter.send(RESYNC);
+                }
+                Set<DataWithMediaType> mensagem;
+                while ((mensagem = fila.poll()) != null) {
+                    emitter.send(mensagem);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Conexão fechada pelo cliente ou emitter já concluído
+                assinantes.remove(this);
+                fila.clear();
+                return;
+            } finally {
+                agendado.set(false);
+            }
+            if (!fila.isEmpty() || perdeuEventos) {
+                agendar();
+            }
+        }
+    }
+}
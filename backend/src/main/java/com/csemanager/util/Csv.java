@@ -0,0 +1,39 @@
+package com.csemanager.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+// Formatação CSV (RFC 4180): campos com separador, aspas ou quebra de linha vão entre aspas
+public final class Csv {
+
+    public static final char SEPARADOR = ',';
+
+    private Csv() {
+    }
+
+    public static void escreverLinha(Writer out, Object... campos) throws IOException {
+        for (int i = 0; i < campos.length; i++) {
+            if (i > 0) {
+                out.write(SEPARADOR);
+            }
+            escreverCampo(out, campos[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private static void escreverCampo(Writer out, Object campo) throws IOException {
+        if (campo == null) {
+            return;
+        }
+        String valor = campo.toString();
+        boolean precisaAspas = valor.indexOf(SEPARADOR) >= 0 || valor.indexOf('"') >= 0
+                || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!precisaAspas) {
+            out.write(valor);
+            return;
+        }
+        out.write('"');
+        out.write(valor.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -0,0 +1,157 @@
+package com.csemanager.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Leitura incremental de CSV (RFC 4180): um registro por vez, aceitando campos entre aspas com
+// separador, aspas duplicadas e quebras de linha. O separador é ',' ou ';' (Excel em pt-BR)
+public class CsvReader {
+
+    private static final int TAMANHO_MAXIMO_CAMPO = 64 * 1024;
+
+    // Registro malformado (aspas não fechadas, campo longo demais). O registro já foi consumido por inteiro:
+    // a leitura pode seguir para o próximo
+    public static class RegistroInvalidoException extends IOException {
+
+        private final long linha;
+
+        public RegistroInvalidoException(String mensagem, long linha) {
+            super(mensagem);
+            this.linha = linha;
+        }
+
+        public long getLinha() {
+            return linha;
+        }
+    }
+
+    private final Reader in;
+    private final char separador;
+    private long linha = 1;
+    private long linhaRegistro;
+    private int pendente = -2;
+    private boolean inicio = true;
+    private boolean campoLongo;
+
+    public CsvReader(Reader in, char separador) {
+        this.in = in;
+        this.separador = separador;
+    }
+
+    // Separador pela primeira linha: ';' se aparece mais que ',' fora de aspas. Precisa de um Reader com
+    // mark/reset (ex.: BufferedReader) e devolve a leitura ao ponto de partida
+    public static char detectarSeparador(Reader in) throws IOException {
+        in.mark(TAMANHO_MAXIMO_CAMPO);
+        int virgulas = 0;
+        int pontosEVirgulas = 0;
+        boolean entreAspas = false;
+        for (int i = 0; i < TAMANHO_MAXIMO_CAMPO; i++) {
+            int c = in.read();
+            if (c == -1 || (!entreAspas && (c == '\r' || c == '\n') && i > 0)) {
+                break;
+            }
+            if (c == '"') {
+                entreAspas = !entreAspas;
+            } else if (!entreAspas && c == ',') {
+                virgulas++;
+            } else if (!entreAspas && c == ';') {
+                pontosEVirgulas++;
+            }
+        }
+        in.reset();
+        return pontosEVirgulas > virgulas ? ';' : ',';
+    }
+
+    // Linha física (1-based) onde começou o último registro lido
+    public long linhaAtual() {
+        return linhaRegistro;
+    }
+
+    // Próximo registro, ou null no fim do arquivo. Linhas em branco são ignoradas
+    public List<String> proximo() throws IOException {
+        int c = ler();
+        while (c == '\r' || c == '\n') {
+            c = ler();
+        }
+        if (c == -1) {
+            return null;
+        }
+        linhaRegistro = linha;
+        campoLongo = false;
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (true) {
+            if (entreAspas) {
+                if (c == -1) {
+                    throw new RegistroInvalidoException("Aspas não fechadas", linhaRegistro);
+                }
+                if (c == '"') {
+                    int seguinte = ler();
+                    if (seguinte == '"') {
+                        anexar(campo, '"');
+                    } else {
+                        entreAspas = false;
+                        c = seguinte;
+                        continue;
+                    }
+                } else {
+                    anexar(campo, (char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int seguinte = ler();
+                    if (seguinte != '\n') {
+                        pendente = seguinte;
+                    }
+                }
+                if (campoLongo) {
+                    throw new RegistroInvalidoException(
+                            "Campo com mais de " + TAMANHO_MAXIMO_CAMPO + " caracteres", linhaRegistro);
+                }
+                campos.add(campo.toString());
+                return campos;
+            } else {
+                anexar(campo, (char) c);
+            }
+            c = ler();
+        }
+    }
+
+    // Além do máximo o resto do campo é descartado, mas o registro é lido até o fim antes do erro
+    private void anexar(StringBuilder campo, char c) {
+        if (campo.length() >= TAMANHO_MAXIMO_CAMPO) {
+            campoLongo = true;
+        } else {
+            campo.append(c);
+        }
+    }
+
+    private int ler() throws IOException {
+        int c;
+        if (pendente != -2) {
+            c = pendente;
+            pendente = -2;
+        } else {
+            c = in.read();
+            if (inicio) {
+                inicio = false;
+                if (c == '\uFEFF') {
+                    // BOM gravado pelo Excel no início do arquivo
+                    c = in.read();
+                }
+            }
+        }
+        if (c == '\n') {
+            linha++;
+        }
+        return c;
+    }
+}
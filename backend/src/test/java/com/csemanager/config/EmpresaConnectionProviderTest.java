@@ -0,0 +1,52 @@
+package com.csemanager.config;
+
+import com.csemanager.security.EmpresaAtual;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmpresaConnectionProviderTest {
+
+    @Test
+    void raizDeUmDestinoUsaOBancoDaEmpresa() throws SQLException {
+        EmpresaConnectionProvider provider = new EmpresaConnectionProvider(banco("principal"),
+                Map.of("sul", banco("sul")), Map.of());
+
+        assertEquals("jdbc:h2:mem:principal", url(provider, EmpresaAtual.RAIZ));
+        assertEquals("jdbc:h2:mem:principal", url(provider, "norte"));
+        assertEquals("jdbc:h2:mem:sul", url(provider, "sul"));
+        assertEquals("jdbc:h2:mem:sul", url(provider, EmpresaAtual.raizEm("sul")));
+    }
+
+    @Test
+    void umaRaizPorDestino() {
+        // leste e norte dividem o schema; sul tem banco próprio, que vale mais que o schema
+        EmpresaDestinos destinos = new EmpresaDestinos(
+                Map.of("norte", "cse_norte", "leste", "cse_norte", "sul", "cse_sul"), Set.of("sul"));
+
+        assertEquals(List.of("*", "*:sul", "*:leste"), destinos.raizes());
+        assertEquals(List.of("*"), new EmpresaDestinos(Map.of(), Set.of()).raizes());
+    }
+
+    private static String url(EmpresaConnectionProvider provider, String tenant) throws SQLException {
+        Connection connection = provider.getConnection(tenant);
+        try {
+            return connection.getMetaData().getURL();
+        } finally {
+            provider.releaseConnection(tenant, connection);
+        }
+    }
+
+    private static JdbcDataSource banco(String nome) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nome);
+        return dataSource;
+    }
+}
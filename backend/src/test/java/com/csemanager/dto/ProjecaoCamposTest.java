@@ -0,0 +1,43 @@
+package com.csemanager.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProjecaoCamposTest {
+
+    private final List<TaskDTO> tarefas = List.of(
+            new TaskDTO(1L, "Instalação", null, "EM_ABERTO", 1, 7L, "Maria", "Rua A, 1", "2025-03-10"),
+            new TaskDTO(2L, "Manutenção", null, "FINALIZADO", 2, 7L, "Maria", "Rua A, 1", "2025-03-11"),
+            new TaskDTO(3L, "Visita", null, "EM_ABERTO", 3, null, null, null, (String) null));
+
+    @Test
+    void camposSaemNaOrdemDaDtoEDesconhecidoERecusado() {
+        List<Map<String, Object>> linhas = ProjecaoCampos.TAREFAS.linhas(tarefas,
+                ProjecaoCampos.TAREFAS.selecionar("status, id"));
+
+        assertEquals(List.of("id", "status"), List.copyOf(linhas.get(0).keySet()));
+        assertEquals("FINALIZADO", linhas.get(1).get("status"));
+        assertThrows(IllegalArgumentException.class, () -> ProjecaoCampos.TAREFAS.selecionar("id,senha"));
+    }
+
+    @Test
+    void colunarUsaDicionarioEDadosDoClienteUmaVez() {
+        Map<String, Object> colunar = ProjecaoCampos.TAREFAS.colunas(tarefas,
+                ProjecaoCampos.TAREFAS.selecionar("titulo,status,clienteNome"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, List<Object>> colunas = (Map<String, List<Object>>) colunar.get("colunas");
+        assertEquals(List.of(0, 1, 0), colunas.get("status"));
+        // clienteId entra sozinho para ligar cada linha ao seu cliente
+        assertEquals(Arrays.asList(7L, 7L, null), colunas.get("clienteId"));
+        assertEquals(Map.of("status", List.of("EM_ABERTO", "FINALIZADO")), colunar.get("dicionarios"));
+        assertEquals(Map.of(7L, Map.of("clienteNome", "Maria")), colunar.get("clientes"));
+        assertEquals(3, colunar.get("total"));
+    }
+}
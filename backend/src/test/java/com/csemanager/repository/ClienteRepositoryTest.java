@@ -0,0 +1,62 @@
+package com.csemanager.repository;
+
+import com.csemanager.model.Cliente;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Sem transação no teste: cada leitura abre a própria sessão e passa pelo cache de segundo nível
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext
+class ClienteRepositoryTest {
+
+    @Autowired
+    private ClienteRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void coordenadasTiramSoOProprioClienteDoCache() {
+        Cliente geocodificado = repository.save(cliente("Cliente Geocodificado"));
+        Long outro = repository.save(cliente("Outro Cliente")).getId();
+        Cliente antes = repository.findById(geocodificado.getId()).orElseThrow();
+        repository.findById(outro).orElseThrow();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> repository.gravarCoordenadas(
+                repository.findById(geocodificado.getId()).orElseThrow(), -23.5, -46.6, "Rua do Mapa, 1"));
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        repository.findById(outro).orElseThrow();
+        assertEquals(1, stats.getSecondLevelCacheHitCount());
+        assertEquals(0, stats.getSecondLevelCacheMissCount());
+
+        // Não é alteração do cliente: versão e atualizadoEm (delta/ETag) continuam os mesmos
+        Cliente depois = repository.findById(geocodificado.getId()).orElseThrow();
+        assertEquals(-23.5, depois.getLatitude());
+        assertEquals(-46.6, depois.getLongitude());
+        assertEquals("Rua do Mapa, 1", depois.getGeoEndereco());
+        assertEquals(antes.getVersao(), depois.getVersao());
+        assertEquals(antes.getAtualizadoEm(), depois.getAtualizadoEm());
+    }
+
+    private static Cliente cliente(String nome) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setTelefone("11966660000");
+        cliente.setEndereco("Rua do Mapa, 1");
+        return cliente;
+    }
+}
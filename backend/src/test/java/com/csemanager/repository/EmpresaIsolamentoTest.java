@@ -0,0 +1,95 @@
+package com.csemanager.repository;
+
+import com.csemanager.dto.ClienteDTO;
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Task;
+import com.csemanager.security.EmpresaAtual;
+import com.csemanager.service.ClienteSearchIndex;
+import com.csemanager.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sem transação no teste: cada chamada abre a própria sessão, com a empresa do EmpresaAtual daquele momento.
+// O contexto fecha no fim: os ids já reservados em memória não podem ser reaproveitados por outro teste
+// depois que um contexto diferente recriar as tabelas do H2 compartilhado
+@SpringBootTest
+@DirtiesContext
+class EmpresaIsolamentoTest {
+
+    private static final String SUL = "sul";
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ClienteSearchIndex clienteSearchIndex;
+
+    @Test
+    void cadaEmpresaSoEnxergaAsPropriasLinhas() {
+        Cliente padrao = clienteRepository.save(cliente("Isolamento Matriz"));
+        Cliente sul = EmpresaAtual.executar(SUL, () -> clienteRepository.save(cliente("Isolamento Sul")));
+        assertEquals(EmpresaAtual.PADRAO, padrao.getEmpresa());
+        assertEquals(SUL, sul.getEmpresa());
+
+        Long tarefaPadrao = taskService.salvarLote(List.of(tarefa("Matriz", padrao.getId()))).get(0).getId();
+        Long tarefaSul = EmpresaAtual.executar(SUL,
+                () -> taskService.salvarLote(List.of(tarefa("Sul", sul.getId()))).get(0).getId());
+
+        // A tarefa da matriz já está no cache de segundo nível: nem assim chega à outra empresa
+        assertTrue(taskRepository.findById(tarefaPadrao).isPresent());
+        assertTrue(EmpresaAtual.executar(SUL, () -> taskRepository.findById(tarefaPadrao)).isEmpty());
+        Task propria = EmpresaAtual.executar(SUL, () -> taskRepository.findById(tarefaSul)).orElseThrow();
+        assertEquals(SUL, propria.getEmpresa());
+
+        // Consultas (inclusive a união com o arquivo) recebem o filtro de empresa
+        assertEquals(List.of(tarefaSul), EmpresaAtual.executar(SUL,
+                () -> taskRepository.buscarHistorico(0L, null, null, null, null, 100)).stream().map(TaskDTO::getId).toList());
+        assertTrue(taskRepository.buscarHistorico(0L, null, null, null, null, 100).stream()
+                .noneMatch(t -> t.getId().equals(tarefaSul)));
+
+        // Cliente de outra empresa não é encontrado (nem pelo multiLoad, que lê o cache antes)
+        Long cruzada = taskService.salvarLote(List.of(tarefa("Cruzada", sul.getId()))).get(0).getId();
+        assertNull(taskRepository.buscarDTO(cruzada).orElseThrow().getClienteId());
+
+        // Busca de clientes: um índice por empresa
+        assertEquals(List.of(padrao.getId()), ids(clienteSearchIndex.buscar("isolamento", 10)));
+        assertEquals(List.of(sul.getId()), ids(EmpresaAtual.executar(SUL, () -> clienteSearchIndex.buscar("isolamento", 10))));
+    }
+
+    private static List<Long> ids(List<ClienteDTO> clientes) {
+        return clientes.stream().map(ClienteDTO::getId).toList();
+    }
+
+    private static Cliente cliente(String nome) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setTelefone("11955550000");
+        cliente.setEndereco("Rua das Filiais, 1");
+        return cliente;
+    }
+
+    private static TaskDTO tarefa(String titulo, Long clienteId) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo(titulo);
+        dto.setStatus("EM_ABERTO");
+        dto.setPrioridade(2);
+        dto.setClienteId(clienteId);
+        dto.setDataServico("2025-05-10");
+        return dto;
+    }
+}
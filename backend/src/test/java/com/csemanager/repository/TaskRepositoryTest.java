@@ -0,0 +1,166 @@
+package com.csemanager.repository;
+
+import com.csemanager.dto.AgendaTarefaDTO;
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Task;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskRepositoryTest {
+
+    private static final int TOTAL_TAREFAS = 25;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void listagemUsaUmaUnicaConsultaParaNTarefas() {
+        for (int i = 0; i < TOTAL_TAREFAS; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setNome("Cliente " + i);
+            cliente.setTelefone("1199999000" + i);
+            cliente.setEndereco("Rua " + i);
+            cliente.setNotas("x".repeat(900));
+            entityManager.persist(cliente);
+
+            Task task = new Task();
+            task.setTitulo("Tarefa " + i);
+            task.setStatus("EM_ABERTO");
+            task.setPrioridade(2);
+            task.setCliente(cliente);
+            task.setDataServico(LocalDate.of(2025, 1, 1).plusDays(i));
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<TaskDTO> pagina = repository.buscarPagina(0L, null, null, null, null, null, Limit.of(100));
+
+        assertEquals(TOTAL_TAREFAS, pagina.size());
+        assertEquals("Cliente 0", pagina.get(0).getClienteNome());
+        assertEquals("2025-01-01", pagina.get(0).getDataServico());
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(0, stats.getEntityLoadCount());
+    }
+
+    @Test
+    void agendaTrazSoAFaixaEmOrdemDeDataNumaConsulta() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Agenda");
+        cliente.setTelefone("11999990000");
+        cliente.setEndereco("Rua da Agenda");
+        entityManager.persist(cliente);
+        for (int i = 0; i < TOTAL_TAREFAS; i++) {
+            Task task = new Task();
+            task.setTitulo("Visita " + i);
+            task.setStatus(i % 2 == 0 ? "EM_ABERTO" : "CONCLUIDA");
+            task.setPrioridade(1 + i % 3);
+            task.setCliente(cliente);
+            task.setDataServico(LocalDate.of(2025, 3, 1).plusDays(i % 5));
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<AgendaTarefaDTO> agenda = repository.buscarAgenda(
+                LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 3), Limit.of(100));
+
+        assertEquals(10, agenda.size());
+        assertEquals(LocalDate.of(2025, 3, 2), agenda.get(0).dataServico());
+        assertEquals(LocalDate.of(2025, 3, 3), agenda.get(agenda.size() - 1).dataServico());
+        assertEquals("Cliente Agenda", agenda.get(0).clienteNome());
+        assertEquals(1, stats.getPrepareStatementCount());
+
+        List<AgendaTarefaDTO> atrasadas = repository.buscarAtrasadas(
+                List.of("EM_ABERTO"), LocalDate.of(2025, 3, 3), Limit.of(100));
+        assertEquals(5, atrasadas.size());
+    }
+
+    @Test
+    void listagemAplicaSoOsFiltrosInformadosComCursor() {
+        Cliente a = new Cliente();
+        a.setNome("Cliente Filtro A");
+        a.setTelefone("11999991111");
+        a.setEndereco("Rua A");
+        entityManager.persist(a);
+        Cliente b = new Cliente();
+        b.setNome("Cliente Filtro B");
+        b.setTelefone("11999992222");
+        b.setEndereco("Rua B");
+        entityManager.persist(b);
+        for (int i = 0; i < 12; i++) {
+            Task task = new Task();
+            task.setTitulo("Filtro " + i);
+            task.setStatus(i % 2 == 0 ? "EM_ABERTO" : "FINALIZADO");
+            task.setPrioridade(1 + i % 3);
+            task.setCliente(i % 4 == 0 ? a : b);
+            task.setDataServico(i < 6 ? LocalDate.of(2025, 4, 1).plusDays(i) : null);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskDTO> abertasDoA = repository.buscarPagina(0L, "EM_ABERTO", null, a.getId(), null, null, Limit.of(100));
+        assertEquals(List.of("Filtro 0", "Filtro 4", "Filtro 8"), abertasDoA.stream().map(TaskDTO::getTitulo).toList());
+
+        List<TaskDTO> faixa = repository.buscarPagina(0L, null, 2, null,
+                LocalDate.of(2025, 4, 2), LocalDate.of(2025, 4, 5), Limit.of(100));
+        assertEquals(List.of("Filtro 1", "Filtro 4"), faixa.stream().map(TaskDTO::getTitulo).toList());
+
+        // Cursor: a página seguinte começa depois do último id, com os mesmos filtros
+        List<TaskDTO> primeira = repository.buscarPagina(0L, "FINALIZADO", null, null, null, null, Limit.of(2));
+        List<TaskDTO> segunda = repository.buscarPagina(primeira.get(1).getId(), "FINALIZADO", null, null, null, null,
+                Limit.of(100));
+        assertEquals(List.of("Filtro 1", "Filtro 3"), primeira.stream().map(TaskDTO::getTitulo).toList());
+        assertEquals(List.of("Filtro 5", "Filtro 7", "Filtro 9", "Filtro 11"),
+                segunda.stream().map(TaskDTO::getTitulo).toList());
+    }
+
+    @Test
+    void rotaLimitaSoAsTarefasPendentes() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Rota");
+        cliente.setTelefone("11999993333");
+        cliente.setEndereco("Rua da Rota");
+        entityManager.persist(cliente);
+        for (int i = 0; i < 6; i++) {
+            Task task = new Task();
+            task.setTitulo("Parada " + i);
+            task.setStatus(i < 4 ? "FINALIZADO" : "EM_ABERTO");
+            task.setPrioridade(2);
+            task.setCliente(cliente);
+            task.setDataServico(LocalDate.of(2025, 5, 1));
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // As finalizadas vêm antes no índice e não podem ocupar o limite
+        List<AgendaTarefaDTO> pendentes = repository.buscarPendentes(
+                LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 1), Limit.of(2));
+        assertEquals(List.of("Parada 4", "Parada 5"), pendentes.stream().map(AgendaTarefaDTO::titulo).toList());
+    }
+}
@@ -0,0 +1,80 @@
+package com.csemanager.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitadorAutenticacaoTest {
+
+    // Reposição lenta (1 ficha por hora) para o relógio não interferir durante o teste
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LimitadorAutenticacao limitador = new LimitadorAutenticacao(
+            registry, 10, Duration.ofHours(1), 3, Duration.ofHours(1), 1000);
+
+    @Test
+    void aceitaARajadaERecusaComOTempoDeEspera() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limitador.esperaConta("Tecnico@Empresa.com ", "198.51.100.1").isZero());
+            limitador.falhaConta("Tecnico@Empresa.com ", "198.51.100.1");
+        }
+        Duration espera = limitador.esperaConta("tecnico@empresa.com", "198.51.100.1");
+        assertTrue(espera.compareTo(Duration.ofMinutes(59)) > 0);
+        assertEquals(3600, LimitadorAutenticacao.segundos(espera));
+        // Falhas além da capacidade não aumentam a espera
+        limitador.falhaConta("tecnico@empresa.com", "198.51.100.1");
+        assertEquals(3600, LimitadorAutenticacao.segundos(limitador.esperaConta("tecnico@empresa.com", "198.51.100.1")));
+        // Outra conta tem o próprio balde
+        assertTrue(limitador.esperaConta("outro@empresa.com", "198.51.100.1").isZero());
+        assertEquals(2.0, registry.get("security.auth.throttled").tag("limite", "conta").counter().count());
+    }
+
+    @Test
+    void soSenhaErradaContaEOutroIpNaoBloqueiaAConta() {
+        // Login certo só consulta o balde
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limitador.esperaConta("tecnico@empresa.com", "198.51.100.2").isZero());
+        }
+        // Quem erra a senha de outro IP esgota o próprio balde, não o do técnico
+        for (int i = 0; i < 3; i++) {
+            limitador.falhaConta("tecnico@empresa.com", "203.0.113.9");
+        }
+        assertTrue(limitador.esperaConta("tecnico@empresa.com", "203.0.113.9").compareTo(Duration.ZERO) > 0);
+        assertTrue(limitador.esperaConta("tecnico@empresa.com", "198.51.100.2").isZero());
+    }
+
+    @Test
+    void concorrenciaNaoDeixaPassarMaisQueACapacidade() throws InterruptedException {
+        int threads = 16;
+        AtomicInteger liberadas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> corredores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            corredores.add(Thread.ofPlatform().start(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (limitador.consumirIp("203.0.113.7").isZero()) {
+                        liberadas.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        largada.countDown();
+        for (Thread corredor : corredores) {
+            corredor.join();
+        }
+        assertEquals(10, liberadas.get());
+        assertEquals(threads * 100 - 10, registry.get("security.auth.throttled").tag("limite", "ip").counter().count());
+    }
+}
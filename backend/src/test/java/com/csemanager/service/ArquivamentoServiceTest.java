@@ -0,0 +1,100 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.TaskRepository;
+import com.csemanager.security.EmpresaAtual;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Idade zero: qualquer FINALIZADO com data de serviço passada é arquivada; lote pequeno para passar por vários
+@SpringBootTest(properties = {"tarefas.arquivo.idade=PT0S", "tarefas.arquivo.lote=3", "tarefas.arquivo.pausa=PT0S"})
+class ArquivamentoServiceTest {
+
+    @Autowired
+    private ArquivamentoService arquivamento;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private SincronizacaoService sincronizacao;
+
+    @Test
+    void arquivaFinalizadasAntigasEmLotesEMantemOHistorico() throws InterruptedException {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Arquivo");
+        cliente.setTelefone("11977770000");
+        cliente.setEndereco("Rua do Arquivo, 1");
+        Long clienteId = clienteRepository.save(cliente).getId();
+
+        List<TaskDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            lote.add(novaTarefa("Antiga " + i, "FINALIZADO", "2024-01-0" + (i + 1), clienteId));
+        }
+        lote.add(novaTarefa("Pendente antiga", "EM_ABERTO", "2024-01-01", clienteId));
+        lote.add(novaTarefa("Finalizada futura", "FINALIZADO", "2099-01-01", clienteId));
+        List<Long> ids = taskService.salvarLote(lote).stream().map(t -> t.getId()).toList();
+        // Outra empresa no mesmo destino: o arquivamento passa por cada uma
+        Long sul = EmpresaAtual.executar("sul", () -> {
+            Cliente filial = new Cliente();
+            filial.setNome("Cliente Arquivo Sul");
+            filial.setTelefone("11977770001");
+            filial.setEndereco("Rua do Arquivo, 2");
+            Long filialId = clienteRepository.save(filial).getId();
+            return taskService.salvarLote(List.of(novaTarefa("Antiga Sul", "FINALIZADO", "2024-01-01", filialId)))
+                    .get(0).getId();
+        });
+        Instant antes = Instant.now();
+
+        // Remoção lógica: some das leituras, mas a linha continua lá e também é arquivada
+        assertTrue(taskService.deletar(ids.get(0)));
+        assertTrue(taskRepository.findById(ids.get(0)).isEmpty());
+        Thread.sleep(5);
+
+        assertTrue(arquivamento.arquivar() >= 8);
+        assertFalse(EmpresaAtual.executar("sul", () -> taskRepository.existsById(sul)));
+
+        for (int i = 0; i < 7; i++) {
+            assertFalse(taskRepository.existsById(ids.get(i)));
+        }
+        assertTrue(taskRepository.existsById(ids.get(7)));
+        assertTrue(taskRepository.existsById(ids.get(8)));
+
+        List<Long> historico = taskRepository.buscarHistorico(0L, null, clienteId, null, null, 100).stream()
+                .map(TaskDTO::getId).toList();
+        assertEquals(ids.subList(1, 9), historico);
+        assertEquals("Cliente Arquivo", taskRepository.buscarHistorico(ids.get(3) - 1, null, clienteId, null, null, 1)
+                .get(0).getClienteNome());
+
+        // Quem sincroniza pelo delta recebe as arquivadas como removidas
+        List<Long> removidos = sincronizacao.deltaTarefas(antes.toString()).removidos();
+        assertTrue(removidos.containsAll(ids.subList(0, 7)));
+    }
+
+    private static TaskDTO novaTarefa(String titulo, String status, String data, Long clienteId) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo(titulo);
+        dto.setStatus(status);
+        dto.setPrioridade(2);
+        dto.setClienteId(clienteId);
+        dto.setDataServico(data);
+        return dto;
+    }
+}
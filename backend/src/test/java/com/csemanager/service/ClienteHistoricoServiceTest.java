@@ -0,0 +1,113 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.ClienteHistoricoDTO;
+import com.csemanager.dto.ClienteResumoDTO;
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.repository.ClienteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Contexto novo: o padrão em cache pode ter perdido as tabelas do H2 compartilhado quando um contexto
+// diferente fechou (create-drop)
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class ClienteHistoricoServiceTest {
+
+    @Autowired
+    private ClienteHistoricoService historico;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    void resumoAcompanhaAsEscritasDasTarefas() {
+        Long cliente = novoCliente();
+        Long aberta = taskService.criar(tarefa(cliente, "EM_ABERTO", "2025-06-10")).getId();
+        taskService.criar(tarefa(cliente, "FINALIZADO", "2025-05-01"));
+        Long maisRecente = taskService.criar(tarefa(cliente, "FINALIZADO", "2025-05-20")).getId();
+        taskService.criar(tarefa(cliente, "EM_ABERTO", null));
+        assertEquals(new ClienteResumoDTO(2, 0, 2, "2025-05-20", "2025-06-10"), resumo(cliente));
+
+        // Sai a finalizada que definia a última visita: recalculada; a nova pendente antecipa a próxima
+        taskService.atualizar(maisRecente, tarefa(cliente, "EM_ANDAMENTO", "2025-06-01"));
+        assertEquals(new ClienteResumoDTO(2, 1, 1, "2025-05-01", "2025-06-01"), resumo(cliente));
+
+        taskService.alterarStatus(List.of(aberta, maisRecente), "FINALIZADO");
+        assertEquals(new ClienteResumoDTO(1, 0, 3, "2025-06-10", null), resumo(cliente));
+
+        taskService.deletar(aberta);
+        assertEquals(new ClienteResumoDTO(1, 0, 2, "2025-06-01", null), resumo(cliente));
+
+        // Tarefa trocada de cliente sai de um resumo e entra no outro
+        Long outro = novoCliente();
+        taskService.salvarLote(List.of(comId(maisRecente, tarefa(outro, "FINALIZADO", "2025-06-01"))));
+        assertEquals(new ClienteResumoDTO(1, 0, 1, "2025-05-01", null), resumo(cliente));
+        assertEquals(new ClienteResumoDTO(0, 0, 1, "2025-06-01", null), resumo(outro));
+    }
+
+    @Test
+    void historicoPaginaDaVisitaMaisRecenteEDepoisAsSemData() {
+        Long cliente = novoCliente();
+        List<Long> esperado = new ArrayList<>();
+        Long semData = taskService.criar(tarefa(cliente, "EM_ABERTO", null)).getId();
+        Long antiga = taskService.criar(tarefa(cliente, "FINALIZADO", "2025-01-05")).getId();
+        Long mesmaData1 = taskService.criar(tarefa(cliente, "EM_ABERTO", "2025-03-01")).getId();
+        Long mesmaData2 = taskService.criar(tarefa(cliente, "EM_ABERTO", "2025-03-01")).getId();
+        Long recente = taskService.criar(tarefa(cliente, "EM_ABERTO", "2025-04-01")).getId();
+        Long semData2 = taskService.criar(tarefa(cliente, "EM_ABERTO", null)).getId();
+        esperado.addAll(List.of(recente, mesmaData2, mesmaData1, antiga, semData2, semData));
+
+        List<Long> lidos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            ClienteHistoricoDTO pagina = historico.buscar(cliente, cursor, 2);
+            pagina.itens().forEach(t -> lidos.add(t.getId()));
+            cursor = pagina.proximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(esperado, lidos);
+        assertEquals(3, paginas);
+        assertNull(historico.buscar(cliente, null, 10).proximoCursor());
+    }
+
+    private ClienteResumoDTO resumo(Long clienteId) {
+        return historico.buscar(clienteId, null, 1).resumo();
+    }
+
+    private Long novoCliente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Histórico");
+        cliente.setTelefone("11944443333");
+        cliente.setEndereco("Rua do Histórico, 1");
+        return clienteRepository.save(cliente).getId();
+    }
+
+    private static TaskDTO tarefa(Long clienteId, String status, String data) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo("Visita");
+        dto.setStatus(status);
+        dto.setPrioridade(2);
+        dto.setClienteId(clienteId);
+        dto.setDataServico(data);
+        return dto;
+    }
+
+    private static TaskDTO comId(Long id, TaskDTO dto) {
+        dto.setId(id);
+        return dto;
+    }
+}
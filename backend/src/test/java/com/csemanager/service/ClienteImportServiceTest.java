@@ -0,0 +1,77 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.ClienteImportDTO;
+import com.csemanager.repository.ClienteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ClienteImportServiceTest {
+
+    @Autowired
+    private ClienteImportService importService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    void importaEmBlocosEReportaLinhasInvalidas() throws Exception {
+        long antes = clienteRepository.count();
+        StringBuilder csv = new StringBuilder("id,nome,telefone,endereco,email,notas\r\n");
+        for (int i = 0; i < 1200; i++) {
+            csv.append(",Cliente ").append(i).append(",1199999").append(i).append(",Rua ").append(i).append(",,\r\n");
+        }
+        // linha 1202: sem telefone; linha 1203: notas com aspas e quebra de linha; linha 1205: nome grande demais
+        csv.append(",Sem Telefone,,Rua X,,\r\n");
+        csv.append(",\"Silva, Ana\",11988887777,Rua Y,ana@x.com,\"disse \"\"oi\"\"\nsegunda linha\"\r\n");
+        csv.append(",").append("N".repeat(300)).append(",1,Rua Z,,\r\n");
+
+        ClienteImportDTO resultado = importar(csv.toString());
+
+        assertEquals(1203, resultado.linhasLidas());
+        assertEquals(1201, resultado.importados());
+        assertEquals(2, resultado.rejeitados());
+        assertEquals(1202, resultado.erros().get(0).linha());
+        assertTrue(resultado.erros().get(0).erros().containsKey("telefone"));
+        assertEquals(1205, resultado.erros().get(1).linha());
+        assertFalse(resultado.errosTruncados());
+        assertEquals(antes + 1201, clienteRepository.count());
+    }
+
+    @Test
+    void aceitaSeparadorPontoEVirgulaEBom() throws Exception {
+        ClienteImportDTO resultado = importar("\uFEFFnome;telefone;endereco\nJoão;1133334444;Rua A\n");
+
+        assertEquals(1, resultado.importados());
+        assertEquals(0, resultado.rejeitados());
+    }
+
+    @Test
+    void cabecalhoEntreAspasERegistrosMalformadosViramErroDeLinha() throws Exception {
+        String csv = "\"nome\";\"telefone\";\"endereco\"\n"
+                + "Maria;1133335555;\"Rua B; 10\"\n"
+                + "Longo;1133336666;" + "x".repeat(70 * 1024) + "\n"
+                + "Pedro;1133337777;Rua C\n"
+                + "Aberto;1133338888;\"Rua sem fim\n";
+
+        ClienteImportDTO resultado = importar(csv);
+
+        assertEquals(4, resultado.linhasLidas());
+        assertEquals(2, resultado.importados());
+        assertEquals(List.of(3L, 5L), resultado.erros().stream().map(e -> e.linha()).toList());
+        assertTrue(resultado.erros().get(1).erros().get("linha").contains("Aspas"));
+    }
+
+    private ClienteImportDTO importar(String conteudo) throws Exception {
+        return importService.importar(new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.csemanager.service;
+
+import com.csemanager.config.EmpresaDestinos;
+import com.csemanager.dto.ClienteDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.security.EmpresaAtual;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClienteSearchIndexTest {
+
+    private ClienteSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ClienteSearchIndex(mock(ClienteRepository.class), new EmpresaDestinos(Map.of(), Set.of()));
+        index.indexar(cliente(1L, "João Açaí", "(11) 98765-4321", "Rua das Flores, 10"));
+        index.indexar(cliente(2L, "Joana Silva", "+55 21 3333-4444", "Av. Brasil, 200"));
+        index.indexar(cliente(3L, "Mercado São Jorge", "11 91234-0000", "Rua João Pessoa, 5"));
+    }
+
+    @Test
+    void buscaPorPrefixoSemAcento() {
+        List<ClienteDTO> resultado = index.buscar("joao", 10);
+        assertEquals(List.of(1L, 3L), ids(resultado));
+
+        assertEquals(List.of(2L), ids(index.buscar("jo silv", 10)));
+        assertEquals(List.of(1L), ids(index.buscar("AÇA", 10)));
+    }
+
+    @Test
+    void buscaPorTelefoneNormalizado() {
+        assertEquals(List.of(1L), ids(index.buscar("98765-43", 10)));
+        assertEquals(List.of(1L), ids(index.buscar("(11) 98765", 10)));
+        assertEquals(List.of(2L), ids(index.buscar("3333 4444", 10)));
+    }
+
+    @Test
+    void atualizaERemoveDocumentos() {
+        index.indexar(cliente(1L, "Pedro", "11 90000-0000", "Rua X"));
+        assertEquals(List.of(3L), ids(index.buscar("joao", 10)));
+
+        index.remover(EmpresaAtual.PADRAO, 3L);
+        assertTrue(index.buscar("joao", 10).isEmpty());
+    }
+
+    @Test
+    void mesmoIdEmOutraEmpresaNaoEhRemovido() {
+        EmpresaAtual.executar("sul", () -> index.indexar(cliente(2L, "Joana Filial", "11 95555-0000", "Rua Sul")));
+
+        index.remover("sul", 2L);
+        assertTrue(EmpresaAtual.executar("sul", () -> index.buscar("joana", 10)).isEmpty());
+        assertEquals(List.of(2L), ids(index.buscar("joana", 10)));
+    }
+
+    @Test
+    void escritaDuranteARecargaNaoSePerde() {
+        ClienteRepository repository = mock(ClienteRepository.class);
+        ClienteSearchIndex recarregado = new ClienteSearchIndex(repository, new EmpresaDestinos(Map.of(), Set.of()));
+        // A carga (na raiz) lê o cliente 1 e, antes da troca, o 1 é renomeado e o 2 é gravado
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocacao -> {
+            recarregado.indexar(persistido(cliente(1L, "Pedro", "11 90000-0000", "Rua X")));
+            recarregado.indexar(persistido(cliente(2L, "Joana Silva", "+55 21 3333-4444", "Av. Brasil, 200")));
+            return List.of(persistido(cliente(1L, "João Açaí", "(11) 98765-4321", "Rua das Flores, 10")));
+        });
+
+        recarregado.reconstruir();
+
+        assertTrue(recarregado.buscar("joao", 10).isEmpty());
+        assertEquals(List.of(1L), ids(recarregado.buscar("pedro", 10)));
+        assertEquals(List.of(2L), ids(recarregado.buscar("joana", 10)));
+    }
+
+    @Test
+    void limitaAosKMelhores() {
+        assertEquals(1, index.buscar("jo", 1).size());
+    }
+
+    private static List<Long> ids(List<ClienteDTO> clientes) {
+        return clientes.stream().map(ClienteDTO::getId).toList();
+    }
+
+    // Cliente lido do banco já tem a empresa (atribuída pelo Hibernate)
+    private static Cliente persistido(Cliente c) {
+        ReflectionTestUtils.setField(c, "empresa", EmpresaAtual.PADRAO);
+        return c;
+    }
+
+    private static Cliente cliente(Long id, String nome, String telefone, String endereco) {
+        Cliente c = new Cliente();
+        c.setId(id);
+        c.setNome(nome);
+        c.setTelefone(telefone);
+        c.setEndereco(endereco);
+        return c;
+    }
+}
@@ -0,0 +1,95 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.security.EmpresaAtual;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sem transação no teste, como no EmpresaIsolamentoTest: cada chamada usa a empresa do EmpresaAtual daquele momento
+@SpringBootTest
+@DirtiesContext
+class ExportServiceTest {
+
+    private static final String SUL = "sul";
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void cadaEmpresaSoExportaAsPropriasLinhas() {
+        Cliente padrao = clienteRepository.save(cliente("Exportação Matriz"));
+        Cliente sul = EmpresaAtual.executar(SUL, () -> clienteRepository.save(cliente("Exportação Sul")));
+        taskService.salvarLote(List.of(tarefa("Serviço Matriz", padrao.getId())));
+        EmpresaAtual.executar(SUL, () -> taskService.salvarLote(List.of(tarefa("Serviço Sul", sul.getId()))));
+
+        String tarefasSul = escrever(EmpresaAtual.executar(SUL,
+                () -> exportService.exportarTarefas(ExportService.Formato.CSV, false)));
+        assertTrue(tarefasSul.contains("Serviço Sul"));
+        assertFalse(tarefasSul.contains("Serviço Matriz"));
+
+        String clientesSul = escrever(EmpresaAtual.executar(SUL,
+                () -> exportService.exportarClientes(ExportService.Formato.NDJSON, false)));
+        assertTrue(clientesSul.contains("Exportação Sul"));
+        assertFalse(clientesSul.contains("Exportação Matriz"));
+
+        String tarefasPadrao = escrever(exportService.exportarTarefas(ExportService.Formato.CSV, false));
+        assertTrue(tarefasPadrao.contains("Serviço Matriz"));
+        assertFalse(tarefasPadrao.contains("Serviço Sul"));
+
+        String clientesPadrao = escrever(exportService.exportarClientes(ExportService.Formato.CSV, false));
+        assertTrue(clientesPadrao.contains("Exportação Matriz"));
+        assertFalse(clientesPadrao.contains("Exportação Sul"));
+    }
+
+    // Como o MVC: o corpo é escrito em outra thread, sem a empresa da requisição
+    private static String escrever(ResponseEntity<StreamingResponseBody> resposta) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        CompletableFuture.runAsync(() -> {
+            try {
+                resposta.getBody().writeTo(saida);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }).join();
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Cliente cliente(String nome) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setTelefone("11955550000");
+        cliente.setEndereco("Rua das Filiais, 1");
+        return cliente;
+    }
+
+    private static TaskDTO tarefa(String titulo, Long clienteId) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo(titulo);
+        dto.setStatus("EM_ABERTO");
+        dto.setPrioridade(2);
+        dto.setClienteId(clienteId);
+        dto.setDataServico("2025-05-10");
+        return dto;
+    }
+}
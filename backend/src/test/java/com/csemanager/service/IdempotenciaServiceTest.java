@@ -0,0 +1,83 @@
+package com.csemanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotenciaServiceTest {
+
+    private final IdempotenciaService idempotencia = new IdempotenciaService(new ObjectMapper(),
+            new SimpleMeterRegistry(), 1000, Duration.ofMinutes(5), Duration.ofSeconds(10));
+
+    @Test
+    void reenviosSimultaneosExecutamUmaVezERepetemAResposta() throws Exception {
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        Map<String, Object> corpo = Map.of("titulo", "Visita");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResponseEntity<?>>> respostas = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                respostas.add(pool.submit(() -> {
+                    largada.await();
+                    return idempotencia.executar("chave-1", "POST /api/tarefas", corpo, () -> {
+                        int n = execucoes.incrementAndGet();
+                        dormir();
+                        return ResponseEntity.ok(Map.of("id", n));
+                    });
+                }));
+            }
+            largada.countDown();
+            int repetidas = 0;
+            for (Future<ResponseEntity<?>> resposta : respostas) {
+                ResponseEntity<?> r = resposta.get();
+                assertEquals(Map.of("id", 1), r.getBody());
+                if (r.getHeaders().containsKey(IdempotenciaService.CABECALHO_REPETIDA)) {
+                    repetidas++;
+                }
+            }
+            assertEquals(1, execucoes.get());
+            assertEquals(7, repetidas);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void mesmaChaveComOutroCorpoERecusadaEErroNaoFicaGuardado() {
+        idempotencia.executar("chave-2", "POST /api/clientes", Map.of("nome", "A"), () -> ResponseEntity.ok("criado"));
+        ResponseStatusException conflito = assertThrows(ResponseStatusException.class, () ->
+                idempotencia.executar("chave-2", "POST /api/clientes", Map.of("nome", "B"), () -> ResponseEntity.ok("outro")));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, conflito.getStatusCode());
+
+        // Resposta de erro (ex.: validação) libera a chave: o reenvio corrigido executa
+        idempotencia.executar("chave-3", "POST /api/clientes", Map.of("nome", ""), () -> ResponseEntity.badRequest().build());
+        ResponseEntity<?> corrigida = idempotencia.executar("chave-3", "POST /api/clientes", Map.of("nome", "C"),
+                () -> ResponseEntity.ok("criado"));
+        assertEquals("criado", corrigida.getBody());
+    }
+
+    private static void dormir() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.OrcamentoArquivoDTO;
+import com.csemanager.dto.OrcamentoRequestDTO;
+import com.csemanager.dto.OrcamentoRequestDTO.ItemDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Orcamento;
+import com.csemanager.model.Task;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.OrcamentoRepository;
+import com.csemanager.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class OrcamentoServiceTest {
+
+    @Autowired
+    private OrcamentoService orcamentoService;
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Test
+    void calculaTotaisEmBigDecimalEGuardaOPdf() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Maria Souza");
+        cliente.setTelefone("85988887777");
+        cliente.setEndereco("Rua A, 1");
+        cliente = clienteRepository.save(cliente);
+        Task task = new Task();
+        task.setTitulo("Limpeza de split");
+        task.setStatus("EM_ABERTO");
+        task.setCliente(cliente);
+        task = taskRepository.save(task);
+
+        OrcamentoArquivoDTO arquivo = orcamentoService.criar(new OrcamentoRequestDTO(cliente.getId(),
+                List.of(new ItemDTO(task.getId(), null, new BigDecimal("0.10")),
+                        new ItemDTO(null, "Troca de capacitor", new BigDecimal("0.20"))),
+                List.of(new ItemDTO(null, "Capacitor 35uF", new BigDecimal("1234.5")))));
+
+        assertTrue(new String(arquivo.pdf(), 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF"));
+        Orcamento salvo = orcamentoRepository.findById(arquivo.id()).orElseThrow();
+        assertEquals(new BigDecimal("0.30"), salvo.getTotalServicos());
+        assertEquals(new BigDecimal("1234.50"), salvo.getTotalEquipamentos());
+        assertEquals(new BigDecimal("1234.80"), salvo.getTotalGeral());
+        assertArrayEquals(arquivo.pdf(), orcamentoRepository.buscarArquivo(arquivo.id()).orElseThrow().pdf());
+    }
+
+    @Test
+    void recusaTarefaInexistente() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("João");
+        cliente.setTelefone("85999990000");
+        cliente.setEndereco("Rua B, 2");
+        Long clienteId = clienteRepository.save(cliente).getId();
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class, () ->
+                orcamentoService.criar(new OrcamentoRequestDTO(clienteId,
+                        List.of(new ItemDTO(987654L, null, BigDecimal.TEN)), List.of())));
+        assertEquals(HttpStatus.NOT_FOUND, erro.getStatusCode());
+    }
+
+    @Test
+    void recusaTarefaDeOutroCliente() {
+        Long clienteId = clienteRepository.save(cliente("Ana", "85911112222")).getId();
+        Cliente outro = clienteRepository.save(cliente("Bruno", "85933334444"));
+        Task task = new Task();
+        task.setTitulo("Instalação");
+        task.setStatus("EM_ABERTO");
+        task.setCliente(outro);
+        Long tarefaId = taskRepository.save(task).getId();
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class, () ->
+                orcamentoService.criar(new OrcamentoRequestDTO(clienteId,
+                        List.of(new ItemDTO(tarefaId, null, BigDecimal.TEN)), List.of())));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+    }
+
+    @Test
+    void orcamentoContinuaDepoisDeRemoverOCliente() {
+        Long clienteId = clienteRepository.save(cliente("Carla", "85955556666")).getId();
+        OrcamentoArquivoDTO arquivo = orcamentoService.criar(new OrcamentoRequestDTO(clienteId,
+                List.of(new ItemDTO(null, "Visita técnica", BigDecimal.ONE)), List.of()));
+
+        assertTrue(clienteService.deletar(clienteId));
+
+        OrcamentoArquivoDTO guardado = orcamentoRepository.buscarArquivo(arquivo.id()).orElseThrow();
+        assertEquals("Carla", guardado.clienteNome());
+        assertArrayEquals(arquivo.pdf(), guardado.pdf());
+    }
+
+    private static Cliente cliente(String nome, String telefone) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setTelefone(telefone);
+        cliente.setEndereco("Rua C, 3");
+        return cliente;
+    }
+}
@@ -0,0 +1,185 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.event.ConsumidorTarefas;
+import com.csemanager.event.TaskAlteradaEvent;
+import com.csemanager.event.TaskAlteradaEvent.Tipo;
+import com.csemanager.model.EventoOutbox;
+import com.csemanager.model.Task;
+import com.csemanager.repository.EventoOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Nova tentativa imediata (base 0) e no máximo 3: o teste chama despachar() até a condição valer,
+// dividindo as entregas com o despachante acordado pelo commit
+@SpringBootTest(properties = {"outbox.retry.base=PT0S", "outbox.retry.max-attempts=3"})
+@DirtiesContext
+class OutboxServiceTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private EventoOutboxRepository outboxRepository;
+
+    @Autowired
+    private ConsumidorTeste consumidor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void falhaSeguraOsEventosSeguintesDaTarefaAteANovaTentativa() {
+        Long id = criarEAtualizar(1);
+
+        despacharAte(() -> consumidor.recebidos(id).size() == 2);
+
+        assertEquals(List.of(Tipo.CRIADA, Tipo.ATUALIZADA), consumidor.recebidos(id));
+        assertEquals(List.of("EM_ABERTO", "EM_ANDAMENTO"), consumidor.status(id));
+        List<EventoOutbox> eventos = eventos(id);
+        assertTrue(eventos.stream().allMatch(e -> EventoOutbox.PROCESSADO.equals(e.getSituacao())));
+        assertEquals(1, eventos.get(0).getTentativas());
+    }
+
+    @Test
+    void eventoQueEsgotaAsTentativasFicaFalhouELiberaOsSeguintes() {
+        Long id = criarEAtualizar(Integer.MAX_VALUE);
+
+        despacharAte(() -> consumidor.recebidos(id).contains(Tipo.ATUALIZADA));
+
+        assertEquals(List.of(Tipo.ATUALIZADA), consumidor.recebidos(id));
+        EventoOutbox criada = eventos(id).get(0);
+        assertEquals(EventoOutbox.FALHOU, criada.getSituacao());
+        assertEquals(3, criada.getTentativas());
+        assertTrue(criada.getErro().contains("falha simulada"));
+    }
+
+    @Test
+    void rollbackNaoDeixaEvento() {
+        Long id = new TransactionTemplate(transactionManager).execute(status -> {
+            Task task = taskService.criar(tarefa("Desfeita", "EM_ABERTO"));
+            status.setRollbackOnly();
+            return task.getId();
+        });
+
+        outboxService.despachar();
+
+        assertTrue(eventos(id).isEmpty());
+        assertTrue(consumidor.recebidos(id).isEmpty());
+    }
+
+    @Test
+    void mudancaEmMassaSoPublicaAsTarefasAlteradas() {
+        Long id = taskService.criar(tarefa("Em massa", "EM_ABERTO")).getId();
+        long inexistente = id + 1_000_000;
+
+        assertEquals(1, taskService.alterarStatus(List.of(id, inexistente), "FINALIZADO"));
+        assertEquals(0, taskService.alterarStatus(List.of(inexistente), "FINALIZADO"));
+
+        assertEquals(List.of(Tipo.CRIADA, Tipo.ATUALIZADA), eventos(id).stream().map(e -> e.evento().tipo()).toList());
+        assertTrue(eventos(inexistente).isEmpty());
+    }
+
+    // As duas escritas na mesma transação; a CRIADA falha nas "falhas" primeiras entregas
+    private Long criarEAtualizar(int falhas) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = taskService.criar(tarefa("Outbox", "EM_ABERTO")).getId();
+            consumidor.falhar(id, falhas);
+            taskService.atualizar(id, tarefa("Outbox", "EM_ANDAMENTO"));
+            return id;
+        });
+    }
+
+    private void despacharAte(BooleanSupplier condicao) {
+        for (int i = 0; i < 10 && !condicao.getAsBoolean(); i++) {
+            outboxService.despachar();
+        }
+        assertTrue(condicao.getAsBoolean());
+        // despachar() é synchronized: espera o lote do despachante em andamento terminar de marcar as linhas
+        outboxService.despachar();
+    }
+
+    private List<EventoOutbox> eventos(Long taskId) {
+        return outboxRepository.findAll().stream()
+                .filter(e -> e.getTaskId().equals(taskId))
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .toList();
+    }
+
+    private static TaskDTO tarefa(String titulo, String status) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo(titulo);
+        dto.setStatus(status);
+        dto.setPrioridade(2);
+        dto.setDataServico("2025-06-02");
+        return dto;
+    }
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        ConsumidorTeste consumidorTeste() {
+            return new ConsumidorTeste();
+        }
+    }
+
+    // Guarda o que recebeu; o evento CRIADA das tarefas marcadas falha enquanto houver falhas a consumir
+    static class ConsumidorTeste implements ConsumidorTarefas {
+
+        private final Map<Long, Integer> falhas = new ConcurrentHashMap<>();
+        private final Map<Long, List<TaskAlteradaEvent>> recebidos = new ConcurrentHashMap<>();
+
+        void falhar(Long taskId, int vezes) {
+            falhas.put(taskId, vezes);
+        }
+
+        List<Tipo> recebidos(Long taskId) {
+            return eventosDe(taskId).stream().map(TaskAlteradaEvent::tipo).toList();
+        }
+
+        List<String> status(Long taskId) {
+            return eventosDe(taskId).stream().map(TaskAlteradaEvent::status).toList();
+        }
+
+        private List<TaskAlteradaEvent> eventosDe(Long taskId) {
+            synchronized (recebidos) {
+                return new ArrayList<>(recebidos.getOrDefault(taskId, List.of()));
+            }
+        }
+
+        @Override
+        public String nome() {
+            return "teste";
+        }
+
+        @Override
+        public void consumir(TaskAlteradaEvent evento) {
+            if (evento.tipo() == Tipo.CRIADA && falhas.getOrDefault(evento.taskId(), 0) > 0) {
+                falhas.merge(evento.taskId(), -1, Integer::sum);
+                throw new IllegalStateException("falha simulada");
+            }
+            synchronized (recebidos) {
+                recebidos.computeIfAbsent(evento.taskId(), k -> new ArrayList<>()).add(evento);
+            }
+        }
+    }
+}
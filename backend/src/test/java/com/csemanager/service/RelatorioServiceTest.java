@@ -0,0 +1,138 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.RelatorioClienteDTO;
+import com.csemanager.dto.RelatorioPeriodoDTO;
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.event.TaskAlteradaEvent;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.RelatorioTarefa;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.RelatorioDiarioRepository;
+import com.csemanager.repository.RelatorioTarefaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Contexto novo, como no ClienteHistoricoServiceTest. Os eventos chegam aos relatórios pela outbox:
+// o teste chama despachar() em vez de esperar o despachante
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class RelatorioServiceTest {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private RelatorioDiarioRepository diarioRepository;
+
+    @Autowired
+    private RelatorioTarefaRepository tarefaRepository;
+
+    @Test
+    void totaisIncrementaisBatemComAReconstrucao() {
+        Long a = novoCliente("Relatório A");
+        Long b = novoCliente("Relatório B");
+        Long movida = taskService.criar(tarefa(a, "EM_ABERTO", 1, "2031-01-10")).getId();
+        Long finalizada = taskService.criar(tarefa(a, "FINALIZADO", 2, "2031-01-20")).getId();
+        Long emMassa = taskService.criar(tarefa(b, "EM_ANDAMENTO", 3, "2031-02-05")).getId();
+        Long removida = taskService.criar(tarefa(null, "EM_ABERTO", 2, "2031-03-01")).getId();
+        taskService.criar(tarefa(a, "EM_ABERTO", 2, null));
+        taskService.atualizar(movida, tarefa(a, "FINALIZADO", 1, "2031-02-10"));
+        taskService.alterarStatus(List.of(emMassa), "FINALIZADO");
+        taskService.deletar(removida);
+        outboxService.despachar();
+
+        List<RelatorioPeriodoDTO> meses = relatorioService.gerar("2031-01", "2031-03", "mes", 10);
+        assertEquals(List.of("2031-01", "2031-02", "2031-03"), meses.stream().map(RelatorioPeriodoDTO::periodo).toList());
+        assertEquals(List.of(1L, 2L, 0L), meses.stream().map(RelatorioPeriodoDTO::total).toList());
+        RelatorioPeriodoDTO fevereiro = meses.get(1);
+        assertEquals(2L, fevereiro.porStatus().get("FINALIZADO"));
+        assertEquals(0L, fevereiro.porStatus().get("EM_ANDAMENTO"));
+        assertEquals(1L, fevereiro.porPrioridade().get(1));
+        assertEquals(1L, fevereiro.porPrioridade().get(3));
+        assertEquals(List.of(new RelatorioClienteDTO(a, "Relatório A", 1, 1), new RelatorioClienteDTO(b, "Relatório B", 1, 1)),
+                fevereiro.porCliente());
+        // Finalizadas pelo TaskService e pelo UPDATE em massa têm lead time
+        assertEquals(2L, fevereiro.finalizadasComPrazo());
+
+        List<RelatorioPeriodoDTO> trimestre = relatorioService.gerar("2031-02", null, "trimestre", 1);
+        assertEquals("2031-T1", trimestre.get(0).periodo());
+        assertEquals("2031-01-01", trimestre.get(0).inicio());
+        assertEquals(3L, trimestre.get(0).total());
+        assertEquals(List.of(new RelatorioClienteDTO(a, "Relatório A", 2, 2)), trimestre.get(0).porCliente());
+
+        // Evento repetido não conta a tarefa de novo
+        relatorioService.consumir(new TaskAlteradaEvent(TaskAlteradaEvent.Tipo.ATUALIZADA, finalizada, "FINALIZADO"));
+        List<String> incrementais = linhas();
+        assertEquals(meses, relatorioService.gerar("2031-01", "2031-03", "mes", 10));
+
+        // Reconstruir do zero (duas vezes) chega às mesmas linhas
+        relatorioService.reconstruir();
+        assertEquals(incrementais, linhas());
+        relatorioService.reconstruir();
+        assertEquals(incrementais, linhas());
+        assertEquals(meses, relatorioService.gerar("2031-01", "2031-03", "mes", 10));
+
+        // Desvios nas duas tabelas (linha do diário perdida, tarefa registrada com o status errado) são corrigidos
+        diarioRepository.delete(diarioRepository.findAll().stream()
+                .filter(r -> r.getDia().getYear() == 2031).findFirst().orElseThrow());
+        RelatorioTarefa errada = tarefaRepository.findById(finalizada).orElseThrow();
+        errada.definir(errada.getDia(), "EM_ABERTO", errada.getPrioridade(), errada.getClienteId(), null);
+        tarefaRepository.save(errada);
+        relatorioService.reconstruir();
+        assertEquals(incrementais, linhas());
+    }
+
+    @Test
+    void parametrosInvalidos() {
+        assertThrows(ResponseStatusException.class, () -> relatorioService.gerar(null, null, null, null));
+        assertThrows(ResponseStatusException.class, () -> relatorioService.gerar("2031-13", null, null, null));
+        assertThrows(ResponseStatusException.class, () -> relatorioService.gerar("2031-05", "2031-01", null, null));
+        assertThrows(ResponseStatusException.class, () -> relatorioService.gerar("2031-01", "2034-01", null, null));
+        assertThrows(ResponseStatusException.class, () -> relatorioService.gerar("2031-01", null, "semana", null));
+    }
+
+    private List<String> linhas() {
+        return diarioRepository.findAll().stream()
+                .filter(r -> r.getDia().getYear() == 2031)
+                .map(r -> r.getDia() + " " + r.getStatus() + " " + r.getPrioridade() + " " + r.getClienteId() + " "
+                        + r.getQuantidade() + " " + r.getPrazoQuantidade() + " " + r.getPrazoSegundos())
+                .sorted()
+                .toList();
+    }
+
+    private Long novoCliente(String nome) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setTelefone("11933332222");
+        cliente.setEndereco("Rua dos Relatórios, 1");
+        return clienteRepository.save(cliente).getId();
+    }
+
+    private static TaskDTO tarefa(Long clienteId, String status, int prioridade, String data) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo("Serviço");
+        dto.setStatus(status);
+        dto.setPrioridade(prioridade);
+        dto.setClienteId(clienteId);
+        dto.setDataServico(data);
+        return dto;
+    }
+}
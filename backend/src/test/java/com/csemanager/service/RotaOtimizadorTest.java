@@ -0,0 +1,93 @@
+package com.csemanager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RotaOtimizadorTest {
+
+    private static final long ORCAMENTO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void paradasNumaRuaSaemEmSequencia() {
+        // Início em 0 e as demais embaralhadas ao longo do mesmo meridiano
+        double[] latitudes = {-23.50, -23.54, -23.51, -23.53, -23.52, -23.55};
+        double[] longitudes = new double[latitudes.length];
+        Arrays.fill(longitudes, -46.63);
+
+        RotaOtimizador.Resultado resultado = RotaOtimizador.otimizar(latitudes, longitudes, ORCAMENTO);
+
+        assertArrayEquals(new int[]{0, 2, 4, 3, 1, 5}, resultado.ordem());
+        assertEquals(RotaOtimizador.distanciaKm(-23.50, -46.63, -23.55, -46.63), resultado.distanciaKm(), 1e-9);
+        assertTrue(resultado.distanciaKm() < resultado.distanciaInicialKm());
+        assertFalse(resultado.interrompido());
+    }
+
+    @Test
+    void sessentaParadasConvergemParaUmaOrdemSemCruzamentos() {
+        Random random = new Random(42);
+        int n = 60;
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = -23.7 + random.nextDouble() * 0.4;
+            longitudes[i] = -46.8 + random.nextDouble() * 0.4;
+        }
+
+        long inicio = System.nanoTime();
+        RotaOtimizador.Resultado resultado = RotaOtimizador.otimizar(latitudes, longitudes, ORCAMENTO);
+        long decorrido = System.nanoTime() - inicio;
+
+        assertFalse(resultado.interrompido());
+        assertTrue(decorrido < ORCAMENTO, "levou " + decorrido + "ns");
+        assertEquals(0, resultado.ordem()[0]);
+        assertArrayEquals(sequencia(n), Arrays.stream(resultado.ordem()).sorted().toArray());
+        assertTrue(resultado.distanciaKm() < resultado.distanciaInicialKm());
+        // Mínimo local do 2-opt: nenhuma inversão de trecho encurta o caminho
+        int[] ordem = resultado.ordem();
+        for (int i = 1; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                int[] invertida = ordem.clone();
+                for (int a = i, b = j; a < b; a++, b--) {
+                    int t = invertida[a];
+                    invertida[a] = invertida[b];
+                    invertida[b] = t;
+                }
+                assertTrue(comprimento(invertida, latitudes, longitudes) >= resultado.distanciaKm() - 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void semTempoDevolveOVizinhoMaisProximo() {
+        double[] latitudes = {0, 0, 0, 0};
+        double[] longitudes = {0, 3, 1, 2};
+
+        RotaOtimizador.Resultado resultado = RotaOtimizador.otimizar(latitudes, longitudes, 0);
+
+        assertTrue(resultado.interrompido());
+        assertArrayEquals(new int[]{0, 2, 3, 1}, resultado.ordem());
+    }
+
+    private static int[] sequencia(int n) {
+        int[] sequencia = new int[n];
+        Arrays.setAll(sequencia, i -> i);
+        return sequencia;
+    }
+
+    private static double comprimento(int[] ordem, double[] latitudes, double[] longitudes) {
+        double total = 0;
+        for (int k = 1; k < ordem.length; k++) {
+            total += RotaOtimizador.distanciaKm(latitudes[ordem[k - 1]], longitudes[ordem[k - 1]],
+                    latitudes[ordem[k]], longitudes[ordem[k]]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,144 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.repository.ClienteRepository;
+import com.csemanager.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Idas ao banco numa mistura de leitura pesada (95% leituras, 5% escritas), com o cache de segundo
+// nível e de consultas esvaziado antes de cada operação (como se não existisse) e funcionando normalmente
+@SpringBootTest
+class SegundoNivelCacheRoundTripTest {
+
+    private static final int CLIENTES = 20;
+    private static final int TAREFAS = 100;
+    private static final int OPERACOES = 1000;
+    private static final AtomicInteger execucoes = new AtomicInteger();
+
+    @TestConfiguration
+    static class ContadorDeExecucoes {
+        @Bean
+        static BeanPostProcessor contarExecucoes() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource ds) {
+                        return ProxyDataSourceBuilder.create(ds).listener(new QueryExecutionListener() {
+                            @Override
+                            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                            }
+
+                            @Override
+                            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                                execucoes.incrementAndGet();
+                            }
+                        }).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private SincronizacaoService sincronizacao;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void cacheReduzIdasAoBancoEmMisturaDeLeitura() {
+        List<Long> clientes = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setNome("Cliente Cache " + i);
+            cliente.setTelefone("1198888000" + i);
+            cliente.setEndereco("Rua do Cache, " + i);
+            clientes.add(clienteRepository.save(cliente).getId());
+        }
+        List<TaskDTO> lote = new ArrayList<>();
+        for (int i = 0; i < TAREFAS; i++) {
+            lote.add(novaTarefa(i, clientes.get(i % CLIENTES)));
+        }
+        List<Long> tarefas = taskService.salvarLote(lote).stream().map(t -> t.getId()).toList();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        execucoes.set(0);
+        executarMistura(clientes, tarefas, () -> sessionFactory.getCache().evictAllRegions());
+        int semCache = execucoes.get();
+
+        sessionFactory.getCache().evictAllRegions();
+        execucoes.set(0);
+        executarMistura(clientes, tarefas, () -> { });
+        int comCache = execucoes.get();
+
+        assertTrue(comCache * 3 < semCache, () -> "o cache deveria evitar a maior parte das idas ao banco (sem cache = "
+                + semCache + " execuções JDBC, com cache L2 = " + comCache + ")");
+    }
+
+    // Mesma sequência nas duas rodadas (semente fixa)
+    private void executarMistura(List<Long> clientes, List<Long> tarefas, Runnable antesDeCadaOperacao) {
+        Random random = new Random(42);
+        for (int i = 0; i < OPERACOES; i++) {
+            antesDeCadaOperacao.run();
+            int sorteio = random.nextInt(100);
+            Long clienteId = clientes.get(random.nextInt(clientes.size()));
+            Long taskId = tarefas.get(random.nextInt(tarefas.size()));
+            if (sorteio < 40) {
+                clienteRepository.findById(clienteId);
+            } else if (sorteio < 60) {
+                taskRepository.findById(taskId);
+            } else if (sorteio < 75) {
+                taskRepository.buscarPagina(0L, null, null, null, null, null, Limit.of(51));
+            } else if (sorteio < 85) {
+                taskRepository.buscarDTO(taskId);
+            } else if (sorteio < 95) {
+                sincronizacao.versaoTarefas();
+            } else {
+                TaskDTO dto = novaTarefa(i, clienteId);
+                dto.setStatus("EM_ANDAMENTO");
+                taskService.atualizar(taskId, dto);
+            }
+        }
+    }
+
+    private static TaskDTO novaTarefa(int i, Long clienteId) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo("Visita " + i);
+        dto.setStatus("EM_ABERTO");
+        dto.setPrioridade(2);
+        dto.setClienteId(clienteId);
+        dto.setDataServico("2025-04-10");
+        return dto;
+    }
+}
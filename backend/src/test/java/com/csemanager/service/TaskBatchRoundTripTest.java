@@ -0,0 +1,107 @@
+package com.csemanager.service;
+
+import com.csemanager.dto.TaskDTO;
+import com.csemanager.model.Cliente;
+import com.csemanager.model.Task;
+import com.csemanager.repository.ClienteRepository;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compara idas e voltas ao banco (execuções JDBC) entre N escritas individuais e um lote
+@SpringBootTest
+class TaskBatchRoundTripTest {
+
+    private static final int N = 200;
+    private static final AtomicInteger execucoes = new AtomicInteger();
+
+    @TestConfiguration
+    static class ContadorDeExecucoes {
+        @Bean
+        static BeanPostProcessor contarExecucoes() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource ds) {
+                        return ProxyDataSourceBuilder.create(ds).listener(new QueryExecutionListener() {
+                            @Override
+                            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                            }
+
+                            @Override
+                            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                                execucoes.incrementAndGet();
+                            }
+                        }).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Test
+    void loteReduzIdasEVoltasAoBanco() {
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente Lote");
+        cliente.setTelefone("11999990000");
+        cliente.setEndereco("Rua do Lote, 1");
+        Long clienteId = clienteRepository.save(cliente).getId();
+
+        execucoes.set(0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < N; i++) {
+            ids.add(taskService.criar(novaTarefa(i, clienteId)).getId());
+        }
+        for (Long id : ids) {
+            TaskDTO dto = novaTarefa(0, clienteId);
+            dto.setStatus("FINALIZADO");
+            taskService.atualizar(id, dto);
+        }
+        int individuais = execucoes.get();
+
+        execucoes.set(0);
+        List<TaskDTO> lote = new ArrayList<>();
+        for (int i = 0; i < N; i++) {
+            lote.add(novaTarefa(i, clienteId));
+        }
+        List<Long> idsLote = taskService.salvarLote(lote).stream().map(Task::getId).toList();
+        int alteradas = taskService.alterarStatus(idsLote, "FINALIZADO");
+        int emLote = execucoes.get();
+
+        assertEquals(N, alteradas);
+        assertTrue(emLote * 20 < individuais, () -> "lote deveria usar uma fração das idas ao banco (individual = "
+                + individuais + " execuções JDBC, lote = " + emLote + ")");
+    }
+
+    private static TaskDTO novaTarefa(int i, Long clienteId) {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitulo("Manutenção " + i);
+        dto.setStatus("EM_ABERTO");
+        dto.setPrioridade(2);
+        dto.setClienteId(clienteId);
+        dto.setDataServico("2025-03-10");
+        return dto;
+    }
+}
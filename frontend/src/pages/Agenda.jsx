@@ -1,5 +1,5 @@
 import React, { useEffect, useState } from 'react';
-import api from '../services/api';
+import api, { assinarTarefas, criarIdempotente, listarTodasTarefas } from '../services/api';
 import {
   Button,
   Card,
@@ -92,6 +92,7 @@ export default function Agenda() {
   const [clienteFiltro, setClienteFiltro] = useState('');
   const [showConfirm, setShowConfirm] = useState(false);
   const [tarefaParaExcluir, setTarefaParaExcluir] = useState(null);
+  const [chaveCriacao, setChaveCriacao] = useState(null);
 
   const sensors = useSensors(
     useSensor(PointerSensor, { activationConstraint: { distance: 5 } }),
@@ -103,12 +104,36 @@ export default function Agenda() {
     fetchClientes();
     const handleResize = () => setIsMobile(window.innerWidth < 900);
     window.addEventListener('resize', handleResize);
-    return () => window.removeEventListener('resize', handleResize);
+    // Alterações feitas em outras sessões chegam pelo stream, sem recarregar a lista
+    const cancelarAssinatura = assinarTarefas({ onEvento: aplicarEvento, onSincronizar: fetchTarefas });
+    return () => {
+      window.removeEventListener('resize', handleResize);
+      cancelarAssinatura();
+    };
   }, []);
 
   async function fetchTarefas() {
-    const resp = await api.get('/tarefas');
-    setTarefas(resp.data);
+    setTarefas(await listarTodasTarefas());
+  }
+
+  function aplicarEvento({ tipo, id, tarefa }) {
+    if (tipo === 'REMOVIDA') {
+      removerTarefa(id);
+    } else {
+      substituirTarefa(tarefa);
+    }
+  }
+
+  // Mantém a ordem por id, como a listagem do servidor
+  function substituirTarefa(tarefa) {
+    setTarefas(prev => {
+      const outras = prev.filter(t => t.id !== tarefa.id);
+      return [...outras, tarefa].sort((a, b) => a.id - b.id);
+    });
+  }
+
+  function removerTarefa(id) {
+    setTarefas(prev => prev.filter(t => t.id !== id));
   }
 
   async function fetchClientes() {
@@ -129,6 +154,7 @@ export default function Agenda() {
     );
     setClienteFiltro('');
     setValidated(false);
+    setChaveCriacao(tarefa ? null : crypto.randomUUID());
     setShowModal(true);
   }
 
@@ -151,7 +177,7 @@ export default function Agenda() {
   async function handleConfirmDelete() {
     if (tarefaParaExcluir) {
       await api.delete(`/tarefas/${tarefaParaExcluir}`);
-      fetchTarefas();
+      removerTarefa(tarefaParaExcluir);
       handleCloseConfirm();
     }
   }
@@ -161,12 +187,10 @@ export default function Agenda() {
     setValidated(true);
     if (!modalData?.titulo || !modalData?.clienteId || !modalData?.dataServico) return;
     try {
-      if (modalData.id) {
-        await api.put(`/tarefas/${modalData.id}`, modalData);
-      } else {
-        await api.post('/tarefas', modalData);
-      }
-      fetchTarefas();
+      const { data } = modalData.id
+        ? await api.put(`/tarefas/${modalData.id}`, modalData)
+        : await criarIdempotente('/tarefas', modalData, chaveCriacao);
+      substituirTarefa(data);
       closeModal();
     } catch {
       alert('Erro ao salvar tarefa');
@@ -178,7 +202,7 @@ export default function Agenda() {
     if (!over) return;
     const tarefa = tarefas.find(t => t.id === active.id);
     if (!tarefa || tarefa.status === over.id) return;
-    api.put(`/tarefas/${tarefa.id}`, { ...tarefa, status: over.id }).then(fetchTarefas);
+    api.put(`/tarefas/${tarefa.id}`, { ...tarefa, status: over.id }).then(({ data }) => substituirTarefa(data));
   }
 
   function getTarefasByStatus(status) {
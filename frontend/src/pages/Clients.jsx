@@ -10,7 +10,7 @@ import {
   Form,
   Modal
 } from 'react-bootstrap';
-import api from '../services/api';
+import api, { criarIdempotente } from '../services/api';
 import 'bootstrap-icons/font/bootstrap-icons.css';
 import '../index.css';
 import TipToast from '../components/TipToast';
@@ -26,6 +26,7 @@ export default function Clients() {
   const [form, setForm] = useState({ nome: '', telefone: '', endereco: '', email: '', notas: '' });
   const [validated, setValidated] = useState(false);
   const [fieldErrors, setFieldErrors] = useState({});
+  const [chaveCriacao, setChaveCriacao] = useState(null);
 
   const loadClients = async () => {
     try {
@@ -74,6 +75,7 @@ export default function Clients() {
     setForm({ nome: '', telefone: '', endereco: '', email: '', notas: '' });
     setFieldErrors({});
     setValidated(false);
+    setChaveCriacao(crypto.randomUUID());
     setShowCreateEdit(true);
   };
   const onDelete = client => { setCurrent(client); setShowConfirmDelete(true); };
@@ -87,7 +89,7 @@ export default function Clients() {
     }
     try {
       if (current) await api.put(`/clientes/${current.id}`, form);
-      else await api.post('/clientes', form);
+      else await criarIdempotente('/clientes', form, chaveCriacao);
       setShowCreateEdit(false);
       loadClients();
     } catch (err) {
@@ -57,47 +57,21 @@ export default function Dashboard() {
     if (authed !== true) return;
     (async () => {
       try {
-        const tfs = (await api.get('/tarefas')).data || [];
-        const hoje = new Date();
-        hoje.setHours(0, 0, 0, 0);
+        // Indicadores calculados no backend
+        const { data } = await api.get('/tarefas/stats');
+        const pendentesHoje = data.pendentesHoje;
+        const andamento = data.emAndamento;
+        const finalizadaSemana = data.finalizadasSemana;
+        const atrasadas = data.atrasadas;
+        const proximo = data.proximas;
 
-        const pendentesHoje = tfs.filter(
-          (t) =>
-            ['EM_ABERTO', 'EM_ANDAMENTO'].includes(t.status) &&
-            t.dataServico &&
-            new Date(t.dataServico).toDateString() === hoje.toDateString()
-        ).length;
-        const andamento = tfs.filter((t) => t.status === 'EM_ANDAMENTO').length;
-        function isThisWeek(dateStr) {
-          const d = new Date(dateStr);
-          const now = new Date();
-          const weekStart = new Date(now.setDate(now.getDate() - now.getDay()));
-          weekStart.setHours(0, 0, 0, 0);
-          const weekEnd = new Date(weekStart);
-          weekEnd.setDate(weekStart.getDate() + 6);
-          return d >= weekStart && d <= weekEnd;
-        }
-        const finalizadaSemana = tfs.filter(
-          (t) => t.status === 'FINALIZADO' && t.dataServico && isThisWeek(t.dataServico)
-        ).length;
-        const atrasadas = tfs.filter(
-          (t) =>
-            ['EM_ABERTO', 'EM_ANDAMENTO'].includes(t.status) &&
-            t.dataServico &&
-            new Date(t.dataServico) < hoje
-        ).length;
-        const proximo = [...tfs]
-          .filter((t) => t.dataServico && new Date(t.dataServico) >= hoje)
-          .sort((a, b) => new Date(a.dataServico) - new Date(b.dataServico));
-
-        const porStatus = [
-          { name: 'Em Aberto', value: tfs.filter((t) => t.status === 'EM_ABERTO').length },
-          { name: 'Em Andamento', value: tfs.filter((t) => t.status === 'EM_ANDAMENTO').length },
-          { name: 'Finalizado', value: tfs.filter((t) => t.status === 'FINALIZADO').length },
-        ];
+        const porStatus = Object.entries(STATUS_LABELS).map(([status, name]) => ({
+          name,
+          value: data.porStatus[status] || 0,
+        }));
         const porPrioridade = [1, 2, 3].map((prio) => ({
           name: PRIORIDADE_LABELS[prio],
-          value: tfs.filter((t) => t.prioridade === prio).length,
+          value: data.porPrioridade[prio] || 0,
         }));
 
         setStats({
@@ -24,8 +24,13 @@ export default function Login() {
       const { data } = await axios.post('/auth/login', { email, password });
       localStorage.setItem('token', data.token);
       navigate('/home');
-    } catch {
-      setError('Email ou senha inválidos');
+    } catch (err) {
+      if (err.response?.status === 429) {
+        const segundos = err.response.headers['retry-after'];
+        setError(`Muitas tentativas. Tente novamente em ${segundos || 'alguns'} segundos.`);
+      } else {
+        setError('Email ou senha inválidos');
+      }
     }
   };
 
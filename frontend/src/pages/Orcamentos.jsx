@@ -1,5 +1,5 @@
 import React, { useEffect, useState } from 'react';
-import api from '../services/api';
+import api, { listarTodasTarefas } from '../services/api';
 import {
   Form,
   Button,
@@ -10,7 +10,6 @@ import {
   Card,
   ListGroup
 } from 'react-bootstrap';
-import jsPDF from 'jspdf';
 import 'bootstrap-icons/font/bootstrap-icons.css';
 import TipToast from '../components/TipToast';
 
@@ -39,14 +38,14 @@ export default function Orcamentos() {
   useEffect(() => {
     (async () => {
       try {
-        const [resClientes, resTarefas] = await Promise.all([
+        // só tarefas não finalizadas, já filtradas no servidor
+        const [resClientes, emAberto, emAndamento] = await Promise.all([
           api.get('/clientes'),
-          api.get('/tarefas')
+          listarTodasTarefas({ status: 'EM_ABERTO' }),
+          listarTodasTarefas({ status: 'EM_ANDAMENTO' })
         ]);
         setClientes(resClientes.data);
-        // filtrar tarefas que não estejam finalizadas
-        const somenteAtivas = resTarefas.data.filter(t => t.status !== 'FINALIZADO');
-        setTarefas(somenteAtivas);
+        setTarefas([...emAberto, ...emAndamento].sort((a, b) => a.id - b.id));
         setClientesFiltrados(resClientes.data);
       } catch (err) {
         console.error('Erro ao carregar dados', err);
@@ -112,7 +111,7 @@ export default function Orcamentos() {
     (tarefasSelecionadas.includes('outros') ? parseFloat(outrosValor || 0) : 0);
   const totalGeral = parseFloat(totalServicos) + parseFloat(totalEquipamentos);
 
-  const handleGerarPDF = () => {
+  const handleGerarPDF = async () => {
     if (!clienteSelecionado)
       return exibirErro('Selecione um cliente antes de gerar o PDF.');
     if (tarefasSelecionadas.length === 0)
@@ -144,112 +143,37 @@ export default function Orcamentos() {
       }
     }
 
-    const pdf = new jsPDF();
-    const logo = new Image();
-    logo.src = '/logo-cse.png';
-    logo.onload = () => {
-      const dataHoje = new Date().toLocaleDateString('pt-BR');
-      let y = 20;
-
-      pdf.addImage(logo, 'PNG', 10, y, 45, 45);
-      pdf.setFontSize(12);
-      pdf.setFont(undefined, 'bold');
-      pdf.text('CSE & REFRIGERAÇÃO', 60, y + 5);
-      pdf.setFont(undefined, 'normal');
-      pdf.text('CNPJ: 21.935.339/0001-50', 60, y + 12);
-      pdf.text('Rua São Jerônimo, 465', 60, y + 19);
-      pdf.text('Novo Maranguape II, Maranguape-CE', 60, y + 26);
-      pdf.text('CEP 61944-620', 60, y + 33);
-      pdf.text('cserefrigeracaowy@gmail.com – (85) 98717-5445', 60, y + 40);
-      y += 60;
-
-      pdf.setFillColor(230);
-      pdf.rect(10, y, 190, 10, 'F');
-      pdf.setFontSize(14);
-      pdf.text(`Orçamento ${Math.floor(100 + Math.random() * 900)}-2025`, 15, y + 7);
-      y += 20;
-
-      pdf.setFontSize(12);
-      pdf.text(`Cliente: ${clienteObj?.nome || ''}`, 15, y);
-      y += 7;
-      pdf.text(`Telefone: ${clienteObj?.telefone || ''}`, 15, y);
-      y += 12;
-
-      pdf.setFontSize(13);
-      pdf.setFont(undefined, 'bold');
-      pdf.text('Serviços', 15, y);
-      y += 7;
-      pdf.setFont(undefined, 'normal');
-
-      const colDesc = 20;
-      const colVal = 180;
-
-      tarefas
-        .filter((t) => t.titulo !== 'AA')
-        .filter((t) => tarefasSelecionadas.includes(t.id))
-        .forEach((t) => {
-          const valor = parseFloat(valoresTarefas[t.id]) || 0;
-          pdf.text(`- ${t.titulo}`, colDesc, y);
-          pdf.text(`R$ ${valor.toFixed(2)}`, colVal, y, { align: 'right' });
-          y += 6;
-        });
-
-      if (tarefasSelecionadas.includes('outros') && outrosTexto) {
-        const valorOutros = parseFloat(outrosValor || 0);
-        pdf.text(`- ${outrosTexto}`, colDesc, y);
-        pdf.text(`R$ ${valorOutros.toFixed(2)}`, colVal, y, { align: 'right' });
-        y += 6;
-      }
-
-      y += 4;
-      pdf.setFont(undefined, 'bold');
-      pdf.text('Total Serviços:', colDesc, y);
-      pdf.text(`R$ ${totalServicos.toFixed(2)}`, colVal, y, { align: 'right' });
-      y += 12;
-
-      if (equipamentos.length > 0) {
-        pdf.setFont(undefined, 'bold');
-        pdf.text('Equipamentos', 15, y);
-        y += 7;
-        pdf.setFont(undefined, 'normal');
-
-        equipamentos.forEach((e) => {
-          const valEq = parseFloat(e.valor || 0);
-          pdf.text(`- ${e.nome}`, colDesc, y);
-          pdf.text(`R$ ${valEq.toFixed(2)}`, colVal, y, { align: 'right' });
-          y += 6;
-        });
-
-        y += 4;
-        pdf.setFont(undefined, 'bold');
-        pdf.text('Total Equipamentos:', colDesc, y);
-        pdf.text(`R$ ${totalEquipamentos.toFixed(2)}`, colVal, y, { align: 'right' });
-        y += 12;
-      }
-
-      pdf.setFont(undefined, 'bold');
-      pdf.text('Total Geral:', colDesc, y);
-      pdf.text(`R$ ${totalGeral.toFixed(2)}`, colVal, y, { align: 'right' });
-      y += 15;
+    // valores vão como texto para o BigDecimal do servidor não herdar arredondamento de float
+    const decimal = (v) => String(v).trim().replace(',', '.');
+    const servicos = tarefas
+      .filter((t) => t.titulo !== 'AA')
+      .filter((t) => tarefasSelecionadas.includes(t.id))
+      .map((t) => ({ tarefaId: t.id, valor: decimal(valoresTarefas[t.id]) }));
+    if (tarefasSelecionadas.includes('outros') && outrosTexto) {
+      servicos.push({ descricao: outrosTexto, valor: decimal(outrosValor) });
+    }
 
-      pdf.text('Pagamento', 15, y);
-      y += 7;
-      pdf.setFont(undefined, 'normal');
-      pdf.setFontSize(11);
-      pdf.text(
-        'Meios de pagamento: Boleto, transferência bancária, dinheiro, cheque, cartão ou pix.',
-        15,
-        y
+    // O PDF é gerado e guardado no servidor; aqui só baixamos o arquivo pronto
+    try {
+      const { data } = await api.post(
+        '/orcamentos',
+        {
+          clienteId: Number(clienteSelecionado),
+          servicos,
+          equipamentos: equipamentos.map((e) => ({ descricao: e.nome, valor: decimal(e.valor) }))
+        },
+        { responseType: 'blob' }
       );
-      y += 15;
-      pdf.text(`Maranguape, ${dataHoje}`, 15, y);
-      y += 15;
-      pdf.text('_____________________________________', 15, y);
-      pdf.setFont(undefined, 'bold');
-      pdf.text('CSE & REFRIGERAÇÃO', 15, y + 6);
-      pdf.text('Weyne Arruda', 15, y + 12);
-      pdf.save(`Orçamento ${clienteObj?.nome}.pdf`);
-    };
+      const url = URL.createObjectURL(data);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `Orçamento ${clienteObj?.nome}.pdf`;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (err) {
+      console.error('Erro ao gerar orçamento', err);
+      exibirErro('Não foi possível gerar o orçamento.');
+    }
   };
 
   return (
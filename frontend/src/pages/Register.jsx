@@ -9,6 +9,7 @@ export default function Register() {
   const [password, setPassword] = useState('');
   const [confirmPassword, setConfirmPassword] = useState('');
   const [secretKey, setSecretKey] = useState('');
+  const [empresa, setEmpresa] = useState('');
   const [showPassword, setShowPassword] = useState(false);
   const [focusField, setFocusField] = useState(null);
   const [error, setError] = useState('');
@@ -31,7 +32,7 @@ export default function Register() {
     }
 
     try {
-      await axios.post('/auth/register', { name, email, password, secretKey });
+      await axios.post('/auth/register', { name, email, password, secretKey, empresa: empresa.trim() || undefined });
       navigate('/login');
     } catch {
       setError('Erro ao criar conta');
@@ -204,6 +205,19 @@ export default function Register() {
                 onClick={() => setShowPassword((prev) => !prev)}
               />
             </div>
+            {/* Empresa (filial); vazio = padrão */}
+            <div style={wrapperStyle('empresa')}>
+              <i className="bi bi-building" style={iconStyle('empresa')} />
+              <input
+                type="text"
+                placeholder="Empresa/filial (opcional)"
+                value={empresa}
+                onChange={(e) => setEmpresa(e.target.value.toLowerCase())}
+                onFocus={() => setFocusField('empresa')}
+                onBlur={() => setFocusField(null)}
+                style={inputStyle}
+              />
+            </div>
             {/* Chave Secreta */}
             <div style={wrapperStyle('secretKey')}>
               <i className="bi bi-key-fill" style={iconStyle('secretKey')} />
@@ -29,4 +29,37 @@ api.interceptors.response.use(
   }
 );
 
-export default api;
\ No newline at end of file
+export default api;
+
+// Criação com Idempotency-Key: reenviar com a mesma chave (ex.: depois de uma falha de rede) devolve o
+// registro já criado em vez de duplicar. Gere uma chave por formulário e reuse nas novas tentativas
+export function criarIdempotente(url, dados, chave) {
+  return api.post(url, dados, { headers: { 'Idempotency-Key': chave } });
+}
+
+// Percorre a listagem paginada de tarefas (cursor) e devolve todos os itens
+export async function listarTodasTarefas(params = {}) {
+  const tarefas = [];
+  let cursor;
+  do {
+    const { data } = await api.get('/tarefas', { params: { ...params, cursor, limite: 200 } });
+    tarefas.push(...data.itens);
+    cursor = data.proximoCursor;
+  } while (cursor);
+  return tarefas;
+}
+
+// Alterações de tarefas em tempo real (SSE). O EventSource não envia cabeçalhos, então o token vai na URL;
+// ele reconecta sozinho e, a cada (re)conexão, onSincronizar recarrega a lista para cobrir o intervalo
+export function assinarTarefas({ onEvento, onSincronizar }) {
+  const token = localStorage.getItem('token');
+  const fonte = new EventSource(`${api.defaults.baseURL}/tarefas/stream?token=${encodeURIComponent(token || '')}`);
+  let conectouAntes = false;
+  fonte.onopen = () => {
+    if (conectouAntes) onSincronizar();
+    conectouAntes = true;
+  };
+  fonte.addEventListener('tarefa', (e) => onEvento(JSON.parse(e.data)));
+  fonte.addEventListener('resync', () => onSincronizar());
+  return () => fonte.close();
+}